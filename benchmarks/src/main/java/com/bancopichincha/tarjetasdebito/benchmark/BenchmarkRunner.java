@@ -0,0 +1,31 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de los benchmarks.
+ * Acepta los mismos argumentos que JMH y, salvo que se indique otro formato,
+ * emite los resultados en JSON para poder comparar ejecuciones entre versiones.
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULTADO_POR_DEFECTO = "target/jmh-resultados.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaComandos = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder opciones = new OptionsBuilder().parent(lineaComandos);
+        if (!lineaComandos.getResultFormat().hasValue()) {
+            opciones.resultFormat(ResultFormatType.JSON);
+        }
+        if (!lineaComandos.getResult().hasValue()) {
+            opciones.result(RESULTADO_POR_DEFECTO);
+        }
+
+        new Runner(opciones.build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import com.bancopichincha.tarjetasdebito.TarjetasDebitoApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Utilidades para levantar la aplicación sin servidor web y poblar la base de datos
+ * de los benchmarks.
+ */
+public final class ContextoBenchmark {
+
+    private static final int TAMANIO_LOTE = 5_000;
+
+    private static final String INSERT_TARJETA =
+            "INSERT INTO tarjetas_debito (id, numero_tarjeta, nombre_titular, cedula, fecha_expiracion, cvv, " +
+            "limite_diario, saldo_disponible, estado, tipo_tarjeta, fecha_creacion, fecha_actualizacion, consumo_diario) " +
+            "VALUES (NEXT VALUE FOR tarjetas_debito_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String[] TIPOS = {"CLASICA", "GOLD", "PLATINUM", "SIGNATURE", "EMPRESARIAL"};
+
+    private ContextoBenchmark() {
+    }
+
+    /**
+     * Inicia la aplicación con una base H2 en memoria propia y sin logging de SQL
+     */
+    public static ConfigurableApplicationContext iniciar(String... propiedadesAdicionales) {
+        List<String> propiedades = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "spring.h2.console.enabled=false",
+                "logging.level.root=WARN",
+                "logging.level.com.bancopichincha=WARN",
+                "logging.level.org.springframework.web=WARN"
+        ));
+        propiedades.addAll(List.of(propiedadesAdicionales));
+
+        // Como argumentos de línea de comandos y no con properties(): las propiedades por defecto tienen menos
+        // prioridad que application.properties y no reemplazarían la URL, show-sql ni los parámetros del benchmark
+        return new SpringApplicationBuilder(TarjetasDebitoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(propiedades.stream().map(propiedad -> "--" + propiedad).toArray(String[]::new));
+    }
+
+    /**
+     * Inserta {@code filas} tarjetas sintéticas mediante inserciones JDBC por lotes.
+     * Los IDs se toman de la misma secuencia que usa Hibernate para no colisionar con sus bloques.
+     */
+    public static void poblar(JdbcTemplate jdbcTemplate, int filas) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Object[]> lote = new ArrayList<>(TAMANIO_LOTE);
+        for (int i = 1; i <= filas; i++) {
+            lote.add(new Object[]{
+                    numeroTarjeta(i),
+                    "Titular Benchmark " + i,
+                    String.format("%010d", i),
+                    Date.valueOf(LocalDate.now().plusYears(1 + i % 5)),
+                    String.format("%03d", i % 1000),
+                    new BigDecimal("1000.00"),
+                    new BigDecimal("5000.00"),
+                    "ACTIVA",
+                    TIPOS[i % TIPOS.length],
+                    Timestamp.valueOf(ahora),
+                    Timestamp.valueOf(ahora)
+            });
+            if (lote.size() == TAMANIO_LOTE) {
+                jdbcTemplate.batchUpdate(INSERT_TARJETA, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TARJETA, lote);
+        }
+    }
+
+    /**
+     * Número de tarjeta sintético correspondiente a la fila {@code i} de {@link #poblar}
+     */
+    public static String numeroTarjeta(int i) {
+        return "5428" + String.format("%012d", i);
+    }
+}
@@ -0,0 +1,59 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import com.bancopichincha.tarjetasdebito.indice.IndiceEstados;
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta de estado por número de tarjeta en el índice fuera del heap, incluida la conversión del número.
+ * Con {@code -prof gc} la asignación por operación debería ser cero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndiceEstadosBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int tarjetas;
+
+    private IndiceEstados indiceEstados;
+
+    private String[] numeros;
+
+    @Setup
+    public void iniciar() {
+        indiceEstados = new IndiceEstados(1024);
+        numeros = new String[tarjetas];
+        LocalDate expiracion = LocalDate.now().plusYears(5);
+        for (int i = 0; i < tarjetas; i++) {
+            numeros[i] = String.format("5428%012d", i);
+            indiceEstados.registrar(numeros[i], EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA, expiracion);
+        }
+        indiceEstados.finalizarCarga();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long consultar_1Hilo() {
+        return consultar();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long consultar_8Hilos() {
+        return consultar();
+    }
+
+    private long consultar() {
+        String numero = numeros[ThreadLocalRandom.current().nextInt(tarjetas)];
+        return indiceEstados.consultar(IndiceEstados.clave(numero));
+    }
+}
@@ -0,0 +1,76 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import com.bancopichincha.tarjetasdebito.repository.TarjetaDebitoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por tarjeta al insertar lotes de {@value #TARJETAS_POR_LOTE} tarjetas con saveAll.
+ * La combinación {@code tamanioAsignacion=1, tamanioLoteJdbc=1} reproduce el comportamiento anterior
+ * con IDENTITY (un viaje a la base por cada INSERT); {@code 50/50} es la configuración por defecto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class InsercionTarjetasBenchmark {
+
+    private static final int TARJETAS_POR_LOTE = 1000;
+
+    @Param({"1", "50"})
+    public int tamanioAsignacion;
+
+    @Param({"1", "50"})
+    public int tamanioLoteJdbc;
+
+    private ConfigurableApplicationContext contexto;
+    private TarjetaDebitoRepository tarjetaDebitoRepository;
+    private TransactionTemplate transactionTemplate;
+
+    // Cédulas y números fuera de los rangos usados por ContextoBenchmark.poblar y DataInitializer
+    private long siguiente = 8_000_000_000L;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(
+                "spring.jpa.properties.tarjetas.id.tamanio-asignacion=" + tamanioAsignacion,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + tamanioLoteJdbc);
+        tarjetaDebitoRepository = contexto.getBean(TarjetaDebitoRepository.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARJETAS_POR_LOTE)
+    public List<TarjetaDebito> insertarLote() {
+        List<TarjetaDebito> tarjetas = new ArrayList<>(TARJETAS_POR_LOTE);
+        for (int i = 0; i < TARJETAS_POR_LOTE; i++) {
+            long valor = siguiente++;
+            tarjetas.add(new TarjetaDebito(
+                    "542" + String.format("%013d", valor),
+                    "Titular Insercion Benchmark",
+                    Long.toString(valor),
+                    LocalDate.now().plusYears(5),
+                    "123",
+                    new BigDecimal("1000.00"),
+                    new BigDecimal("500.00"),
+                    TipoTarjeta.EMPRESARIAL));
+        }
+        return transactionTemplate.execute(estado -> tarjetaDebitoRepository.saveAll(tarjetas));
+    }
+}
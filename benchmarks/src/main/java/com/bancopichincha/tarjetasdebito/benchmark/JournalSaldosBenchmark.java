@@ -0,0 +1,77 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import com.bancopichincha.tarjetasdebito.journal.JournalSaldos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Registros durables por segundo en el journal de saldos: cada operación agrega un registro y espera su fsync.
+ * Con más hilos el mismo fsync confirma más registros (commit en grupo), así que el throughput total debería
+ * crecer con los hilos hasta que el disco, y no la espera, sea el límite.
+ * El resultado depende del disco donde está el directorio temporal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalSaldosBenchmark {
+
+    private Path directorio;
+
+    private JournalSaldos journalSaldos;
+
+    private LocalDate hoy;
+
+    @Setup
+    public void iniciar() throws IOException {
+        directorio = Files.createTempDirectory("journal-benchmark");
+        journalSaldos = new JournalSaldos(directorio, DataSize.ofMegabytes(64));
+        hoy = LocalDate.now();
+    }
+
+    @TearDown
+    public void cerrar() throws Exception {
+        journalSaldos.cerrar();
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long registrarDurable_1Hilo() {
+        return registrarDurable();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long registrarDurable_8Hilos() {
+        return registrarDurable();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public long registrarDurable_32Hilos() {
+        return registrarDurable();
+    }
+
+    private long registrarDurable() {
+        long id = ThreadLocalRandom.current().nextLong(1, 10_000);
+        long secuencia = journalSaldos.registrar(id, () -> 1_000L, () -> 0L, hoy);
+        journalSaldos.esperarDurable(secuencia);
+        return secuencia;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import com.bancopichincha.tarjetasdebito.autorizacion.ConsumoDiario;
+import com.bancopichincha.tarjetasdebito.autorizacion.MotorAutorizaciones;
+import com.bancopichincha.tarjetasdebito.autorizacion.ResultadoAutorizacion;
+import com.bancopichincha.tarjetasdebito.autorizacion.SaldoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autorización de débitos en memoria con varios hilos, incluida la reserva del límite diario en ConsumoDiario.
+ * {@code tarjetas} controla la contención: con una sola tarjeta todos los hilos compiten por el mismo saldo y
+ * la misma franja del consumo diario, con muchas casi nunca coinciden.
+ * Los saldos son suficientemente altos para que todas las autorizaciones se aprueben.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MotorAutorizacionesBenchmark {
+
+    private static final long SALDO_CENTAVOS = Long.MAX_VALUE / 2;
+
+    @Param({"1", "10000"})
+    private int tarjetas;
+
+    private MotorAutorizaciones motorAutorizaciones;
+
+    private String[] numeros;
+
+    private LocalDate hoy;
+
+    @Setup
+    public void iniciar() {
+        motorAutorizaciones = new MotorAutorizaciones(new ConsumoDiario());
+        numeros = new String[tarjetas];
+        hoy = LocalDate.now();
+        for (int i = 0; i < tarjetas; i++) {
+            numeros[i] = String.format("5428%012d", i);
+            motorAutorizaciones.cargar(new SaldoTarjeta((long) i + 1, numeros[i], EstadoTarjeta.ACTIVA,
+                    hoy.plusYears(5), SALDO_CENTAVOS, SALDO_CENTAVOS));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ResultadoAutorizacion autorizar_1Hilo() {
+        return autorizar();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ResultadoAutorizacion autorizar_8Hilos() {
+        return autorizar();
+    }
+
+    private ResultadoAutorizacion autorizar() {
+        String numero = numeros[ThreadLocalRandom.current().nextInt(tarjetas)];
+        return motorAutorizaciones.autorizar(numero, 1L, hoy);
+    }
+}
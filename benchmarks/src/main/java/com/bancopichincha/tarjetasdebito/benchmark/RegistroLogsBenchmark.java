@@ -0,0 +1,119 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.FileAppender;
+import com.bancopichincha.tarjetasdebito.logging.MarcadoresLog;
+import com.bancopichincha.tarjetasdebito.logging.MensajeEnmascaradoConverter;
+import com.bancopichincha.tarjetasdebito.logging.MuestreoTurboFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del log de una lectura (el que escribe el servicio en cada consulta por número) medido en el hilo
+ * de la solicitud, con varios hilos escribiendo a la vez como bajo carga:
+ * <ul>
+ *     <li>{@code sincrono}: configuración de desarrollo, cada evento se formatea y escribe en el hilo que lo genera</li>
+ *     <li>{@code asincrono}: AsyncAppender del perfil prod con enmascarado de cédula y número de tarjeta</li>
+ *     <li>{@code asincronoMuestreado}: además, muestreo de lecturas uno de cada 100 (perfil prod completo)</li>
+ * </ul>
+ * En modo SampleTime los percentiles altos muestran la espera por el bloqueo del appender, que es lo que
+ * se suma a la latencia de la solicitud.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RegistroLogsBenchmark {
+
+    private static final int CANTIDAD_NUMEROS = 1024;
+
+    @Param({"sincrono", "asincrono", "asincronoMuestreado"})
+    public String modo;
+
+    private LoggerContext contextoLogs;
+    private Logger logger;
+    private Path archivo;
+    private final String[] numerosTarjeta = new String[CANTIDAD_NUMEROS];
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void iniciar() throws IOException {
+        for (int i = 0; i < CANTIDAD_NUMEROS; i++) {
+            numerosTarjeta[i] = String.format("542812%010d", i);
+        }
+        archivo = Files.createTempFile("registro-logs-benchmark", ".log");
+
+        contextoLogs = new LoggerContext();
+        boolean asincrono = !"sincrono".equals(modo);
+        if (asincrono) {
+            Map<String, String> reglas = new HashMap<>();
+            reglas.put("msg", MensajeEnmascaradoConverter.class.getName());
+            contextoLogs.putObject(CoreConstants.PATTERN_RULE_REGISTRY, reglas);
+        }
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contextoLogs);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%t] %logger{36} : %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appenderArchivo = new FileAppender<>();
+        appenderArchivo.setContext(contextoLogs);
+        appenderArchivo.setName("FILE");
+        appenderArchivo.setFile(archivo.toString());
+        appenderArchivo.setEncoder(encoder);
+        appenderArchivo.start();
+
+        Appender<ILoggingEvent> appender = appenderArchivo;
+        if (asincrono) {
+            AsyncAppender appenderAsincrono = new AsyncAppender();
+            appenderAsincrono.setContext(contextoLogs);
+            appenderAsincrono.setName("ASYNC");
+            appenderAsincrono.setQueueSize(8192);
+            appenderAsincrono.setNeverBlock(true);
+            appenderAsincrono.addAppender(appenderArchivo);
+            appenderAsincrono.start();
+            appender = appenderAsincrono;
+        }
+        if ("asincronoMuestreado".equals(modo)) {
+            MuestreoTurboFilter muestreo = new MuestreoTurboFilter();
+            muestreo.setContext(contextoLogs);
+            muestreo.setLogger("com.bancopichincha.tarjetasdebito");
+            muestreo.setMarcador("LECTURA");
+            muestreo.setUnoDeCada(100);
+            muestreo.start();
+            contextoLogs.addTurboFilter(muestreo);
+        }
+
+        Logger raiz = contextoLogs.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        raiz.setLevel(ch.qos.logback.classic.Level.INFO);
+        raiz.addAppender(appender);
+        logger = contextoLogs.getLogger("com.bancopichincha.tarjetasdebito.service.impl.TarjetaDebitoServiceImpl");
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void detener() throws IOException {
+        contextoLogs.stop();
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public void lecturaPorNumero() {
+        String numeroTarjeta = numerosTarjeta[ThreadLocalRandom.current().nextInt(CANTIDAD_NUMEROS)];
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo tarjeta con número: {}", numeroTarjeta);
+    }
+}
@@ -0,0 +1,61 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import com.bancopichincha.tarjetasdebito.util.TarjetaDebitoMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por tarjeta de la conversión entidad -> DTO.
+ * {@code modelMapper} reproduce la implementación anterior basada en reflexión como línea base;
+ * con {@code -prof gc} se compara además la memoria asignada por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TarjetaDebitoMapperBenchmark {
+
+    private TarjetaDebitoMapper tarjetaDebitoMapper;
+    private ModelMapper modelMapper;
+    private TarjetaDebito tarjeta;
+
+    @Setup
+    public void iniciar() {
+        tarjetaDebitoMapper = new TarjetaDebitoMapper();
+        modelMapper = new ModelMapper();
+
+        tarjeta = new TarjetaDebito(
+                "5428123456789012",
+                "Juan Carlos Pérez González",
+                "1234567890",
+                LocalDate.now().plusYears(5),
+                "123",
+                new BigDecimal("1000.00"),
+                new BigDecimal("2500.50"),
+                TipoTarjeta.CLASICA);
+        tarjeta.setId(1L);
+        tarjeta.setEstado(EstadoTarjeta.ACTIVA);
+        tarjeta.setTelefono("0987654321");
+        tarjeta.setEmail("juan.perez@email.com");
+    }
+
+    @Benchmark
+    public TarjetaDebitoDTO toDTO() {
+        return tarjetaDebitoMapper.toDTO(tarjeta);
+    }
+
+    @Benchmark
+    public TarjetaDebitoDTO modelMapper() {
+        return modelMapper.map(tarjeta, TarjetaDebitoDTO.class);
+    }
+}
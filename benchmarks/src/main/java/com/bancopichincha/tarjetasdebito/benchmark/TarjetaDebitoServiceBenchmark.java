@@ -0,0 +1,73 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoCreateDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import com.bancopichincha.tarjetasdebito.service.TarjetaDebitoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Operaciones de TarjetaDebitoService contra una base H2 poblada con 1k, 100k y 1M tarjetas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class TarjetaDebitoServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private TarjetaDebitoService tarjetaDebitoService;
+
+    // Cédulas fuera del rango usado por ContextoBenchmark.poblar y DataInitializer
+    private final AtomicLong siguienteCedula = new AtomicLong(9_000_000_000L);
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        ContextoBenchmark.poblar(contexto.getBean(JdbcTemplate.class), filas);
+        tarjetaDebitoService = contexto.getBean(TarjetaDebitoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public TarjetaDebitoDTO crearTarjeta() {
+        TarjetaDebitoCreateDTO createDTO = new TarjetaDebitoCreateDTO(
+                "Titular Creado Benchmark",
+                Long.toString(siguienteCedula.getAndIncrement()),
+                new BigDecimal("1000.00"),
+                new BigDecimal("500.00"),
+                TipoTarjeta.CLASICA);
+        return tarjetaDebitoService.crearTarjeta(createDTO);
+    }
+
+    @Benchmark
+    public Optional<TarjetaDebitoDTO> obtenerTarjetaPorNumero() {
+        int fila = ThreadLocalRandom.current().nextInt(1, filas + 1);
+        return tarjetaDebitoService.obtenerTarjetaPorNumero(ContextoBenchmark.numeroTarjeta(fila));
+    }
+
+    @Benchmark
+    @Warmup(iterations = 1, time = 10)
+    @Measurement(iterations = 3, time = 10)
+    public List<TarjetaDebitoDTO> obtenerTodasLasTarjetas() {
+        return tarjetaDebitoService.obtenerTodasLasTarjetas();
+    }
+}
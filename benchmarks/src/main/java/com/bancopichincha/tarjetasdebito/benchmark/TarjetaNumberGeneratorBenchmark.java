@@ -0,0 +1,86 @@
+package com.bancopichincha.tarjetasdebito.benchmark;
+
+import com.bancopichincha.tarjetasdebito.util.ReservaNumerosTarjeta;
+import com.bancopichincha.tarjetasdebito.util.TarjetaNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generación de números de tarjeta y CVV con varios hilos compartiendo el generador,
+ * igual que ocurre con el bean singleton bajo carga. Los bloques de números se reservan en memoria
+ * para medir solo el emisor; en la aplicación cada reserva es una consulta a la secuencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TarjetaNumberGeneratorBenchmark {
+
+    private TarjetaNumberGenerator tarjetaNumberGenerator;
+
+    @Setup
+    public void iniciar() {
+        tarjetaNumberGenerator = new TarjetaNumberGenerator(new ReservaEnMemoria(1000), "clave-benchmark");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateTarjetaNumber_1Hilo() {
+        return tarjetaNumberGenerator.generateTarjetaNumber();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateTarjetaNumber_4Hilos() {
+        return tarjetaNumberGenerator.generateTarjetaNumber();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String generateTarjetaNumber_16Hilos() {
+        return tarjetaNumberGenerator.generateTarjetaNumber();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateCVV_1Hilo() {
+        return tarjetaNumberGenerator.generateCVV();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateCVV_4Hilos() {
+        return tarjetaNumberGenerator.generateCVV();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String generateCVV_16Hilos() {
+        return tarjetaNumberGenerator.generateCVV();
+    }
+
+    private static final class ReservaEnMemoria implements ReservaNumerosTarjeta {
+
+        private final AtomicLong siguiente = new AtomicLong(1);
+
+        private final int tamanioBloque;
+
+        ReservaEnMemoria(int tamanioBloque) {
+            this.tamanioBloque = tamanioBloque;
+        }
+
+        @Override
+        public long reservarBloque() {
+            return siguiente.getAndAdd(tamanioBloque);
+        }
+
+        @Override
+        public int tamanioBloque() {
+            return tamanioBloque;
+        }
+    }
+}
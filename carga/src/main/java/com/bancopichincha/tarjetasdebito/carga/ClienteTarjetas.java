@@ -0,0 +1,114 @@
+package com.bancopichincha.tarjetasdebito.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Traduce cada {@link Operacion} en una solicitud a /api/v1/tarjetas-debito y retorna el código HTTP.
+ */
+public class ClienteTarjetas {
+
+    private static final String RUTA = "/api/v1/tarjetas-debito";
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private static final Pattern NUMERO = Pattern.compile("\"numeroTarjeta\"\\s*:\\s*\"(\\d+)\"");
+
+    private static final String[] NOMBRES = {
+            "María José Pérez", "Juan Carlos Andrade", "Lucía Fernanda Núñez", "Pedro Sánchez García",
+            "Ana Gabriela Torres", "Luis Alberto Zambrano", "Carmen Elena Vásquez", "José Miguel Ortiz"
+    };
+
+    private static final String[] TIPOS = {"CLASICA", "GOLD", "PLATINUM", "EMPRESARIAL"};
+
+    private static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(30);
+
+    private final HttpClient cliente;
+
+    private final String url;
+
+    private final TarjetasConocidas tarjetasConocidas;
+
+    // Cédulas de 10 dígitos a partir de un origen al azar, para no repetir las de ejecuciones anteriores
+    private final AtomicLong siguienteCedula = new AtomicLong(1_000_000_000L
+            + ThreadLocalRandom.current().nextLong(8_000_000_000L));
+
+    public ClienteTarjetas(String url, TarjetasConocidas tarjetasConocidas) {
+        this.url = url;
+        this.tarjetasConocidas = tarjetasConocidas;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Ejecutar la operación y retornar el código HTTP de la respuesta
+     */
+    public int ejecutar(Operacion operacion) throws IOException, InterruptedException {
+        TarjetasConocidas.Tarjeta tarjeta = operacion == Operacion.CREAR || operacion == Operacion.LISTAR
+                ? null : tarjetasConocidas.alAzar();
+        if (tarjeta == null && operacion != Operacion.CREAR && operacion != Operacion.LISTAR) {
+            throw new IllegalStateException("No hay tarjetas conocidas para " + operacion.getNombre());
+        }
+        return switch (operacion) {
+            case CREAR -> crear();
+            case CONSULTAR_NUMERO -> enviar(get(RUTA + "/numero/" + tarjeta.getNumeroTarjeta()));
+            case CONSULTAR_CEDULA -> enviar(get(RUTA + "/cedula/" + tarjeta.getCedula()));
+            case BLOQUEAR_DESBLOQUEAR -> enviar(put(RUTA + "/" + tarjeta.getId()
+                    + (tarjeta.alternarBloqueo() ? "/bloquear" : "/desbloquear")));
+            case LISTAR -> enviar(get(RUTA + "/pagina?tamanio=20"));
+        };
+    }
+
+    /**
+     * Crear una tarjeta y registrarla entre las conocidas si la respuesta es 201
+     */
+    public int crear() throws IOException, InterruptedException {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        String cedula = Long.toString(siguienteCedula.getAndIncrement());
+        String cuerpo = "{\"nombreTitular\":\"" + NOMBRES[aleatorio.nextInt(NOMBRES.length)] + "\","
+                + "\"cedula\":\"" + cedula + "\","
+                + "\"limiteDiario\":" + (500 + aleatorio.nextInt(10) * 100) + ","
+                + "\"saldoInicial\":" + aleatorio.nextInt(5000) + ","
+                + "\"tipoTarjeta\":\"" + TIPOS[aleatorio.nextInt(TIPOS.length)] + "\"}";
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create(url + RUTA))
+                .timeout(TIEMPO_MAXIMO)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+
+        HttpResponse<String> respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() == 201) {
+            Matcher id = ID.matcher(respuesta.body());
+            Matcher numero = NUMERO.matcher(respuesta.body());
+            if (id.find() && numero.find()) {
+                tarjetasConocidas.agregar(new TarjetasConocidas.Tarjeta(Long.parseLong(id.group(1)), numero.group(1), cedula));
+            }
+        }
+        return respuesta.statusCode();
+    }
+
+    private int enviar(HttpRequest solicitud) throws IOException, InterruptedException {
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create(url + ruta)).timeout(TIEMPO_MAXIMO).GET().build();
+    }
+
+    private HttpRequest put(String ruta) {
+        return HttpRequest.newBuilder(URI.create(url + ruta)).timeout(TIEMPO_MAXIMO)
+                .PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.bancopichincha.tarjetasdebito.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Parámetros de una ejecución, recibidos como argumentos {@code clave=valor}:
+ * <ul>
+ *   <li>{@code url}: aplicación bajo prueba (por defecto http://localhost:8080)</li>
+ *   <li>{@code tasa}: solicitudes por segundo, constante e independiente de las respuestas</li>
+ *   <li>{@code duracion} y {@code calentamiento}: segundos medidos y segundos previos sin medir</li>
+ *   <li>{@code mezcla}: pesos por operación, p. ej. {@code crear=10,numero=30,cedula=25,bloqueo=15,listar=20}</li>
+ *   <li>{@code semillas}: tarjetas creadas antes de empezar, para las consultas y los bloqueos</li>
+ *   <li>{@code maximo-en-vuelo}: solicitudes pendientes a la vez; por encima se cuentan como descartadas</li>
+ *   <li>{@code etiqueta} y {@code resultado}: nombre de la ejecución y directorio de resultados</li>
+ * </ul>
+ */
+public class ConfiguracionCarga {
+
+    private static final String MEZCLA_POR_DEFECTO = "crear=10,numero=30,cedula=25,bloqueo=15,listar=20";
+
+    private final String url;
+    private final int tasa;
+    private final Duration duracion;
+    private final Duration calentamiento;
+    private final Map<Operacion, Integer> mezcla;
+    private final int semillas;
+    private final int maximoEnVuelo;
+    private final String etiqueta;
+    private final Path resultado;
+
+    private final Operacion[] operacionesPorPeso;
+    private final int[] pesosAcumulados;
+
+    public ConfiguracionCarga(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Se esperaba clave=valor: " + arg);
+            }
+            valores.put(arg.substring(0, igual).trim(), arg.substring(igual + 1).trim());
+        }
+        this.url = valores.getOrDefault("url", "http://localhost:8080");
+        this.tasa = Integer.parseInt(valores.getOrDefault("tasa", "200"));
+        this.duracion = Duration.ofSeconds(Long.parseLong(valores.getOrDefault("duracion", "60")));
+        this.calentamiento = Duration.ofSeconds(Long.parseLong(valores.getOrDefault("calentamiento", "10")));
+        this.mezcla = leerMezcla(valores.getOrDefault("mezcla", MEZCLA_POR_DEFECTO));
+        this.semillas = Integer.parseInt(valores.getOrDefault("semillas", "200"));
+        this.maximoEnVuelo = Integer.parseInt(valores.getOrDefault("maximo-en-vuelo", "10000"));
+        this.etiqueta = valores.getOrDefault("etiqueta", "ejecucion");
+        this.resultado = Path.of(valores.getOrDefault("resultado", "target/carga"));
+        if (tasa < 1) {
+            throw new IllegalArgumentException("La tasa debe ser mayor que 0");
+        }
+
+        this.operacionesPorPeso = mezcla.keySet().toArray(new Operacion[0]);
+        this.pesosAcumulados = new int[operacionesPorPeso.length];
+        int acumulado = 0;
+        for (int i = 0; i < operacionesPorPeso.length; i++) {
+            acumulado += mezcla.get(operacionesPorPeso[i]);
+            pesosAcumulados[i] = acumulado;
+        }
+        if (acumulado == 0) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos una operación con peso mayor que 0");
+        }
+    }
+
+    /**
+     * Elegir la siguiente operación según los pesos de la mezcla
+     */
+    public Operacion elegirOperacion(SplittableRandom aleatorio) {
+        int valor = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (valor < pesosAcumulados[i]) {
+                return operacionesPorPeso[i];
+            }
+        }
+        return operacionesPorPeso[operacionesPorPeso.length - 1];
+    }
+
+    private static Map<Operacion, Integer> leerMezcla(String texto) {
+        Map<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] claveValor = parte.split("=");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Mezcla inválida, se esperaba operacion=peso: " + parte);
+            }
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("El peso no puede ser negativo: " + parte);
+            }
+            mezcla.put(Operacion.porNombre(claveValor[0]), peso);
+        }
+        return mezcla;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getTasa() {
+        return tasa;
+    }
+
+    public Duration getDuracion() {
+        return duracion;
+    }
+
+    public Duration getCalentamiento() {
+        return calentamiento;
+    }
+
+    public Map<Operacion, Integer> getMezcla() {
+        return mezcla;
+    }
+
+    public int getSemillas() {
+        return semillas;
+    }
+
+    public int getMaximoEnVuelo() {
+        return maximoEnVuelo;
+    }
+
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+
+    public Path getResultado() {
+        return resultado;
+    }
+}
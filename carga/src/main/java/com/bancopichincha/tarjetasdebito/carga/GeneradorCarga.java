@@ -0,0 +1,179 @@
+package com.bancopichincha.tarjetasdebito.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga HTTP con modelo abierto: las solicitudes salen a tasa fija ({@code tasa} por segundo)
+ * sin esperar las respuestas anteriores, cada una en su propio hilo virtual. Así una respuesta lenta no frena
+ * las siguientes y la latencia medida incluye el tiempo que la solicitud esperó su turno.
+ *
+ * <pre>
+ * mvn spring-boot:run            # en otra terminal:
+ * mvn -f carga/pom.xml compile exec:exec -Dcarga.tasa=500 -Dcarga.etiqueta=plataforma
+ * </pre>
+ *
+ * Los resultados se imprimen por operación y se guardan en {@code resultado}: una fila por operación en
+ * {@code resumen.csv} (se agrega, para comparar ejecuciones por etiqueta) y la distribución completa en
+ * {@code <etiqueta>-<operacion>.hgrm}, que puede graficarse con HdrHistogram Plotter.
+ */
+public class GeneradorCarga {
+
+    private static final int CAPACIDAD_TARJETAS = 100_000;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga configuracion = new ConfiguracionCarga(args);
+        TarjetasConocidas tarjetasConocidas = new TarjetasConocidas(CAPACIDAD_TARJETAS);
+        ClienteTarjetas cliente = new ClienteTarjetas(configuracion.getUrl(), tarjetasConocidas);
+
+        sembrar(configuracion, cliente, tarjetasConocidas);
+
+        System.out.printf("Calentamiento: %d s a %d solicitudes/s contra %s%n",
+                configuracion.getCalentamiento().toSeconds(), configuracion.getTasa(), configuracion.getUrl());
+        ejecutarFase(configuracion, cliente, configuracion.getCalentamiento(), null);
+
+        Map<Operacion, ResultadosOperacion> resultados = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : configuracion.getMezcla().keySet()) {
+            resultados.put(operacion, new ResultadosOperacion(operacion));
+        }
+        System.out.printf("Medición: %d s a %d solicitudes/s, mezcla %s%n",
+                configuracion.getDuracion().toSeconds(), configuracion.getTasa(), configuracion.getMezcla());
+        long inicio = System.nanoTime();
+        ejecutarFase(configuracion, cliente, configuracion.getDuracion(), resultados);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        informar(configuracion, resultados, segundos);
+    }
+
+    // Las consultas y bloqueos necesitan tarjetas existentes: se crean antes de empezar y sin medir
+    private static void sembrar(ConfiguracionCarga configuracion, ClienteTarjetas cliente,
+                                TarjetasConocidas tarjetasConocidas) throws IOException, InterruptedException {
+        for (int i = 0; i < configuracion.getSemillas(); i++) {
+            cliente.crear();
+        }
+        System.out.printf("Tarjetas semilla creadas: %d%n", tarjetasConocidas.cantidad());
+        boolean requiereTarjetas = configuracion.getMezcla().entrySet().stream()
+                .anyMatch(e -> e.getValue() > 0 && e.getKey() != Operacion.CREAR && e.getKey() != Operacion.LISTAR);
+        if (requiereTarjetas && tarjetasConocidas.cantidad() == 0) {
+            throw new IllegalStateException("No se pudo crear ninguna tarjeta semilla en " + configuracion.getUrl());
+        }
+    }
+
+    /**
+     * Enviar solicitudes a tasa fija durante {@code duracion}; con {@code resultados} null no se registra nada
+     */
+    private static void ejecutarFase(ConfiguracionCarga configuracion, ClienteTarjetas cliente, Duration duracion,
+                                     Map<Operacion, ResultadosOperacion> resultados) {
+        Semaphore enVuelo = new Semaphore(configuracion.getMaximoEnVuelo());
+        SplittableRandom aleatorio = new SplittableRandom();
+        double intervaloNanos = 1e9 / configuracion.getTasa();
+        long total = (long) (duracion.toNanos() / intervaloNanos);
+        long inicio = System.nanoTime();
+
+        // close() espera a que terminen las solicitudes en vuelo
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                // El instante programado depende solo del índice: un atraso del generador no desplaza los siguientes
+                long programada = inicio + (long) (i * intervaloNanos);
+                esperarHasta(programada);
+
+                Operacion operacion = configuracion.elegirOperacion(aleatorio);
+                ResultadosOperacion resultado = resultados != null ? resultados.get(operacion) : null;
+                if (!enVuelo.tryAcquire()) {
+                    if (resultado != null) {
+                        resultado.registrarDescartada();
+                    }
+                    continue;
+                }
+                ejecutor.execute(() -> {
+                    try {
+                        long enviada = System.nanoTime();
+                        int codigoHttp = cliente.ejecutar(operacion);
+                        if (resultado != null) {
+                            resultado.registrar(programada, enviada, System.nanoTime(), codigoHttp);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        if (resultado != null) {
+                            resultado.registrarError(programada, System.nanoTime());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        enVuelo.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private static void esperarHasta(long instanteNanos) {
+        long restante;
+        while ((restante = instanteNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    private static void informar(ConfiguracionCarga configuracion, Map<Operacion, ResultadosOperacion> resultados,
+                                 double segundos) throws IOException {
+        Path directorio = configuracion.getResultado();
+        Files.createDirectories(directorio);
+        Path resumen = directorio.resolve("resumen.csv");
+        boolean nuevo = !Files.exists(resumen);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(resumen,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (nuevo) {
+                csv.println("etiqueta,tasa,operacion,exitosas,rechazadas,errores,descartadas,por_segundo,"
+                        + "p50_ms,p90_ms,p99_ms,p99_9_ms,p99_99_ms,max_ms,servicio_p99_ms");
+            }
+            System.out.printf("%n%-9s %9s %9s %8s %10s %9s %9s %9s %9s %9s %9s %11s%n", "operacion", "exitosas",
+                    "rechaz.", "err+desc", "sol/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "p99.99", "max ms", "serv p99 ms");
+
+            for (ResultadosOperacion resultado : resultados.values()) {
+                Histogram respuesta = resultado.getRespuesta();
+                double porSegundo = respuesta.getTotalCount() / segundos;
+                StringBuilder percentiles = new StringBuilder();
+                StringBuilder columnas = new StringBuilder();
+                for (double percentil : PERCENTILES) {
+                    double milisegundos = respuesta.getValueAtPercentile(percentil) / 1000.0;
+                    percentiles.append(String.format(Locale.ROOT, ",%.3f", milisegundos));
+                    columnas.append(String.format(Locale.ROOT, " %9.2f", milisegundos));
+                }
+                double maximo = respuesta.getMaxValue() / 1000.0;
+                double servicioP99 = resultado.getServicio().getValueAtPercentile(99) / 1000.0;
+
+                csv.printf(Locale.ROOT, "%s,%d,%s,%d,%d,%d,%d,%.1f%s,%.3f,%.3f%n", configuracion.getEtiqueta(),
+                        configuracion.getTasa(), resultado.getOperacion().getNombre(), resultado.getExitosas(),
+                        resultado.getRechazadas(), resultado.getErrores(), resultado.getDescartadas(), porSegundo,
+                        percentiles, maximo, servicioP99);
+                System.out.printf(Locale.ROOT, "%-9s %9d %9d %8d %10.1f%s %9.2f %11.2f%n",
+                        resultado.getOperacion().getNombre(), resultado.getExitosas(), resultado.getRechazadas(),
+                        resultado.getErrores() + resultado.getDescartadas(), porSegundo, columnas, maximo, servicioP99);
+
+                Path hgrm = directorio.resolve(configuracion.getEtiqueta() + "-" + resultado.getOperacion().getNombre() + ".hgrm");
+                try (PrintStream salida = new PrintStream(Files.newOutputStream(hgrm))) {
+                    // Valores en microsegundos, informados en milisegundos
+                    respuesta.outputPercentileDistribution(salida, 1000.0);
+                }
+            }
+        }
+        System.out.println("Resultados en " + directorio.toAbsolutePath());
+    }
+}
@@ -0,0 +1,32 @@
+package com.bancopichincha.tarjetasdebito.carga;
+
+/**
+ * Operaciones de la mezcla de carga; el nombre es la clave usada en {@code mezcla=} y en el informe.
+ */
+public enum Operacion {
+
+    CREAR("crear"),
+    CONSULTAR_NUMERO("numero"),
+    CONSULTAR_CEDULA("cedula"),
+    BLOQUEAR_DESBLOQUEAR("bloqueo"),
+    LISTAR("listar");
+
+    private final String nombre;
+
+    Operacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public static Operacion porNombre(String nombre) {
+        for (Operacion operacion : values()) {
+            if (operacion.nombre.equalsIgnoreCase(nombre.trim())) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida en la mezcla: " + nombre);
+    }
+}
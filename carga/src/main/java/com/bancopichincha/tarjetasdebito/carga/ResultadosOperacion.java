@@ -0,0 +1,95 @@
+package com.bancopichincha.tarjetasdebito.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y conteos de una operación durante la fase medida.
+ * La latencia se mide desde el instante en que la solicitud debía enviarse según la tasa, no desde que se envió:
+ * si el generador o el servidor se atrasan, la espera queda registrada (sin omisión coordinada).
+ * El tiempo de servicio (desde el envío real) se guarda aparte para distinguir la espera del lado del cliente.
+ */
+public class ResultadosOperacion {
+
+    // Microsegundos, hasta 5 minutos, con 3 dígitos significativos
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(5);
+
+    private final Operacion operacion;
+
+    private final Histogram respuesta = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+
+    private final Histogram servicio = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+
+    private final LongAdder exitosas = new LongAdder();
+
+    private final LongAdder rechazadas = new LongAdder();
+
+    private final LongAdder errores = new LongAdder();
+
+    private final LongAdder descartadas = new LongAdder();
+
+    public ResultadosOperacion(Operacion operacion) {
+        this.operacion = operacion;
+    }
+
+    /**
+     * Registrar una respuesta: 2xx exitosa, 4xx rechazada (p. ej. transición de estado inválida), resto error
+     */
+    public void registrar(long programadaNanos, long enviadaNanos, long recibidaNanos, int codigoHttp) {
+        respuesta.recordValue(Math.min(LATENCIA_MAXIMA_US, TimeUnit.NANOSECONDS.toMicros(recibidaNanos - programadaNanos)));
+        servicio.recordValue(Math.min(LATENCIA_MAXIMA_US, TimeUnit.NANOSECONDS.toMicros(recibidaNanos - enviadaNanos)));
+        if (codigoHttp >= 200 && codigoHttp < 300) {
+            exitosas.increment();
+        } else if (codigoHttp >= 400 && codigoHttp < 500) {
+            rechazadas.increment();
+        } else {
+            errores.increment();
+        }
+    }
+
+    /**
+     * Registrar una solicitud que falló sin respuesta (conexión, tiempo máximo)
+     */
+    public void registrarError(long programadaNanos, long recibidaNanos) {
+        respuesta.recordValue(Math.min(LATENCIA_MAXIMA_US, TimeUnit.NANOSECONDS.toMicros(recibidaNanos - programadaNanos)));
+        errores.increment();
+    }
+
+    /**
+     * Registrar una solicitud no enviada por superar el máximo de solicitudes en vuelo
+     */
+    public void registrarDescartada() {
+        descartadas.increment();
+    }
+
+    public Operacion getOperacion() {
+        return operacion;
+    }
+
+    public Histogram getRespuesta() {
+        return respuesta;
+    }
+
+    public Histogram getServicio() {
+        return servicio;
+    }
+
+    public long getExitosas() {
+        return exitosas.sum();
+    }
+
+    public long getRechazadas() {
+        return rechazadas.sum();
+    }
+
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    public long getDescartadas() {
+        return descartadas.sum();
+    }
+}
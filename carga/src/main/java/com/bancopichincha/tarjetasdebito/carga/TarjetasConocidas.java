@@ -0,0 +1,85 @@
+package com.bancopichincha.tarjetasdebito.carga;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tarjetas creadas durante la prueba, de las que se toman los números, cédulas e IDs de las consultas y bloqueos.
+ * Solo se agregan; la lectura de una tarjeta al azar no toma bloqueos.
+ */
+public class TarjetasConocidas {
+
+    private final AtomicReferenceArray<Tarjeta> tarjetas;
+
+    private final AtomicInteger cantidad = new AtomicInteger();
+
+    public TarjetasConocidas(int capacidad) {
+        this.tarjetas = new AtomicReferenceArray<>(capacidad);
+    }
+
+    /**
+     * Registrar una tarjeta creada; si se alcanzó la capacidad se reemplaza una al azar
+     */
+    public void agregar(Tarjeta tarjeta) {
+        int posicion = cantidad.getAndIncrement();
+        if (posicion >= tarjetas.length()) {
+            cantidad.set(tarjetas.length());
+            posicion = ThreadLocalRandom.current().nextInt(tarjetas.length());
+        }
+        tarjetas.set(posicion, tarjeta);
+    }
+
+    /**
+     * Una tarjeta al azar, o null si todavía no hay ninguna
+     */
+    public Tarjeta alAzar() {
+        int disponibles = Math.min(cantidad.get(), tarjetas.length());
+        if (disponibles == 0) {
+            return null;
+        }
+        return tarjetas.get(ThreadLocalRandom.current().nextInt(disponibles));
+    }
+
+    public int cantidad() {
+        return Math.min(cantidad.get(), tarjetas.length());
+    }
+
+    public static final class Tarjeta {
+
+        private final long id;
+        private final String numeroTarjeta;
+        private final String cedula;
+        private final AtomicBoolean bloqueada = new AtomicBoolean();
+
+        public Tarjeta(long id, String numeroTarjeta, String cedula) {
+            this.id = id;
+            this.numeroTarjeta = numeroTarjeta;
+            this.cedula = cedula;
+        }
+
+        /**
+         * Alternar entre bloqueada y activa; retorna true si la siguiente operación es bloquear
+         */
+        public boolean alternarBloqueo() {
+            boolean anterior;
+            do {
+                anterior = bloqueada.get();
+            } while (!bloqueada.compareAndSet(anterior, !anterior));
+            return !anterior;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getNumeroTarjeta() {
+            return numeroTarjeta;
+        }
+
+        public String getCedula() {
+            return cedula;
+        }
+    }
+}
@@ -11,9 +11,9 @@ java -version > nul 2>&1
 if %ERRORLEVEL% neq 0 (
     echo ERROR: Java no está instalado o no está en el PATH
     echo.
-    echo Por favor, instala Java 17 o superior:
+    echo Por favor, instala Java 21 o superior:
     echo 1. Descarga Java desde https://www.oracle.com/java/technologies/downloads/
-    echo 2. Instala Java JDK 17 o superior
+    echo 2. Instala Java JDK 21 o superior
     echo 3. Configura JAVA_HOME en las variables de entorno
     echo 4. Agrega JAVA_HOME\bin al PATH
     echo 5. Reinicia la terminal
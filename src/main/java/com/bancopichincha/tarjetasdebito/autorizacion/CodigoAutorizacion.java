@@ -0,0 +1,20 @@
+package com.bancopichincha.tarjetasdebito.autorizacion;
+
+public enum CodigoAutorizacion {
+    APROBADA("Aprobada"),
+    TARJETA_NO_ENCONTRADA("Tarjeta no encontrada"),
+    TARJETA_NO_ACTIVA("La tarjeta no está activa"),
+    TARJETA_VENCIDA("La tarjeta está vencida"),
+    SALDO_INSUFICIENTE("Saldo insuficiente"),
+    LIMITE_DIARIO_EXCEDIDO("El monto excede el límite diario disponible");
+
+    private final String descripcion;
+
+    CodigoAutorizacion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,207 @@
+package com.bancopichincha.tarjetasdebito.autorizacion;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Consumo del límite diario de cada tarjeta, en centavos. Las tarjetas se reparten en franjas con su propio
+ * bloqueo, y cada franja guarda ID y consumo en dos arreglos de {@code long} con direccionamiento abierto:
+ * sin un objeto por tarjeta ni boxing de la clave.
+ * <p>
+ * El día lo indica quien llama, en la zona {@code tarjetas.zona-horaria}. La primera operación de un día nuevo
+ * vacía la franja, así el reinicio de medianoche no recorre todas las tarjetas. Los IDs deben ser positivos.
+ */
+@Component
+public class ConsumoDiario {
+
+    private static final int BITS_FRANJAS = 6;
+
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+    private final Franja[] franjas = new Franja[1 << BITS_FRANJAS];
+
+    public ConsumoDiario() {
+        for (int i = 0; i < franjas.length; i++) {
+            franjas[i] = new Franja();
+        }
+    }
+
+    /**
+     * Sumar {@code montoCentavos} al consumo del día si no supera {@code limiteCentavos}; retorna el consumo
+     * resultante, o -1 si se rechaza (en ese caso el consumo no cambia)
+     */
+    public long reservar(long id, long montoCentavos, long limiteCentavos, LocalDate dia) {
+        Franja franja = franja(id);
+        synchronized (franja) {
+            franja.alDia(dia.toEpochDay());
+            long consumido = franja.obtener(id);
+            if (montoCentavos > limiteCentavos - consumido) {
+                return -1L;
+            }
+            franja.poner(id, consumido + montoCentavos);
+            return consumido + montoCentavos;
+        }
+    }
+
+    /**
+     * Devolver una reserva que no llegó a aplicarse. Si la franja ya pasó a otro día la reserva no cuenta
+     * en el consumo vigente y no hay nada que devolver.
+     */
+    public void liberar(long id, long montoCentavos, LocalDate dia) {
+        Franja franja = franja(id);
+        synchronized (franja) {
+            if (franja.dia == dia.toEpochDay() && franja.contiene(id)) {
+                franja.poner(id, Math.max(0L, franja.obtener(id) - montoCentavos));
+            }
+        }
+    }
+
+    public long consumido(long id, LocalDate dia) {
+        Franja franja = franja(id);
+        synchronized (franja) {
+            return dia.toEpochDay() > franja.dia ? 0L : franja.obtener(id);
+        }
+    }
+
+    /**
+     * Registrar el consumo persistido de una tarjeta. No reemplaza el de una tarjeta que ya tiene consumo
+     * en memoria (más reciente que el persistido) ni el de un día anterior al vigente.
+     */
+    public void cargar(long id, long consumidoCentavos, LocalDate dia) {
+        Franja franja = franja(id);
+        synchronized (franja) {
+            long epoca = dia.toEpochDay();
+            if (epoca < franja.dia) {
+                return;
+            }
+            franja.alDia(epoca);
+            if (!franja.contiene(id)) {
+                franja.poner(id, consumidoCentavos);
+            }
+        }
+    }
+
+    public void eliminar(long id) {
+        Franja franja = franja(id);
+        synchronized (franja) {
+            franja.quitar(id);
+        }
+    }
+
+    public int tamanio() {
+        int tamanio = 0;
+        for (Franja franja : franjas) {
+            synchronized (franja) {
+                tamanio += franja.tamanio;
+            }
+        }
+        return tamanio;
+    }
+
+    private Franja franja(long id) {
+        return franjas[(int) ((id * MEZCLA) >>> (Long.SIZE - BITS_FRANJAS))];
+    }
+
+    private static int ranuraInicial(long id) {
+        long hash = id * MEZCLA;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Tabla de una franja con sondeo lineal; el ID 0 marca una ranura libre. Se accede con el monitor tomado.
+     */
+    private static final class Franja {
+
+        private long dia = Long.MIN_VALUE;
+        private long[] ids = new long[CAPACIDAD_INICIAL];
+        private long[] consumos = new long[CAPACIDAD_INICIAL];
+        private int tamanio;
+
+        private void alDia(long epoca) {
+            if (epoca > dia) {
+                dia = epoca;
+                Arrays.fill(ids, 0L);
+                tamanio = 0;
+            }
+        }
+
+        private long obtener(long id) {
+            int ranura = buscar(id);
+            return ids[ranura] == id ? consumos[ranura] : 0L;
+        }
+
+        private boolean contiene(long id) {
+            return ids[buscar(id)] == id;
+        }
+
+        private void poner(long id, long consumo) {
+            int ranura = buscar(id);
+            if (ids[ranura] != id) {
+                // Ocupación máxima de la mitad: con sondeo lineal las cadenas se mantienen cortas
+                if ((tamanio + 1) * 2 > ids.length) {
+                    crecer();
+                    ranura = buscar(id);
+                }
+                ids[ranura] = id;
+                tamanio++;
+            }
+            consumos[ranura] = consumo;
+        }
+
+        // Borrado con desplazamiento hacia atrás: no deja marcas de borrado que alarguen las búsquedas
+        private void quitar(long id) {
+            int libre = buscar(id);
+            if (ids[libre] != id) {
+                return;
+            }
+            int mascara = ids.length - 1;
+            int siguiente = libre;
+            while (true) {
+                siguiente = (siguiente + 1) & mascara;
+                if (ids[siguiente] == 0L) {
+                    break;
+                }
+                int inicial = ranuraInicial(ids[siguiente]) & mascara;
+                // Se mueve si su ranura inicial no está en el intervalo circular (libre, siguiente]
+                boolean enIntervalo = libre <= siguiente
+                        ? libre < inicial && inicial <= siguiente
+                        : libre < inicial || inicial <= siguiente;
+                if (!enIntervalo) {
+                    ids[libre] = ids[siguiente];
+                    consumos[libre] = consumos[siguiente];
+                    libre = siguiente;
+                }
+            }
+            ids[libre] = 0L;
+            tamanio--;
+        }
+
+        // Ranura del ID, o la ranura libre donde debe insertarse
+        private int buscar(long id) {
+            int mascara = ids.length - 1;
+            int ranura = ranuraInicial(id) & mascara;
+            while (ids[ranura] != 0L && ids[ranura] != id) {
+                ranura = (ranura + 1) & mascara;
+            }
+            return ranura;
+        }
+
+        private void crecer() {
+            long[] idsAnteriores = ids;
+            long[] consumosAnteriores = consumos;
+            ids = new long[idsAnteriores.length * 2];
+            consumos = new long[idsAnteriores.length * 2];
+            for (int i = 0; i < idsAnteriores.length; i++) {
+                if (idsAnteriores[i] != 0L) {
+                    int ranura = buscar(idsAnteriores[i]);
+                    ids[ranura] = idsAnteriores[i];
+                    consumos[ranura] = consumosAnteriores[i];
+                }
+            }
+        }
+    }
+}
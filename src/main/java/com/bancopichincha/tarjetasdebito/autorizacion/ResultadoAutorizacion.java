@@ -0,0 +1,34 @@
+package com.bancopichincha.tarjetasdebito.autorizacion;
+
+/**
+ * Resultado de una autorización: el código, el estado de la tarjeta y lo que le queda del límite diario
+ * después de aplicarla (o los vigentes, si fue rechazada)
+ */
+public final class ResultadoAutorizacion {
+
+    private final CodigoAutorizacion codigo;
+    private final SaldoTarjeta saldo;
+    private final long disponibleDiarioCentavos;
+
+    public ResultadoAutorizacion(CodigoAutorizacion codigo, SaldoTarjeta saldo, long disponibleDiarioCentavos) {
+        this.codigo = codigo;
+        this.saldo = saldo;
+        this.disponibleDiarioCentavos = disponibleDiarioCentavos;
+    }
+
+    public boolean isAprobada() {
+        return codigo == CodigoAutorizacion.APROBADA;
+    }
+
+    public CodigoAutorizacion getCodigo() {
+        return codigo;
+    }
+
+    public SaldoTarjeta getSaldo() {
+        return saldo;
+    }
+
+    public long getDisponibleDiarioCentavos() {
+        return disponibleDiarioCentavos;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bancopichincha.tarjetasdebito.autorizacion;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Estado de una tarjeta relevante para autorizar débitos, inmutable: cada débito produce una nueva instancia
+ * que reemplaza a la anterior con compare-and-set. Los montos se guardan en centavos; el consumo del límite
+ * diario se lleva aparte, en {@link ConsumoDiario}.
+ */
+public final class SaldoTarjeta {
+
+    private final long id;
+    private final String numeroTarjeta;
+    private final EstadoTarjeta estado;
+    private final LocalDate fechaExpiracion;
+    private final long saldoCentavos;
+    private final long limiteDiarioCentavos;
+
+    public SaldoTarjeta(long id, String numeroTarjeta, EstadoTarjeta estado, LocalDate fechaExpiracion,
+                        long saldoCentavos, long limiteDiarioCentavos) {
+        this.id = id;
+        this.numeroTarjeta = numeroTarjeta;
+        this.estado = estado;
+        this.fechaExpiracion = fechaExpiracion;
+        this.saldoCentavos = saldoCentavos;
+        this.limiteDiarioCentavos = limiteDiarioCentavos;
+    }
+
+    /**
+     * Motivo de rechazo de un débito de {@code montoCentavos} en el día {@code hoy}, o null si puede aprobarse
+     * (sin considerar el límite diario)
+     */
+    public CodigoAutorizacion validarDebito(long montoCentavos, LocalDate hoy) {
+        if (estado != EstadoTarjeta.ACTIVA) {
+            return CodigoAutorizacion.TARJETA_NO_ACTIVA;
+        }
+        if (fechaExpiracion.isBefore(hoy)) {
+            return CodigoAutorizacion.TARJETA_VENCIDA;
+        }
+        if (montoCentavos > saldoCentavos) {
+            return CodigoAutorizacion.SALDO_INSUFICIENTE;
+        }
+        return null;
+    }
+
+    /**
+     * Nuevo estado tras un débito ya validado
+     */
+    public SaldoTarjeta debitar(long montoCentavos) {
+        return new SaldoTarjeta(id, numeroTarjeta, estado, fechaExpiracion, saldoCentavos - montoCentavos,
+                limiteDiarioCentavos);
+    }
+
+    /**
+     * Nuevo estado tras devolver un débito que no pudo registrarse
+     */
+    public SaldoTarjeta acreditar(long montoCentavos) {
+        return new SaldoTarjeta(id, numeroTarjeta, estado, fechaExpiracion, saldoCentavos + montoCentavos,
+                limiteDiarioCentavos);
+    }
+
+    public SaldoTarjeta conEstado(EstadoTarjeta nuevoEstado) {
+        return new SaldoTarjeta(id, numeroTarjeta, nuevoEstado, fechaExpiracion, saldoCentavos, limiteDiarioCentavos);
+    }
+
+    public SaldoTarjeta conCondiciones(EstadoTarjeta nuevoEstado, long nuevoLimiteDiarioCentavos) {
+        return new SaldoTarjeta(id, numeroTarjeta, nuevoEstado, fechaExpiracion, saldoCentavos,
+                nuevoLimiteDiarioCentavos);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getNumeroTarjeta() {
+        return numeroTarjeta;
+    }
+
+    public EstadoTarjeta getEstado() {
+        return estado;
+    }
+
+    public LocalDate getFechaExpiracion() {
+        return fechaExpiracion;
+    }
+
+    public long getSaldoCentavos() {
+        return saldoCentavos;
+    }
+
+    public long getLimiteDiarioCentavos() {
+        return limiteDiarioCentavos;
+    }
+
+    /**
+     * Monto con dos decimales expresado en centavos
+     */
+    public static long aCentavos(BigDecimal monto) {
+        return monto.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal aMonto(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
@@ -0,0 +1,156 @@
+package com.bancopichincha.tarjetasdebito.cache;
+
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasCacheDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura de tarjetas por ID y por número de tarjeta.
+ * Las tarjetas se guardan una sola vez (por ID); el número de tarjeta es un índice hacia el ID.
+ * Acotada por tamaño y con expiración por tiempo desde la última escritura.
+ * Una tarjeta cargada de la base de datos no se guarda si hubo una invalidación o una escritura
+ * ({@link #guardar}) durante la carga: la lectura pudo ser anterior a ese cambio.
+ */
+@Component
+public class TarjetaDebitoCache {
+
+    private final Cache<Long, TarjetaDebitoDTO> tarjetasPorId;
+
+    private final Cache<String, Long> idsPorNumero;
+
+    private final LongAdder aciertos = new LongAdder();
+
+    private final LongAdder fallos = new LongAdder();
+
+    private final AtomicLong modificaciones = new AtomicLong();
+
+    public TarjetaDebitoCache(@Value("${tarjetas.cache.tamanio-maximo:10000}") long tamanioMaximo,
+                              @Value("${tarjetas.cache.ttl-segundos:300}") long ttlSegundos) {
+        Duration ttl = Duration.ofSeconds(ttlSegundos);
+        this.idsPorNumero = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(ttl)
+                .build();
+        this.tarjetasPorId = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .removalListener((Long id, TarjetaDebitoDTO tarjeta, RemovalCause causa) -> {
+                    if (causa != RemovalCause.REPLACED && tarjeta != null && tarjeta.getNumeroTarjeta() != null) {
+                        idsPorNumero.asMap().remove(tarjeta.getNumeroTarjeta(), id);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Obtener una tarjeta por ID; si no está en caché se carga con {@code cargador} y se guarda
+     */
+    public Optional<TarjetaDebitoDTO> obtenerPorId(Long id, Function<Long, Optional<TarjetaDebitoDTO>> cargador) {
+        TarjetaDebitoDTO tarjeta = tarjetasPorId.getIfPresent(id);
+        if (tarjeta != null) {
+            aciertos.increment();
+            return Optional.of(tarjeta);
+        }
+        fallos.increment();
+        long version = modificaciones.get();
+        Optional<TarjetaDebitoDTO> cargada = cargador.apply(id);
+        cargada.ifPresent(t -> guardarCargada(t, version));
+        return cargada;
+    }
+
+    /**
+     * Obtener una tarjeta por número; si no está en caché se carga con {@code cargador} y se guarda
+     */
+    public Optional<TarjetaDebitoDTO> obtenerPorNumero(String numeroTarjeta,
+                                                       Function<String, Optional<TarjetaDebitoDTO>> cargador) {
+        Long id = idsPorNumero.getIfPresent(numeroTarjeta);
+        if (id != null) {
+            TarjetaDebitoDTO tarjeta = tarjetasPorId.getIfPresent(id);
+            if (tarjeta != null && numeroTarjeta.equals(tarjeta.getNumeroTarjeta())) {
+                aciertos.increment();
+                return Optional.of(tarjeta);
+            }
+        }
+        fallos.increment();
+        long version = modificaciones.get();
+        Optional<TarjetaDebitoDTO> cargada = cargador.apply(numeroTarjeta);
+        cargada.ifPresent(t -> guardarCargada(t, version));
+        return cargada;
+    }
+
+    /**
+     * Guardar o reemplazar una tarjeta en la caché con su versión recién escrita
+     */
+    public void guardar(TarjetaDebitoDTO tarjeta) {
+        if (tarjeta == null || tarjeta.getId() == null) {
+            return;
+        }
+        modificaciones.incrementAndGet();
+        poner(tarjeta);
+    }
+
+    private void poner(TarjetaDebitoDTO tarjeta) {
+        tarjetasPorId.put(tarjeta.getId(), tarjeta);
+        if (tarjeta.getNumeroTarjeta() != null) {
+            idsPorNumero.put(tarjeta.getNumeroTarjeta(), tarjeta.getId());
+        }
+    }
+
+    // Se guarda y después se compara la versión: si una invalidación o escritura se cuenta antes de la
+    // comparación la tarjeta se retira aquí, y si se cuenta después la reemplaza o retira ella misma
+    private void guardarCargada(TarjetaDebitoDTO tarjeta, long version) {
+        if (tarjeta.getId() == null) {
+            return;
+        }
+        poner(tarjeta);
+        if (modificaciones.get() != version) {
+            tarjetasPorId.asMap().remove(tarjeta.getId(), tarjeta);
+        }
+    }
+
+    /**
+     * Obtener la tarjeta en caché sin cargarla ni alterar las estadísticas
+     */
+    public Optional<TarjetaDebitoDTO> consultar(Long id) {
+        return Optional.ofNullable(tarjetasPorId.asMap().get(id));
+    }
+
+    /**
+     * Invalidar una tarjeta por ID
+     */
+    public void invalidar(Long id) {
+        modificaciones.incrementAndGet();
+        tarjetasPorId.invalidate(id);
+    }
+
+    /**
+     * Invalidar todas las tarjetas (actualizaciones masivas)
+     */
+    public void invalidarTodo() {
+        modificaciones.incrementAndGet();
+        tarjetasPorId.invalidateAll();
+        idsPorNumero.invalidateAll();
+    }
+
+    /**
+     * Obtener los contadores de aciertos, fallos y desalojos
+     */
+    public EstadisticasCacheDTO obtenerEstadisticas() {
+        return new EstadisticasCacheDTO(
+                aciertos.sum(),
+                fallos.sum(),
+                tarjetasPorId.stats().evictionCount(),
+                tarjetasPorId.estimatedSize());
+    }
+}
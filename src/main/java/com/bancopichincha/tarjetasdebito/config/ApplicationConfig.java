@@ -1,6 +1,6 @@
 package com.bancopichincha.tarjetasdebito.config;
 
-import org.modelmapper.ModelMapper;
+import com.bancopichincha.tarjetasdebito.util.TarjetaDebitoMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,7 +8,7 @@ import org.springframework.context.annotation.Configuration;
 public class ApplicationConfig {
 
     @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
+    public TarjetaDebitoMapper tarjetaDebitoMapper() {
+        return new TarjetaDebitoMapper();
     }
 }
@@ -7,6 +7,7 @@ import com.bancopichincha.tarjetasdebito.repository.TarjetaDebitoRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -15,6 +16,10 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Carga tarjetas de prueba al iniciar, solo si {@code tarjetas.datos-prueba.habilitado} y la tabla está vacía
+ * (con una base persistente, un reinicio no vuelve a cargarlas).
+ */
 @Component
 public class DataInitializer implements CommandLineRunner {
 
@@ -23,8 +28,15 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private TarjetaDebitoRepository tarjetaDebitoRepository;
 
+    @Value("${tarjetas.datos-prueba.habilitado:true}")
+    private boolean habilitado;
+
     @Override
     public void run(String... args) throws Exception {
+        if (!habilitado) {
+            logger.info("Carga de datos de prueba deshabilitada");
+            return;
+        }
         if (tarjetaDebitoRepository.count() == 0) {
             logger.info("Inicializando datos de prueba...");
             initializeSampleData();
@@ -0,0 +1,42 @@
+package com.bancopichincha.tarjetasdebito.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Perfil "virtual": Tomcat, las tareas asíncronas y las programadas se ejecutan en hilos virtuales
+ * ({@code spring.threads.virtual.enabled}, ver application-virtual.properties) y el DataSource se envuelve
+ * en {@link LimiteConexionesDataSource} para que la concurrencia hacia la base de datos no supere el pool.
+ */
+@Configuration
+@Profile("virtual")
+public class HilosVirtualesConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(HilosVirtualesConfig.class);
+
+    // static: los BeanPostProcessor se crean antes que el resto de beans de la configuración
+    @Bean
+    public static BeanPostProcessor limiteConexionesPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof LimiteConexionesDataSource) {
+                    return bean;
+                }
+                int maximoConexiones = environment.getProperty("tarjetas.virtual.maximo-conexiones", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long esperaMaximaMs = environment.getProperty("tarjetas.virtual.espera-conexion-ms", Long.class, 5000L);
+                logger.info("DataSource {} limitado a {} conexiones concurrentes (espera máxima {} ms)",
+                        beanName, maximoConexiones, esperaMaximaMs);
+                return new LimiteConexionesDataSource(dataSource, maximoConexiones, esperaMaximaMs);
+            }
+        };
+    }
+}
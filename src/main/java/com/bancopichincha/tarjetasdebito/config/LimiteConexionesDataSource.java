@@ -0,0 +1,102 @@
+package com.bancopichincha.tarjetasdebito.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita con un semáforo las conexiones en uso al mismo tiempo.
+ * Con hilos virtuales no hay un pool de hilos que acote la concurrencia: sin este límite, miles de solicitudes
+ * esperarían a la vez dentro del pool de conexiones. El permiso se toma al pedir la conexión y se devuelve al cerrarla;
+ * si no hay permiso en el tiempo indicado se falla con {@link SQLTransientConnectionException}.
+ */
+public class LimiteConexionesDataSource extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+
+    private final long esperaMaximaMs;
+
+    public LimiteConexionesDataSource(DataSource dataSource, int maximoConexiones, long esperaMaximaMs) {
+        super(dataSource);
+        this.permisos = new Semaphore(maximoConexiones, true);
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirirPermiso();
+        try {
+            return liberarAlCerrar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirirPermiso();
+        try {
+            return liberarAlCerrar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Permisos disponibles en este momento
+     */
+    public int getPermisosDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    private void adquirirPermiso() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No hay conexiones disponibles tras esperar " + esperaMaximaMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido mientras esperaba una conexión", e);
+        }
+    }
+
+    // El permiso se devuelve una sola vez aunque close() se invoque varias veces
+    private Connection liberarAlCerrar(Connection conexion) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if ("close".equals(metodo.getName())) {
+                        try {
+                            conexion.close();
+                        } finally {
+                            if (liberada.compareAndSet(false, true)) {
+                                permisos.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("isClosed".equals(metodo.getName()) && liberada.get()) {
+                        return true;
+                    }
+                    if ("unwrap".equals(metodo.getName()) && ((Class<?>) argumentos[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,19 @@
+package com.bancopichincha.tarjetasdebito.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita {@code @Timed} en los beans de la aplicación (el servicio de tarjetas se mide por método).
+ * Las métricas HTTP, de repositorio, Hikari, Hibernate y JVM las registra Spring Boot Actuator.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -1,11 +1,25 @@
 package com.bancopichincha.tarjetasdebito.controller;
 
+import com.bancopichincha.tarjetasdebito.logging.MarcadoresLog;
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasCacheDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.LimiteDiarioDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.PaginaTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoAutorizacionDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoCambioEstadoMasivoDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoEmisionMasivaDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudAutorizacionDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudCambioEstadoMasivoDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoCreateDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoUpdateDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ValidezTarjetaDTO;
 import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
 import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
 import com.bancopichincha.tarjetasdebito.service.TarjetaDebitoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,9 +32,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +54,9 @@ public class TarjetaDebitoController {
     @Autowired
     private TarjetaDebitoService tarjetaDebitoService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Crear una nueva tarjeta de débito", description = "Crea una nueva tarjeta de débito con los datos proporcionados")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Tarjeta creada exitosamente",
@@ -51,16 +73,76 @@ public class TarjetaDebitoController {
         return new ResponseEntity<>(tarjetaCreada, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Obtener todas las tarjetas de débito", description = "Retorna una lista de todas las tarjetas de débito")
+    @Operation(summary = "Emisión masiva de tarjetas de débito", description = "Crea varias tarjetas en una sola solicitud; " +
+            "cada elemento se valida por separado y la respuesta incluye el resultado de cada uno en el orden recibido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Emisión procesada, ver el resultado de cada tarjeta",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoEmisionMasivaDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lista vacía o con más tarjetas de las permitidas")
+    })
+    @PostMapping("/masivo")
+    public ResponseEntity<ResultadoEmisionMasivaDTO> crearTarjetasMasivo(
+            @RequestBody List<TarjetaDebitoCreateDTO> tarjetasCreateDTO) {
+        logger.info("Solicitud de emisión masiva de {} tarjetas", tarjetasCreateDTO.size());
+        
+        ResultadoEmisionMasivaDTO resultado = tarjetaDebitoService.crearTarjetasMasivo(tarjetasCreateDTO);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(summary = "Autorizar un débito", description = "Valida estado, vencimiento, saldo y límite diario " +
+            "de la tarjeta y, si se aprueba, descuenta el monto del saldo. Un rechazo se informa en el código de la respuesta")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Autorización procesada, aprobada o rechazada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoAutorizacionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos")
+    })
+    @PostMapping("/autorizaciones")
+    public ResponseEntity<ResultadoAutorizacionDTO> autorizarDebito(
+            @Valid @RequestBody SolicitudAutorizacionDTO solicitud) {
+        // Sin log por solicitud: es la operación de mayor volumen; el servicio registra el resultado en DEBUG
+        return ResponseEntity.ok(tarjetaDebitoService.autorizarDebito(solicitud));
+    }
+
+    @Operation(summary = "Consultar el límite diario", description = "Retorna el límite diario de la tarjeta, " +
+            "lo consumido hoy (zona America/Guayaquil) y lo que queda disponible")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Límite diario obtenido exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Tarjeta no encontrada")
+    })
+    @GetMapping("/{id}/limite-diario")
+    public ResponseEntity<LimiteDiarioDTO> consultarLimiteDiario(
+            @Parameter(description = "ID de la tarjeta") @PathVariable Long id) {
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para consultar el límite diario de la tarjeta con ID: {}", id);
+
+        return ResponseEntity.ok(tarjetaDebitoService.consultarLimiteDiario(id));
+    }
+
+    @Operation(summary = "Obtener todas las tarjetas de débito", deprecated = true,
+            description = "Retorna una lista de las tarjetas de débito, limitada a tarjetas.paginacion.limite-listados. Usar /pagina")
     @ApiResponse(responseCode = "200", description = "Lista de tarjetas obtenida exitosamente")
     @GetMapping
     public ResponseEntity<List<TarjetaDebitoDTO>> obtenerTodasLasTarjetas() {
-        logger.info("Solicitud para obtener todas las tarjetas");
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener todas las tarjetas");
         
         List<TarjetaDebitoDTO> tarjetas = tarjetaDebitoService.obtenerTodasLasTarjetas();
         return ResponseEntity.ok(tarjetas);
     }
 
+    @Operation(summary = "Obtener una página de tarjetas de débito", description = "Retorna las tarjetas ordenadas por ID usando paginación por cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de tarjetas obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido")
+    })
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaTarjetasDTO> obtenerPaginaTarjetas(
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer tamanio) {
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener página de tarjetas");
+        
+        PaginaTarjetasDTO pagina = tarjetaDebitoService.obtenerPaginaTarjetas(cursor, tamanio);
+        return ResponseEntity.ok(pagina);
+    }
+
     @Operation(summary = "Obtener tarjeta por ID", description = "Retorna una tarjeta específica por su ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarjeta encontrada"),
@@ -69,7 +151,7 @@ public class TarjetaDebitoController {
     @GetMapping("/{id}")
     public ResponseEntity<TarjetaDebitoDTO> obtenerTarjetaPorId(
             @Parameter(description = "ID de la tarjeta") @PathVariable Long id) {
-        logger.info("Solicitud para obtener tarjeta con ID: {}", id);
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener tarjeta con ID: {}", id);
         
         Optional<TarjetaDebitoDTO> tarjeta = tarjetaDebitoService.obtenerTarjetaPorId(id);
         return tarjeta.map(ResponseEntity::ok)
@@ -84,57 +166,122 @@ public class TarjetaDebitoController {
     @GetMapping("/numero/{numeroTarjeta}")
     public ResponseEntity<TarjetaDebitoDTO> obtenerTarjetaPorNumero(
             @Parameter(description = "Número de la tarjeta") @PathVariable String numeroTarjeta) {
-        logger.info("Solicitud para obtener tarjeta con número: {}", numeroTarjeta);
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener tarjeta con número: {}", numeroTarjeta);
         
         Optional<TarjetaDebitoDTO> tarjeta = tarjetaDebitoService.obtenerTarjetaPorNumero(numeroTarjeta);
         return tarjeta.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Consultar la validez de una tarjeta", description = "Retorna estado, tipo, fecha de expiración " +
+            "y si la tarjeta puede usarse, desde un índice en memoria y sin cargar la tarjeta completa")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Validez de la tarjeta"),
+            @ApiResponse(responseCode = "404", description = "Tarjeta no encontrada")
+    })
+    @GetMapping("/numero/{numeroTarjeta}/estado")
+    public ResponseEntity<ValidezTarjetaDTO> consultarValidez(
+            @Parameter(description = "Número de la tarjeta") @PathVariable String numeroTarjeta) {
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para consultar la validez de la tarjeta con número: {}", numeroTarjeta);
+
+        return ResponseEntity.ok(tarjetaDebitoService.consultarValidez(numeroTarjeta));
+    }
+
     @Operation(summary = "Obtener tarjetas por cédula", description = "Retorna todas las tarjetas de un titular específico")
     @ApiResponse(responseCode = "200", description = "Lista de tarjetas obtenida exitosamente")
     @GetMapping("/cedula/{cedula}")
     public ResponseEntity<List<TarjetaDebitoDTO>> obtenerTarjetasPorCedula(
             @Parameter(description = "Cédula del titular") @PathVariable String cedula) {
-        logger.info("Solicitud para obtener tarjetas con cédula: {}", cedula);
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener tarjetas con cédula: {}", cedula);
         
         List<TarjetaDebitoDTO> tarjetas = tarjetaDebitoService.obtenerTarjetasPorCedula(cedula);
         return ResponseEntity.ok(tarjetas);
     }
 
-    @Operation(summary = "Obtener tarjetas por estado", description = "Retorna todas las tarjetas con un estado específico")
+    @Operation(summary = "Obtener tarjetas por estado", deprecated = true,
+            description = "Retorna las tarjetas con un estado específico, limitadas a tarjetas.paginacion.limite-listados. Usar /estado/{estado}/pagina")
     @ApiResponse(responseCode = "200", description = "Lista de tarjetas obtenida exitosamente")
     @GetMapping("/estado/{estado}")
     public ResponseEntity<List<TarjetaDebitoDTO>> obtenerTarjetasPorEstado(
             @Parameter(description = "Estado de las tarjetas") @PathVariable EstadoTarjeta estado) {
-        logger.info("Solicitud para obtener tarjetas con estado: {}", estado);
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener tarjetas con estado: {}", estado);
         
         List<TarjetaDebitoDTO> tarjetas = tarjetaDebitoService.obtenerTarjetasPorEstado(estado);
         return ResponseEntity.ok(tarjetas);
     }
 
-    @Operation(summary = "Obtener tarjetas por tipo", description = "Retorna todas las tarjetas de un tipo específico")
+    @Operation(summary = "Obtener una página de tarjetas por estado", description = "Retorna las tarjetas con un estado específico usando paginación por cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de tarjetas obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido")
+    })
+    @GetMapping("/estado/{estado}/pagina")
+    public ResponseEntity<PaginaTarjetasDTO> obtenerPaginaTarjetasPorEstado(
+            @Parameter(description = "Estado de las tarjetas") @PathVariable EstadoTarjeta estado,
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer tamanio) {
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener página de tarjetas con estado: {}", estado);
+        
+        PaginaTarjetasDTO pagina = tarjetaDebitoService.obtenerPaginaTarjetasPorEstado(estado, cursor, tamanio);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @Operation(summary = "Obtener tarjetas por tipo", deprecated = true,
+            description = "Retorna las tarjetas de un tipo específico, limitadas a tarjetas.paginacion.limite-listados. Usar /tipo/{tipo}/pagina")
     @ApiResponse(responseCode = "200", description = "Lista de tarjetas obtenida exitosamente")
     @GetMapping("/tipo/{tipo}")
     public ResponseEntity<List<TarjetaDebitoDTO>> obtenerTarjetasPorTipo(
             @Parameter(description = "Tipo de tarjeta") @PathVariable TipoTarjeta tipo) {
-        logger.info("Solicitud para obtener tarjetas de tipo: {}", tipo);
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener tarjetas de tipo: {}", tipo);
         
         List<TarjetaDebitoDTO> tarjetas = tarjetaDebitoService.obtenerTarjetasPorTipo(tipo);
         return ResponseEntity.ok(tarjetas);
     }
 
-    @Operation(summary = "Buscar tarjetas por nombre", description = "Busca tarjetas por nombre del titular")
+    @Operation(summary = "Obtener una página de tarjetas por tipo", description = "Retorna las tarjetas de un tipo específico usando paginación por cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de tarjetas obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido")
+    })
+    @GetMapping("/tipo/{tipo}/pagina")
+    public ResponseEntity<PaginaTarjetasDTO> obtenerPaginaTarjetasPorTipo(
+            @Parameter(description = "Tipo de tarjeta") @PathVariable TipoTarjeta tipo,
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer tamanio) {
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener página de tarjetas de tipo: {}", tipo);
+        
+        PaginaTarjetasDTO pagina = tarjetaDebitoService.obtenerPaginaTarjetasPorTipo(tipo, cursor, tamanio);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @Operation(summary = "Buscar tarjetas por nombre", deprecated = true,
+            description = "Busca tarjetas por nombre del titular, limitadas a tarjetas.paginacion.limite-listados. Usar /buscar/pagina")
     @ApiResponse(responseCode = "200", description = "Lista de tarjetas obtenida exitosamente")
     @GetMapping("/buscar")
     public ResponseEntity<List<TarjetaDebitoDTO>> buscarTarjetasPorNombre(
             @Parameter(description = "Nombre del titular") @RequestParam String nombre) {
-        logger.info("Solicitud para buscar tarjetas con nombre: {}", nombre);
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para buscar tarjetas con nombre: {}", nombre);
         
         List<TarjetaDebitoDTO> tarjetas = tarjetaDebitoService.buscarTarjetasPorNombre(nombre);
         return ResponseEntity.ok(tarjetas);
     }
 
+    @Operation(summary = "Buscar una página de tarjetas por nombre", description = "Busca tarjetas por nombre del titular usando paginación por cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de tarjetas obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido")
+    })
+    @GetMapping("/buscar/pagina")
+    public ResponseEntity<PaginaTarjetasDTO> buscarPaginaTarjetasPorNombre(
+            @Parameter(description = "Nombre del titular") @RequestParam String nombre,
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer tamanio) {
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para buscar página de tarjetas con nombre: {}", nombre);
+        
+        PaginaTarjetasDTO pagina = tarjetaDebitoService.buscarPaginaTarjetasPorNombre(nombre, cursor, tamanio);
+        return ResponseEntity.ok(pagina);
+    }
+
     @Operation(summary = "Actualizar una tarjeta", description = "Actualiza los datos de una tarjeta existente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarjeta actualizada exitosamente"),
@@ -197,6 +344,22 @@ public class TarjetaDebitoController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Cambio de estado masivo", description = "Bloquea, desbloquea o cancela varias tarjetas, " +
+            "indicadas por ID o por número; la respuesta incluye el resultado de cada una en el orden recibido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cambio procesado, ver el resultado de cada tarjeta",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoCambioEstadoMasivoDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Estado no admitido, sin tarjetas o con más de las permitidas")
+    })
+    @PutMapping("/masivo/estado")
+    public ResponseEntity<ResultadoCambioEstadoMasivoDTO> cambiarEstadoMasivo(
+            @Valid @RequestBody SolicitudCambioEstadoMasivoDTO solicitud) {
+        logger.info("Solicitud de cambio de estado masivo: {}", solicitud);
+
+        ResultadoCambioEstadoMasivoDTO resultado = tarjetaDebitoService.cambiarEstadoMasivo(solicitud);
+        return ResponseEntity.ok(resultado);
+    }
+
     @Operation(summary = "Eliminar una tarjeta", description = "Elimina una tarjeta específica del sistema")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Tarjeta eliminada exitosamente"),
@@ -216,7 +379,7 @@ public class TarjetaDebitoController {
     @GetMapping("/activas/cedula/{cedula}")
     public ResponseEntity<List<TarjetaDebitoDTO>> obtenerTarjetasActivasPorCedula(
             @Parameter(description = "Cédula del titular") @PathVariable String cedula) {
-        logger.info("Solicitud para obtener tarjetas activas con cédula: {}", cedula);
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener tarjetas activas con cédula: {}", cedula);
         
         List<TarjetaDebitoDTO> tarjetas = tarjetaDebitoService.obtenerTarjetasActivasPorCedula(cedula);
         return ResponseEntity.ok(tarjetas);
@@ -226,7 +389,7 @@ public class TarjetaDebitoController {
     @ApiResponse(responseCode = "200", description = "Lista de tarjetas próximas a vencer obtenida exitosamente")
     @GetMapping("/proximas-vencer")
     public ResponseEntity<List<TarjetaDebitoDTO>> obtenerTarjetasProximasAVencer() {
-        logger.info("Solicitud para obtener tarjetas próximas a vencer");
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener tarjetas próximas a vencer");
         
         List<TarjetaDebitoDTO> tarjetas = tarjetaDebitoService.obtenerTarjetasProximasAVencer();
         return ResponseEntity.ok(tarjetas);
@@ -237,19 +400,67 @@ public class TarjetaDebitoController {
     @GetMapping("/contar/estado/{estado}")
     public ResponseEntity<Long> contarTarjetasPorEstado(
             @Parameter(description = "Estado de las tarjetas") @PathVariable EstadoTarjeta estado) {
-        logger.info("Solicitud para contar tarjetas con estado: {}", estado);
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para contar tarjetas con estado: {}", estado);
         
         Long cantidad = tarjetaDebitoService.contarTarjetasPorEstado(estado);
         return ResponseEntity.ok(cantidad);
     }
 
+    @Operation(summary = "Estadísticas de tarjetas", description = "Retorna la cantidad de tarjetas por estado y tipo, " +
+            "con los totales por estado, por tipo y general")
+    @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente")
+    @GetMapping("/estadisticas")
+    public ResponseEntity<EstadisticasTarjetasDTO> obtenerEstadisticasTarjetas() {
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener estadísticas de tarjetas");
+        
+        EstadisticasTarjetasDTO estadisticas = tarjetaDebitoService.obtenerEstadisticasTarjetas();
+        return ResponseEntity.ok(estadisticas);
+    }
+
+    @Operation(summary = "Estadísticas de la caché", description = "Retorna aciertos, fallos y desalojos de la caché de tarjetas")
+    @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente")
+    @GetMapping("/cache/estadisticas")
+    public ResponseEntity<EstadisticasCacheDTO> obtenerEstadisticasCache() {
+        logger.info(MarcadoresLog.LECTURA, "Solicitud para obtener estadísticas de la caché");
+        
+        return ResponseEntity.ok(tarjetaDebitoService.obtenerEstadisticasCache());
+    }
+
     @Operation(summary = "Actualizar tarjetas vencidas", description = "Actualiza el estado de las tarjetas vencidas")
     @ApiResponse(responseCode = "200", description = "Tarjetas vencidas actualizadas exitosamente")
     @PutMapping("/actualizar-vencidas")
     public ResponseEntity<String> actualizarTarjetasVencidas() {
         logger.info("Solicitud para actualizar tarjetas vencidas");
         
-        tarjetaDebitoService.actualizarTarjetasVencidas();
-        return ResponseEntity.ok("Tarjetas vencidas actualizadas exitosamente");
+        int actualizadas = tarjetaDebitoService.actualizarTarjetasVencidas();
+        return ResponseEntity.ok("Tarjetas vencidas actualizadas exitosamente: " + actualizadas);
+    }
+
+    @Operation(summary = "Exportar tarjetas", description = "Exporta las tarjetas como JSON delimitado por saltos de línea (NDJSON), " +
+            "filtrando opcionalmente por estado y tipo. La respuesta se transmite a medida que se leen los registros")
+    @ApiResponse(responseCode = "200", description = "Exportación generada exitosamente")
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarTarjetas(
+            @Parameter(description = "Estado de las tarjetas") @RequestParam(required = false) EstadoTarjeta estado,
+            @Parameter(description = "Tipo de tarjeta") @RequestParam(required = false) TipoTarjeta tipo) {
+        logger.info("Solicitud para exportar tarjetas con estado: {} y tipo: {}", estado, tipo);
+
+        ObjectWriter escritor = objectMapper.writerFor(TarjetaDebitoDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody cuerpo = salida -> {
+            BufferedOutputStream salidaBuffer = new BufferedOutputStream(salida);
+            tarjetaDebitoService.exportarTarjetas(estado, tipo, tarjeta -> {
+                try {
+                    escritor.writeValue(salidaBuffer, tarjeta);
+                    salidaBuffer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            salidaBuffer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
     }
 }
@@ -0,0 +1,145 @@
+package com.bancopichincha.tarjetasdebito.estadisticas;
+
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores en memoria de tarjetas por estado y tipo.
+ * El servicio los actualiza después de cada cambio confirmado y se reconcilian periódicamente con
+ * un conteo agrupado de la base de datos, que corrige los cambios hechos fuera del servicio.
+ */
+@Component
+public class ContadoresTarjetas {
+
+    private static final EstadoTarjeta[] ESTADOS = EstadoTarjeta.values();
+
+    private static final TipoTarjeta[] TIPOS = TipoTarjeta.values();
+
+    private final LongAdder[][] contadores = new LongAdder[ESTADOS.length][TIPOS.length];
+
+    private volatile boolean inicializado;
+
+    private final AtomicBoolean desactualizados = new AtomicBoolean();
+
+    private volatile LocalDateTime ultimaReconciliacion;
+
+    public ContadoresTarjetas() {
+        for (int i = 0; i < ESTADOS.length; i++) {
+            for (int j = 0; j < TIPOS.length; j++) {
+                contadores[i][j] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Registrar una tarjeta nueva
+     */
+    public void incrementar(EstadoTarjeta estado, TipoTarjeta tipo) {
+        if (estado != null && tipo != null) {
+            contadores[estado.ordinal()][tipo.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Registrar una tarjeta eliminada
+     */
+    public void decrementar(EstadoTarjeta estado, TipoTarjeta tipo) {
+        if (estado != null && tipo != null) {
+            contadores[estado.ordinal()][tipo.ordinal()].decrement();
+        }
+    }
+
+    /**
+     * Registrar un cambio de estado
+     */
+    public void mover(TipoTarjeta tipo, EstadoTarjeta estadoAnterior, EstadoTarjeta estadoNuevo) {
+        if (estadoAnterior != estadoNuevo) {
+            decrementar(estadoAnterior, tipo);
+            incrementar(estadoNuevo, tipo);
+        }
+    }
+
+    /**
+     * Ajustar los contadores al conteo agrupado de la base de datos (filas estado, tipo, cantidad)
+     */
+    public void reconciliar(List<Object[]> conteos) {
+        long[][] reales = new long[ESTADOS.length][TIPOS.length];
+        for (Object[] fila : conteos) {
+            reales[((EstadoTarjeta) fila[0]).ordinal()][((TipoTarjeta) fila[1]).ordinal()] = ((Number) fila[2]).longValue();
+        }
+        // Se suma la diferencia en lugar de reiniciar para no perder incrementos concurrentes
+        for (int i = 0; i < ESTADOS.length; i++) {
+            for (int j = 0; j < TIPOS.length; j++) {
+                contadores[i][j].add(reales[i][j] - contadores[i][j].sum());
+            }
+        }
+        ultimaReconciliacion = LocalDateTime.now();
+        inicializado = true;
+    }
+
+    /**
+     * Indica si los contadores ya se cargaron desde la base de datos
+     */
+    public boolean isInicializado() {
+        return inicializado;
+    }
+
+    /**
+     * Registrar un cambio de estado cuyo estado anterior no se conoce; la próxima consulta debe reconciliar
+     */
+    public void marcarDesactualizados() {
+        desactualizados.set(true);
+    }
+
+    /**
+     * Indica si hay que reconciliar antes de responder: sin carga inicial o con cambios sin registrar.
+     * Consume la marca, de modo que un cambio posterior vuelve a marcarlos.
+     */
+    public boolean requiereReconciliacion() {
+        return !inicializado | desactualizados.getAndSet(false);
+    }
+
+    /**
+     * Cantidad de tarjetas en un estado
+     */
+    public long contar(EstadoTarjeta estado) {
+        long total = 0;
+        for (LongAdder contador : contadores[estado.ordinal()]) {
+            total += contador.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Obtener la matriz estado x tipo con sus totales
+     */
+    public EstadisticasTarjetasDTO obtenerEstadisticas() {
+        Map<EstadoTarjeta, Map<TipoTarjeta, Long>> porEstadoYTipo = new EnumMap<>(EstadoTarjeta.class);
+        Map<EstadoTarjeta, Long> porEstado = new EnumMap<>(EstadoTarjeta.class);
+        Map<TipoTarjeta, Long> porTipo = new EnumMap<>(TipoTarjeta.class);
+        long total = 0;
+        for (EstadoTarjeta estado : ESTADOS) {
+            Map<TipoTarjeta, Long> fila = new EnumMap<>(TipoTarjeta.class);
+            long totalEstado = 0;
+            for (TipoTarjeta tipo : TIPOS) {
+                long cantidad = contadores[estado.ordinal()][tipo.ordinal()].sum();
+                fila.put(tipo, cantidad);
+                porTipo.merge(tipo, cantidad, Long::sum);
+                totalEstado += cantidad;
+            }
+            porEstadoYTipo.put(estado, fila);
+            porEstado.put(estado, totalEstado);
+            total += totalEstado;
+        }
+        return new EstadisticasTarjetasDTO(porEstadoYTipo, porEstado, porTipo, total, ultimaReconciliacion);
+    }
+}
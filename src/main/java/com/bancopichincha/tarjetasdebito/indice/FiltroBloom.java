@@ -0,0 +1,133 @@
+package com.bancopichincha.tarjetasdebito.indice;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom con contadores de 4 bits (16 por {@code long}), que admite quitar elementos.
+ * {@link #puedeContener(String)} no tiene falsos negativos: si retorna false el valor no fue agregado (o ya se
+ * quitó tantas veces como se agregó). Un contador que llega a 15 queda saturado y no se decrementa más, para
+ * no generar falsos negativos por desborde.
+ * <p>
+ * Seguro para varios hilos: cada contador se actualiza con compare-and-set, sin bloqueos.
+ */
+public class FiltroBloom {
+
+    private static final int BITS_CONTADOR = 4;
+
+    private static final long SATURADO = 0xFL;
+
+    private static final long SEMILLA = 0xCBF29CE484222325L;
+
+    private static final long PRIMO_FNV = 0x100000001B3L;
+
+    private final AtomicLongArray contadores;
+
+    private final long cantidadContadores;
+
+    private final int funciones;
+
+    /**
+     * Dimensionar para {@code capacidadEsperada} elementos con la tasa de falsos positivos indicada; con más
+     * elementos el filtro sigue siendo correcto pero la tasa aumenta
+     */
+    public FiltroBloom(long capacidadEsperada, double tasaFalsosPositivos) {
+        if (capacidadEsperada <= 0 || tasaFalsosPositivos <= 0 || tasaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos fuera de rango");
+        }
+        double ln2 = Math.log(2);
+        long optimo = (long) Math.ceil(-capacidadEsperada * Math.log(tasaFalsosPositivos) / (ln2 * ln2));
+        this.cantidadContadores = Math.max(Long.SIZE, Math.min(optimo, (long) Integer.MAX_VALUE * 16));
+        this.funciones = Math.max(1, (int) Math.round((double) cantidadContadores / capacidadEsperada * ln2));
+        this.contadores = new AtomicLongArray((int) ((cantidadContadores + 15) / 16));
+    }
+
+    public void agregar(String valor) {
+        long hash = hash(valor);
+        long paso = mezclar(hash + SEMILLA) | 1L;
+        for (int i = 0; i < funciones; i++) {
+            incrementar(Long.remainderUnsigned(hash + i * paso, cantidadContadores));
+        }
+    }
+
+    /**
+     * Quitar un valor agregado antes; quitar uno que no se agregó puede producir falsos negativos
+     */
+    public void quitar(String valor) {
+        long hash = hash(valor);
+        long paso = mezclar(hash + SEMILLA) | 1L;
+        for (int i = 0; i < funciones; i++) {
+            decrementar(Long.remainderUnsigned(hash + i * paso, cantidadContadores));
+        }
+    }
+
+    public boolean puedeContener(String valor) {
+        long hash = hash(valor);
+        long paso = mezclar(hash + SEMILLA) | 1L;
+        for (int i = 0; i < funciones; i++) {
+            if (valor(Long.remainderUnsigned(hash + i * paso, cantidadContadores)) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getFunciones() {
+        return funciones;
+    }
+
+    public long bytesReservados() {
+        return (long) contadores.length() * Long.BYTES;
+    }
+
+    private long valor(long contador) {
+        return (contadores.get((int) (contador >>> 4)) >>> desplazamiento(contador)) & SATURADO;
+    }
+
+    private void incrementar(long contador) {
+        int indice = (int) (contador >>> 4);
+        int desplazamiento = desplazamiento(contador);
+        while (true) {
+            long actual = contadores.get(indice);
+            if (((actual >>> desplazamiento) & SATURADO) == SATURADO
+                    || contadores.compareAndSet(indice, actual, actual + (1L << desplazamiento))) {
+                return;
+            }
+        }
+    }
+
+    private void decrementar(long contador) {
+        int indice = (int) (contador >>> 4);
+        int desplazamiento = desplazamiento(contador);
+        while (true) {
+            long actual = contadores.get(indice);
+            long valor = (actual >>> desplazamiento) & SATURADO;
+            if (valor == 0L || valor == SATURADO
+                    || contadores.compareAndSet(indice, actual, actual - (1L << desplazamiento))) {
+                return;
+            }
+        }
+    }
+
+    private static int desplazamiento(long contador) {
+        return (int) (contador & 15) * BITS_CONTADOR;
+    }
+
+    // FNV-1a de 64 bits sobre los caracteres, sin copiar la cadena, con mezcla final
+    private static long hash(String valor) {
+        long hash = SEMILLA;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= PRIMO_FNV;
+        }
+        return mezclar(hash);
+    }
+
+    private static long mezclar(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,110 @@
+package com.bancopichincha.tarjetasdebito.indice;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Filtros de Bloom sobre los números de tarjeta y las cédulas registrados, para responder "no existe" sin
+ * consultar la base de datos; un "puede existir" debe confirmarse en la base de datos.
+ * <p>
+ * Para no tener falsos negativos los valores se agregan antes de insertar la tarjeta (un INSERT fallido solo
+ * deja un falso positivo) y se quitan después de confirmar su eliminación. Una eliminación que empezó antes o
+ * durante la carga inicial no se aplica ({@link #version()}): la tarjeta podría no haberse cargado. Hasta
+ * completar la carga ({@link #isListo()}) toda consulta debe ir a la base de datos.
+ */
+@Component
+public class FiltrosExistencia {
+
+    private final FiltroBloom numeros;
+
+    private final FiltroBloom cedulas;
+
+    // Cambia al iniciar y al finalizar la carga
+    private long version;
+
+    private volatile boolean listo;
+
+    @Autowired
+    public FiltrosExistencia(@Value("${tarjetas.filtros-existencia.capacidad-esperada:1000000}") long capacidadEsperada,
+                             @Value("${tarjetas.filtros-existencia.tasa-falsos-positivos:0.01}") double tasaFalsosPositivos) {
+        this.numeros = new FiltroBloom(capacidadEsperada, tasaFalsosPositivos);
+        this.cedulas = new FiltroBloom(capacidadEsperada, tasaFalsosPositivos);
+    }
+
+    /**
+     * Registrar una tarjeta que se va a insertar (o que ya existe); los valores null se ignoran
+     */
+    public void registrar(String numeroTarjeta, String cedula) {
+        if (numeroTarjeta != null) {
+            numeros.agregar(numeroTarjeta);
+        }
+        if (cedula != null) {
+            cedulas.agregar(cedula);
+        }
+    }
+
+    /**
+     * Versión de los filtros, a tomar antes de eliminar una tarjeta en la base de datos
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Quitar una tarjeta cuya eliminación ya se confirmó; {@code version} es la tomada antes de eliminarla
+     */
+    public synchronized void eliminar(String numeroTarjeta, String cedula, long version) {
+        if (!listo || version != this.version) {
+            return;
+        }
+        if (numeroTarjeta != null) {
+            numeros.quitar(numeroTarjeta);
+        }
+        if (cedula != null) {
+            cedulas.quitar(cedula);
+        }
+    }
+
+    public boolean puedeExistirNumero(String numeroTarjeta) {
+        return numeros.puedeContener(numeroTarjeta);
+    }
+
+    public boolean puedeExistirCedula(String cedula) {
+        return cedulas.puedeContener(cedula);
+    }
+
+    /**
+     * Marcar el inicio de la carga inicial desde la base de datos
+     */
+    public synchronized void iniciarCarga() {
+        version++;
+    }
+
+    /**
+     * Agregar un bloque de filas (id, numeroTarjeta, cedula) de la carga inicial
+     */
+    public void cargar(List<Object[]> filas) {
+        for (Object[] fila : filas) {
+            registrar((String) fila[1], (String) fila[2]);
+        }
+    }
+
+    /**
+     * Marcar la carga inicial como completa; a partir de aquí los filtros atienden las consultas
+     */
+    public synchronized void finalizarCarga() {
+        version++;
+        listo = true;
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    public long bytesReservados() {
+        return numeros.bytesReservados() + cedulas.bytesReservados();
+    }
+}
@@ -0,0 +1,348 @@
+package com.bancopichincha.tarjetasdebito.indice;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Índice fuera del heap de número de tarjeta a estado, tipo y fecha de expiración, para validar una tarjeta
+ * sin consultar la base de datos. El número (16 dígitos) se guarda como {@code long} y cada tarjeta ocupa
+ * una ranura de 16 bytes en un buffer directo con direccionamiento abierto: el GC no ve un objeto por tarjeta
+ * y una consulta no crea ninguno.
+ * <p>
+ * Las escrituras se serializan; las consultas son lecturas optimistas sin bloqueo que se repiten si coinciden
+ * con una escritura. Hasta completar la carga inicial ({@link #isListo()}) las consultas deben resolverse en
+ * la base de datos.
+ */
+@Component
+public class IndiceEstados {
+
+    /**
+     * Resultado de {@link #consultar(long)} para un número que no está en el índice
+     */
+    public static final long AUSENTE = 0L;
+
+    private static final int TAMANIO_RANURA = 16;
+
+    // Un ByteBuffer se indexa con int: a lo sumo 2^26 ranuras de 16 bytes (la mitad ocupadas)
+    private static final int CAPACIDAD_MAXIMA = 1 << 26;
+
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+    // Valor de una ranura: bits 0-7 estado, 8-15 tipo, 16 presencia, 32-63 día de expiración (época)
+    private static final long PRESENTE = 1L << 16;
+
+    // values() crea un arreglo nuevo en cada llamada
+    private static final EstadoTarjeta[] ESTADOS = EstadoTarjeta.values();
+
+    private static final TipoTarjeta[] TIPOS = TipoTarjeta.values();
+
+    private final StampedLock bloqueo = new StampedLock();
+
+    private final Set<Long> eliminadosDuranteCarga = new HashSet<>();
+
+    private volatile Tabla tabla;
+
+    private int tamanio;
+
+    private boolean cargando;
+
+    private volatile boolean listo;
+
+    @Autowired
+    public IndiceEstados(@Value("${tarjetas.indice-estados.capacidad-inicial:1024}") int capacidadInicial) {
+        this.tabla = new Tabla(Integer.highestOneBit(Math.max(2, Math.min(capacidadInicial, CAPACIDAD_MAXIMA))));
+    }
+
+    /**
+     * Número de tarjeta como clave del índice, o -1 si no es un número de 1 a 18 dígitos (distinto de cero)
+     */
+    public static long clave(String numeroTarjeta) {
+        if (numeroTarjeta == null || numeroTarjeta.isEmpty() || numeroTarjeta.length() > 18) {
+            return -1L;
+        }
+        long clave = 0L;
+        for (int i = 0; i < numeroTarjeta.length(); i++) {
+            char digito = numeroTarjeta.charAt(i);
+            if (digito < '0' || digito > '9') {
+                return -1L;
+            }
+            clave = clave * 10 + (digito - '0');
+        }
+        return clave != 0L ? clave : -1L;
+    }
+
+    /**
+     * Indexar o reemplazar el estado de una tarjeta; se ignora si falta el estado, el tipo o la fecha
+     */
+    public void registrar(String numeroTarjeta, EstadoTarjeta estado, TipoTarjeta tipoTarjeta,
+                         LocalDate fechaExpiracion) {
+        long clave = clave(numeroTarjeta);
+        if (clave <= 0L || estado == null || tipoTarjeta == null || fechaExpiracion == null) {
+            return;
+        }
+        long sello = bloqueo.writeLock();
+        try {
+            poner(clave, valor(estado, tipoTarjeta, fechaExpiracion));
+        } finally {
+            bloqueo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Quitar una tarjeta del índice
+     */
+    public void eliminar(String numeroTarjeta) {
+        long clave = clave(numeroTarjeta);
+        if (clave <= 0L) {
+            return;
+        }
+        long sello = bloqueo.writeLock();
+        try {
+            quitar(clave);
+            if (cargando) {
+                eliminadosDuranteCarga.add(clave);
+            }
+        } finally {
+            bloqueo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Valor indexado para la clave (ver {@link #clave(String)}), o {@link #AUSENTE}. Se decodifica con
+     * {@link #estado(long)}, {@link #tipoTarjeta(long)} y {@link #diaExpiracion(long)}.
+     */
+    public long consultar(long clave) {
+        if (clave <= 0L) {
+            return AUSENTE;
+        }
+        long sello = bloqueo.tryOptimisticRead();
+        long valor = buscar(tabla, clave);
+        if (!bloqueo.validate(sello)) {
+            sello = bloqueo.readLock();
+            try {
+                valor = buscar(tabla, clave);
+            } finally {
+                bloqueo.unlockRead(sello);
+            }
+        }
+        return valor;
+    }
+
+    public static EstadoTarjeta estado(long valor) {
+        return ESTADOS[(int) (valor & 0xFF)];
+    }
+
+    public static TipoTarjeta tipoTarjeta(long valor) {
+        return TIPOS[(int) ((valor >>> 8) & 0xFF)];
+    }
+
+    public static long diaExpiracion(long valor) {
+        return valor >> 32;
+    }
+
+    /**
+     * Marcar el inicio de la carga inicial desde la base de datos
+     */
+    public void iniciarCarga() {
+        long sello = bloqueo.writeLock();
+        try {
+            cargando = true;
+            eliminadosDuranteCarga.clear();
+        } finally {
+            bloqueo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Agregar un bloque de filas (id, numeroTarjeta, estado, tipoTarjeta, fechaExpiracion) de la carga inicial.
+     * No reemplaza lo indexado por cambios en vivo ni repone tarjetas eliminadas durante la carga.
+     */
+    public void cargar(List<Object[]> filas) {
+        long sello = bloqueo.writeLock();
+        try {
+            for (Object[] fila : filas) {
+                long clave = clave((String) fila[1]);
+                if (clave <= 0L || buscar(tabla, clave) != AUSENTE || eliminadosDuranteCarga.contains(clave)) {
+                    continue;
+                }
+                poner(clave, valor((EstadoTarjeta) fila[2], (TipoTarjeta) fila[3], (LocalDate) fila[4]));
+            }
+        } finally {
+            bloqueo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Marcar la carga inicial como completa; a partir de aquí el índice atiende las consultas
+     */
+    public void finalizarCarga() {
+        long sello = bloqueo.writeLock();
+        try {
+            cargando = false;
+            eliminadosDuranteCarga.clear();
+            listo = true;
+        } finally {
+            bloqueo.unlockWrite(sello);
+        }
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    public int tamanio() {
+        long sello = bloqueo.readLock();
+        try {
+            return tamanio;
+        } finally {
+            bloqueo.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Bytes fuera del heap ocupados por la tabla
+     */
+    public long bytesReservados() {
+        return (long) tabla.capacidad * TAMANIO_RANURA;
+    }
+
+    private static long valor(EstadoTarjeta estado, TipoTarjeta tipoTarjeta, LocalDate fechaExpiracion) {
+        return fechaExpiracion.toEpochDay() << 32 | PRESENTE | (long) tipoTarjeta.ordinal() << 8 | estado.ordinal();
+    }
+
+    private static int ranuraInicial(long clave) {
+        long hash = clave * MEZCLA;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    // Sin bloqueo: con una escritura concurrente puede leer un estado intermedio, que descarta validate().
+    // El sondeo se acota a la capacidad para terminar aunque la tabla cambie mientras se recorre.
+    private static long buscar(Tabla tabla, long clave) {
+        int ranura = ranuraInicial(clave) & tabla.mascara;
+        for (int sondeos = 0; sondeos < tabla.capacidad; sondeos++) {
+            long enRanura = tabla.clave(ranura);
+            if (enRanura == clave) {
+                return tabla.valor(ranura);
+            }
+            if (enRanura == 0L) {
+                return AUSENTE;
+            }
+            ranura = (ranura + 1) & tabla.mascara;
+        }
+        return AUSENTE;
+    }
+
+    // Con el bloqueo de escritura tomado
+    private void poner(long clave, long valor) {
+        int ranura = ubicar(tabla, clave);
+        if (tabla.clave(ranura) != clave) {
+            // Ocupación máxima de la mitad: con sondeo lineal las cadenas se mantienen cortas
+            if ((tamanio + 1) * 2 > tabla.capacidad) {
+                crecer();
+                ranura = ubicar(tabla, clave);
+            }
+            tabla.ponerClave(ranura, clave);
+            tamanio++;
+        }
+        tabla.ponerValor(ranura, valor);
+    }
+
+    // Borrado con desplazamiento hacia atrás: no deja marcas de borrado que alarguen las búsquedas
+    private void quitar(long clave) {
+        Tabla actual = tabla;
+        int libre = ubicar(actual, clave);
+        if (actual.clave(libre) != clave) {
+            return;
+        }
+        int siguiente = libre;
+        while (true) {
+            siguiente = (siguiente + 1) & actual.mascara;
+            long enRanura = actual.clave(siguiente);
+            if (enRanura == 0L) {
+                break;
+            }
+            int inicial = ranuraInicial(enRanura) & actual.mascara;
+            // Se mueve si su ranura inicial no está en el intervalo circular (libre, siguiente]
+            boolean enIntervalo = libre <= siguiente
+                    ? libre < inicial && inicial <= siguiente
+                    : libre < inicial || inicial <= siguiente;
+            if (!enIntervalo) {
+                actual.ponerClave(libre, enRanura);
+                actual.ponerValor(libre, actual.valor(siguiente));
+                libre = siguiente;
+            }
+        }
+        actual.ponerClave(libre, 0L);
+        tamanio--;
+    }
+
+    // Ranura de la clave, o la ranura libre donde debe insertarse
+    private static int ubicar(Tabla tabla, long clave) {
+        int ranura = ranuraInicial(clave) & tabla.mascara;
+        while (tabla.clave(ranura) != 0L && tabla.clave(ranura) != clave) {
+            ranura = (ranura + 1) & tabla.mascara;
+        }
+        return ranura;
+    }
+
+    // La tabla anterior se libera cuando el GC recolecta su buffer
+    private void crecer() {
+        Tabla anterior = tabla;
+        if (anterior.capacidad >= CAPACIDAD_MAXIMA) {
+            throw new IllegalStateException("El índice de estados alcanzó su capacidad máxima");
+        }
+        Tabla nueva = new Tabla(anterior.capacidad * 2);
+        for (int i = 0; i < anterior.capacidad; i++) {
+            long clave = anterior.clave(i);
+            if (clave != 0L) {
+                int ranura = ubicar(nueva, clave);
+                nueva.ponerClave(ranura, clave);
+                nueva.ponerValor(ranura, anterior.valor(i));
+            }
+        }
+        tabla = nueva;
+    }
+
+    /**
+     * Ranuras de (clave, valor); la clave 0 marca una ranura libre. Buffer y máscara viajan juntos para que
+     * una lectura concurrente con un crecimiento nunca use la máscara de otra tabla.
+     */
+    private static final class Tabla {
+
+        private final ByteBuffer datos;
+        private final int capacidad;
+        private final int mascara;
+
+        private Tabla(int capacidad) {
+            this.datos = ByteBuffer.allocateDirect(capacidad * TAMANIO_RANURA);
+            this.capacidad = capacidad;
+            this.mascara = capacidad - 1;
+        }
+
+        private long clave(int ranura) {
+            return datos.getLong(ranura * TAMANIO_RANURA);
+        }
+
+        private long valor(int ranura) {
+            return datos.getLong(ranura * TAMANIO_RANURA + 8);
+        }
+
+        private void ponerClave(int ranura, long clave) {
+            datos.putLong(ranura * TAMANIO_RANURA, clave);
+        }
+
+        private void ponerValor(int ranura, long valor) {
+            datos.putLong(ranura * TAMANIO_RANURA + 8, valor);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.bancopichincha.tarjetasdebito.indice;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria de trigramas sobre el nombre del titular, sin distinguir mayúsculas ni acentos.
+ * Las escrituras se serializan; las búsquedas no toman bloqueos.
+ * Hasta completar la carga inicial ({@link #isListo()}) las búsquedas deben resolverse en la base de datos.
+ */
+@Component
+public class IndiceNombres {
+
+    private static final int LONGITUD_TRIGRAMA = 3;
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    // Primero las coincidencias al inicio del nombre, luego al inicio de una palabra, luego el resto;
+    // a igual relevancia, los nombres más cortos (más parecidos a la consulta) y después por ID
+    private static final Comparator<Coincidencia> ORDEN = Comparator
+            .comparingInt((Coincidencia c) -> c.relevancia)
+            .thenComparingInt(c -> c.longitud)
+            .thenComparingLong(c -> c.id);
+
+    private final Map<Long, String> nombres = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Long>> idsPorTrigrama = new ConcurrentHashMap<>();
+
+    private final Set<Long> eliminadosDuranteCarga = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cargando;
+
+    private volatile boolean listo;
+
+    /**
+     * Indexar o reemplazar el nombre de una tarjeta
+     */
+    public synchronized void indexar(Long id, String nombreTitular) {
+        String normalizado = normalizar(nombreTitular);
+        String anterior = nombres.put(id, normalizado);
+        if (normalizado.equals(anterior)) {
+            return;
+        }
+        if (anterior != null) {
+            quitarTrigramas(id, anterior);
+        }
+        agregarTrigramas(id, normalizado);
+    }
+
+    /**
+     * Quitar una tarjeta del índice
+     */
+    public synchronized void eliminar(Long id) {
+        String anterior = nombres.remove(id);
+        if (anterior != null) {
+            quitarTrigramas(id, anterior);
+        }
+        if (cargando) {
+            eliminadosDuranteCarga.add(id);
+        }
+    }
+
+    /**
+     * Marcar el inicio de la carga inicial desde la base de datos
+     */
+    public synchronized void iniciarCarga() {
+        cargando = true;
+        eliminadosDuranteCarga.clear();
+    }
+
+    /**
+     * Agregar un bloque de filas (id, nombreTitular) de la carga inicial.
+     * No reemplaza lo indexado por cambios en vivo ni repone tarjetas eliminadas durante la carga.
+     */
+    public synchronized void cargar(List<Object[]> filas) {
+        for (Object[] fila : filas) {
+            Long id = (Long) fila[0];
+            if (nombres.containsKey(id) || eliminadosDuranteCarga.contains(id)) {
+                continue;
+            }
+            String normalizado = normalizar((String) fila[1]);
+            nombres.put(id, normalizado);
+            agregarTrigramas(id, normalizado);
+        }
+    }
+
+    /**
+     * Marcar la carga inicial como completa; a partir de aquí el índice atiende las búsquedas
+     */
+    public synchronized void finalizarCarga() {
+        cargando = false;
+        eliminadosDuranteCarga.clear();
+        listo = true;
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    public int tamanio() {
+        return nombres.size();
+    }
+
+    /**
+     * Si {@code texto} puede resolverse con el índice: las consultas de menos de {@value #LONGITUD_TRIGRAMA}
+     * caracteres no tienen trigramas y obligarían a recorrer todos los nombres
+     */
+    public static boolean admiteConsulta(String texto) {
+        return normalizar(texto).length() >= LONGITUD_TRIGRAMA;
+    }
+
+    /**
+     * IDs de las tarjetas cuyo nombre contiene {@code texto}, ordenados por relevancia.
+     * Las consultas que no cumplen {@link #admiteConsulta} no devuelven resultados.
+     */
+    public List<Long> buscar(String texto, int limite) {
+        String consulta = normalizar(texto);
+        if (consulta.length() < LONGITUD_TRIGRAMA || limite <= 0) {
+            return List.of();
+        }
+
+        // Montículo acotado con la peor coincidencia retenida en la cima: solo se conservan las
+        // 'limite' mejores y el resto se descarta sin ordenar
+        PriorityQueue<Coincidencia> mejores = new PriorityQueue<>(ORDEN.reversed());
+        for (Long id : candidatos(consulta)) {
+            String nombre = nombres.get(id);
+            if (nombre == null) {
+                continue;
+            }
+            int posicion = nombre.indexOf(consulta);
+            if (posicion < 0) {
+                continue;
+            }
+            int relevancia = posicion == 0 ? 0 : nombre.charAt(posicion - 1) == ' ' ? 1 : 2;
+            if (mejores.size() < limite) {
+                mejores.add(new Coincidencia(id, relevancia, nombre.length()));
+            } else if (mejores.peek().posteriorA(id, relevancia, nombre.length())) {
+                // La coincidencia desplazada se reutiliza: llenado el montículo no se crean más objetos
+                Coincidencia desplazada = mejores.poll();
+                desplazada.asignar(id, relevancia, nombre.length());
+                mejores.add(desplazada);
+            }
+        }
+
+        Long[] ids = new Long[mejores.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = mejores.poll().id;
+        }
+        return Arrays.asList(ids);
+    }
+
+    /**
+     * Forma canónica para indexar y buscar: sin acentos, en minúsculas y con espacios simples
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinAcentos = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinAcentos.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    // Todo nombre que contiene la consulta contiene todos sus trigramas: basta recorrer la lista más corta
+    // y confirmar cada candidato con indexOf
+    private Collection<Long> candidatos(String consulta) {
+        Set<Long> menor = null;
+        for (String trigrama : trigramas(consulta)) {
+            Set<Long> ids = idsPorTrigrama.get(trigrama);
+            if (ids == null) {
+                return List.of();
+            }
+            if (menor == null || ids.size() < menor.size()) {
+                menor = ids;
+            }
+        }
+        return menor;
+    }
+
+    private void agregarTrigramas(Long id, String nombre) {
+        for (String trigrama : trigramas(nombre)) {
+            idsPorTrigrama.computeIfAbsent(trigrama, t -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void quitarTrigramas(Long id, String nombre) {
+        for (String trigrama : trigramas(nombre)) {
+            idsPorTrigrama.computeIfPresent(trigrama, (t, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (int i = 0; i + LONGITUD_TRIGRAMA <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + LONGITUD_TRIGRAMA));
+        }
+        return trigramas;
+    }
+
+    private static final class Coincidencia {
+
+        private long id;
+        private int relevancia;
+        private int longitud;
+
+        private Coincidencia(long id, int relevancia, int longitud) {
+            asignar(id, relevancia, longitud);
+        }
+
+        private void asignar(long id, int relevancia, int longitud) {
+            this.id = id;
+            this.relevancia = relevancia;
+            this.longitud = longitud;
+        }
+
+        // Mismo criterio que ORDEN, sin construir la otra coincidencia
+        private boolean posteriorA(long otroId, int otraRelevancia, int otraLongitud) {
+            if (relevancia != otraRelevancia) {
+                return relevancia > otraRelevancia;
+            }
+            if (longitud != otraLongitud) {
+                return longitud > otraLongitud;
+            }
+            return id > otroId;
+        }
+    }
+}
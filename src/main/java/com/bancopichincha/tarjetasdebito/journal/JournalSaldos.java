@@ -0,0 +1,389 @@
+package com.bancopichincha.tarjetasdebito.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Journal de escritura anticipada (write-ahead) de los saldos modificados por autorizaciones, habilitado con
+ * {@code tarjetas.journal.habilitado=true}. Los registros se agregan a segmentos de tamaño fijo mapeados en
+ * memoria y un único hilo hace el fsync: todas las autorizaciones que se registraron mientras corría el fsync
+ * anterior se confirman con el siguiente (commit en grupo).
+ * <p>
+ * Los registros durables se aplican a tarjetas_debito en segundo plano ({@link #leerPendientes(int)} y
+ * {@link #confirmarAplicados(long)}); al iniciar se recuperan los segmentos existentes y sus registros quedan
+ * pendientes de aplicar. Como cada registro tiene valores absolutos, aplicar dos veces el mismo no cambia el
+ * resultado.
+ */
+@Component
+@ConditionalOnProperty(name = "tarjetas.journal.habilitado", havingValue = "true")
+public class JournalSaldos {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalSaldos.class);
+
+    private static final String EXTENSION = ".journal";
+
+    private final Path directorio;
+
+    private final int tamanioSegmento;
+
+    // ReentrantLock y no synchronized: con hilos virtuales la espera del fsync no debe fijar el hilo portador
+    private final ReentrantLock bloqueo = new ReentrantLock();
+
+    private final Condition hayPendientes = bloqueo.newCondition();
+
+    private final Condition durable = bloqueo.newCondition();
+
+    // Del más antiguo al actual; los anteriores al actual ya tienen fsync completo
+    private final Deque<Segmento> segmentos = new ArrayDeque<>();
+
+    private final Thread sincronizador;
+
+    private Segmento actual;
+
+    private int posicionDurable;
+
+    private long ultimaSecuencia;
+
+    private volatile long secuenciaDurable;
+
+    private long secuenciaAplicada;
+
+    private boolean cerrado;
+
+    private volatile RuntimeException error;
+
+    @Autowired
+    public JournalSaldos(@Value("${tarjetas.journal.directorio:datos/journal}") Path directorio,
+                         @Value("${tarjetas.journal.tamanio-segmento:64MB}") DataSize tamanioSegmento) throws IOException {
+        this.directorio = directorio;
+        this.tamanioSegmento = (int) (tamanioSegmento.toBytes() / RegistroSaldo.TAMANIO * RegistroSaldo.TAMANIO);
+        if (this.tamanioSegmento <= 0) {
+            throw new IllegalArgumentException("El segmento del journal debe admitir al menos un registro");
+        }
+        Files.createDirectories(directorio);
+        recuperar();
+        actual = abrirSegmento(ultimaSecuencia + 1);
+        segmentos.addLast(actual);
+        sincronizador = Thread.ofPlatform().name("journal-fsync").daemon().start(this::sincronizar);
+    }
+
+    /**
+     * Agregar un registro con el saldo y el consumo actuales de la tarjeta. Los proveedores se leen con el
+     * journal bloqueado, así el orden de los registros es el de los valores: el último registro de una tarjeta
+     * tiene siempre su saldo más reciente. Retorna la secuencia para {@link #esperarDurable(long)}.
+     */
+    public long registrar(long idTarjeta, LongSupplier saldoCentavos, LongSupplier consumidoCentavos, LocalDate dia) {
+        bloqueo.lock();
+        try {
+            verificarDisponible();
+            if (cerrado) {
+                throw new IllegalStateException("El journal de saldos está cerrado");
+            }
+            if (actual.posicion() + RegistroSaldo.TAMANIO > actual.buffer.capacity()) {
+                rotar();
+            }
+            long secuencia = ultimaSecuencia + 1;
+            new RegistroSaldo(secuencia, idTarjeta, saldoCentavos.getAsLong(), consumidoCentavos.getAsLong(), dia)
+                    .escribir(actual.buffer, actual.posicion());
+            actual.registros++;
+            ultimaSecuencia = secuencia;
+            hayPendientes.signal();
+            return secuencia;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Esperar a que el registro {@code secuencia} esté en disco
+     */
+    public void esperarDurable(long secuencia) {
+        if (secuenciaDurable >= secuencia) {
+            return;
+        }
+        bloqueo.lock();
+        try {
+            while (secuenciaDurable < secuencia) {
+                verificarDisponible();
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Hasta {@code maximo} registros durables aún no aplicados a la base de datos, en orden de secuencia
+     */
+    public List<RegistroSaldo> leerPendientes(int maximo) {
+        bloqueo.lock();
+        try {
+            long desde = secuenciaAplicada + 1;
+            long hasta = Math.min(secuenciaDurable, secuenciaAplicada + maximo);
+            List<RegistroSaldo> registros = new ArrayList<>((int) Math.max(0L, hasta - desde + 1));
+            for (Segmento segmento : segmentos) {
+                long ultima = Math.min(hasta, segmento.ultimaSecuencia());
+                for (long secuencia = Math.max(desde, segmento.primeraSecuencia); secuencia <= ultima; secuencia++) {
+                    int posicion = (int) (secuencia - segmento.primeraSecuencia) * RegistroSaldo.TAMANIO;
+                    registros.add(RegistroSaldo.leer(segmento.buffer, posicion, secuencia));
+                }
+            }
+            return registros;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Marcar como aplicados los registros hasta {@code secuencia} y borrar los segmentos que ya no se necesitan
+     */
+    public void confirmarAplicados(long secuencia) {
+        bloqueo.lock();
+        try {
+            secuenciaAplicada = Math.max(secuenciaAplicada, Math.min(secuencia, secuenciaDurable));
+            while (segmentos.peekFirst() != actual && segmentos.peekFirst().ultimaSecuencia() <= secuenciaAplicada) {
+                Segmento aplicado = segmentos.removeFirst();
+                // El mapeo se libera cuando el GC recolecta el buffer; el archivo puede borrarse antes
+                Files.deleteIfExists(aplicado.archivo);
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar un segmento aplicado del journal", e);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    public long getSecuenciaDurable() {
+        return secuenciaDurable;
+    }
+
+    public long cantidadPendientes() {
+        bloqueo.lock();
+        try {
+            return secuenciaDurable - secuenciaAplicada;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Dejar de aceptar registros y esperar el fsync de los ya agregados. Si todos quedaron aplicados se borran
+     * los segmentos: el siguiente inicio no tiene nada que recuperar.
+     */
+    @PreDestroy
+    public void cerrar() throws InterruptedException, IOException {
+        bloqueo.lock();
+        try {
+            cerrado = true;
+            hayPendientes.signal();
+        } finally {
+            bloqueo.unlock();
+        }
+        sincronizador.join();
+
+        bloqueo.lock();
+        try {
+            if (error == null && secuenciaAplicada == ultimaSecuencia) {
+                for (Segmento segmento : segmentos) {
+                    Files.deleteIfExists(segmento.archivo);
+                }
+                segmentos.clear();
+            } else {
+                logger.warn("Journal de saldos cerrado con {} registros sin aplicar; se aplicarán al iniciar",
+                        ultimaSecuencia - secuenciaAplicada);
+            }
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    // Un fsync a la vez, de todo lo agregado desde el anterior
+    private void sincronizar() {
+        while (true) {
+            Segmento segmento;
+            int desde;
+            int hasta;
+            long secuencia;
+            bloqueo.lock();
+            try {
+                while (!cerrado && posicionDurable == actual.posicion()) {
+                    hayPendientes.awaitUninterruptibly();
+                }
+                if (posicionDurable == actual.posicion()) {
+                    return;
+                }
+                segmento = actual;
+                desde = posicionDurable;
+                hasta = actual.posicion();
+                secuencia = ultimaSecuencia;
+            } finally {
+                bloqueo.unlock();
+            }
+
+            try {
+                segmento.buffer.force(desde, hasta - desde);
+            } catch (RuntimeException e) {
+                logger.error("Falló el fsync del journal de saldos; no se confirmarán más autorizaciones", e);
+                error = e;
+            }
+
+            bloqueo.lock();
+            try {
+                if (error != null) {
+                    durable.signalAll();
+                    return;
+                }
+                // Si hubo rotación mientras tanto, la rotación ya hizo el fsync de este segmento
+                if (segmento == actual) {
+                    posicionDurable = Math.max(posicionDurable, hasta);
+                }
+                secuenciaDurable = Math.max(secuenciaDurable, secuencia);
+                durable.signalAll();
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+    }
+
+    // Con el bloqueo tomado: el segmento lleno queda en disco antes de empezar el siguiente
+    private void rotar() {
+        actual.buffer.force(posicionDurable, actual.posicion() - posicionDurable);
+        secuenciaDurable = ultimaSecuencia;
+        durable.signalAll();
+        try {
+            actual = abrirSegmento(ultimaSecuencia + 1);
+        } catch (IOException e) {
+            error = new UncheckedIOException("No se pudo crear un segmento del journal", e);
+            durable.signalAll();
+            throw error;
+        }
+        segmentos.addLast(actual);
+        posicionDurable = 0;
+    }
+
+    // Segmentos existentes en orden; cada uno termina en su primer registro inválido (uno incompleto por una
+    // caída) y el siguiente debe continuar la secuencia. Desde el primer salto se descarta el resto.
+    private void recuperar() throws IOException {
+        List<Path> archivos;
+        try (Stream<Path> contenido = Files.list(directorio)) {
+            archivos = contenido.filter(a -> a.getFileName().toString().endsWith(EXTENSION)).sorted().toList();
+        }
+        boolean descartar = false;
+        for (Path archivo : archivos) {
+            long primeraSecuencia = primeraSecuencia(archivo);
+            if (descartar || (!segmentos.isEmpty() && primeraSecuencia != ultimaSecuencia + 1)) {
+                logger.error("Segmento del journal fuera de secuencia, se descarta: {}", archivo);
+                Files.move(archivo, archivo.resolveSibling(archivo.getFileName() + ".descartado"));
+                descartar = true;
+                continue;
+            }
+            Segmento segmento = new Segmento(archivo, primeraSecuencia, mapear(archivo, FileChannel.MapMode.READ_ONLY,
+                    Files.size(archivo)));
+            while (RegistroSaldo.leer(segmento.buffer, segmento.posicion(),
+                    primeraSecuencia + segmento.registros) != null) {
+                segmento.registros++;
+            }
+            if (segmento.registros == 0) {
+                Files.delete(archivo);
+                continue;
+            }
+            if (segmentos.isEmpty()) {
+                secuenciaAplicada = primeraSecuencia - 1;
+            }
+            segmentos.addLast(segmento);
+            ultimaSecuencia = segmento.ultimaSecuencia();
+        }
+        if (segmentos.isEmpty()) {
+            secuenciaAplicada = ultimaSecuencia;
+        }
+        secuenciaDurable = ultimaSecuencia;
+        if (ultimaSecuencia > secuenciaAplicada) {
+            logger.info("Journal de saldos recuperado: {} registros pendientes de aplicar",
+                    ultimaSecuencia - secuenciaAplicada);
+        }
+    }
+
+    private Segmento abrirSegmento(long primeraSecuencia) throws IOException {
+        Path archivo = directorio.resolve(String.format("%020d%s", primeraSecuencia, EXTENSION));
+        Segmento segmento = new Segmento(archivo, primeraSecuencia,
+                mapear(archivo, FileChannel.MapMode.READ_WRITE, tamanioSegmento));
+        sincronizarDirectorio();
+        return segmento;
+    }
+
+    private static MappedByteBuffer mapear(Path archivo, FileChannel.MapMode modo, long tamanio) throws IOException {
+        StandardOpenOption[] opciones = modo == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE};
+        // El mapeo sigue válido después de cerrar el canal
+        try (FileChannel canal = FileChannel.open(archivo, opciones)) {
+            return canal.map(modo, 0, tamanio);
+        }
+    }
+
+    // El archivo nuevo solo sobrevive a una caída si también se sincroniza su entrada en el directorio;
+    // no todos los sistemas permiten abrir un directorio para hacerlo
+    private void sincronizarDirectorio() {
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            logger.debug("No se pudo sincronizar el directorio del journal", e);
+        }
+    }
+
+    private static long primeraSecuencia(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return Long.parseLong(nombre.substring(0, nombre.length() - EXTENSION.length()));
+    }
+
+    private void verificarDisponible() {
+        if (error != null) {
+            throw new IllegalStateException("El journal de saldos no está disponible", error);
+        }
+    }
+
+    private static final class Segmento {
+
+        private final Path archivo;
+        private final long primeraSecuencia;
+        private final MappedByteBuffer buffer;
+        private int registros;
+
+        private Segmento(Path archivo, long primeraSecuencia, MappedByteBuffer buffer) {
+            this.archivo = archivo;
+            this.primeraSecuencia = primeraSecuencia;
+            this.buffer = buffer;
+        }
+
+        private int posicion() {
+            return registros * RegistroSaldo.TAMANIO;
+        }
+
+        private long ultimaSecuencia() {
+            return primeraSecuencia + registros - 1;
+        }
+    }
+}
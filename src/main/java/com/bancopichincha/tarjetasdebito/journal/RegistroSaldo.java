@@ -0,0 +1,82 @@
+package com.bancopichincha.tarjetasdebito.journal;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+
+/**
+ * Registro del journal: saldo y consumo diario absolutos de una tarjeta después de una autorización.
+ * Se guarda con tamaño fijo y un CRC32C de los campos; un registro incompleto o con otra secuencia que la
+ * esperada marca el final del journal.
+ */
+public final class RegistroSaldo {
+
+    static final int TAMANIO = 40;
+
+    private static final int LONGITUD_DATOS = 36;
+
+    private final long secuencia;
+    private final long idTarjeta;
+    private final long saldoCentavos;
+    private final long consumidoCentavos;
+    private final LocalDate diaConsumo;
+
+    public RegistroSaldo(long secuencia, long idTarjeta, long saldoCentavos, long consumidoCentavos,
+                         LocalDate diaConsumo) {
+        this.secuencia = secuencia;
+        this.idTarjeta = idTarjeta;
+        this.saldoCentavos = saldoCentavos;
+        this.consumidoCentavos = consumidoCentavos;
+        this.diaConsumo = diaConsumo;
+    }
+
+    /**
+     * Escribir el registro en {@code posicion} sin mover la posición del buffer
+     */
+    void escribir(ByteBuffer buffer, int posicion) {
+        buffer.putLong(posicion, secuencia);
+        buffer.putLong(posicion + 8, idTarjeta);
+        buffer.putLong(posicion + 16, saldoCentavos);
+        buffer.putLong(posicion + 24, consumidoCentavos);
+        buffer.putInt(posicion + 32, (int) diaConsumo.toEpochDay());
+        buffer.putInt(posicion + LONGITUD_DATOS, crc(buffer, posicion));
+    }
+
+    /**
+     * Leer el registro de {@code posicion}; null si no es válido o no tiene la secuencia esperada
+     */
+    static RegistroSaldo leer(ByteBuffer buffer, int posicion, long secuenciaEsperada) {
+        if (posicion + TAMANIO > buffer.limit() || buffer.getLong(posicion) != secuenciaEsperada
+                || buffer.getInt(posicion + LONGITUD_DATOS) != crc(buffer, posicion)) {
+            return null;
+        }
+        return new RegistroSaldo(secuenciaEsperada, buffer.getLong(posicion + 8), buffer.getLong(posicion + 16),
+                buffer.getLong(posicion + 24), LocalDate.ofEpochDay(buffer.getInt(posicion + 32)));
+    }
+
+    private static int crc(ByteBuffer buffer, int posicion) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(posicion, LONGITUD_DATOS));
+        return (int) crc.getValue();
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public long getIdTarjeta() {
+        return idTarjeta;
+    }
+
+    public long getSaldoCentavos() {
+        return saldoCentavos;
+    }
+
+    public long getConsumidoCentavos() {
+        return consumidoCentavos;
+    }
+
+    public LocalDate getDiaConsumo() {
+        return diaConsumo;
+    }
+}
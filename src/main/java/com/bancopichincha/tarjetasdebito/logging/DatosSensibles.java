@@ -0,0 +1,81 @@
+package com.bancopichincha.tarjetasdebito.logging;
+
+/**
+ * Enmascarado de cédulas y números de tarjeta para logs y {@code toString}.
+ * Cada valor enmascarado cuesta un único {@code char[]}; los valores que no son sensibles se devuelven sin copiar.
+ */
+public final class DatosSensibles {
+
+    private static final int LONGITUD_CEDULA = 10;
+
+    private static final int LONGITUD_NUMERO_TARJETA = 16;
+
+    // Se conservan el BIN (6 primeros) y los 4 últimos dígitos del número de tarjeta, y los 4 últimos de la cédula
+    private static final int VISIBLES_INICIO_TARJETA = 6;
+
+    private static final int VISIBLES_FINAL = 4;
+
+    private static final char MASCARA = '*';
+
+    private DatosSensibles() {
+    }
+
+    /**
+     * Cédula con todos los dígitos ocultos salvo los 4 últimos
+     */
+    public static String enmascararCedula(String cedula) {
+        return enmascarar(cedula, 0, VISIBLES_FINAL);
+    }
+
+    /**
+     * Número de tarjeta con los 6 primeros y los 4 últimos dígitos visibles
+     */
+    public static String enmascararNumeroTarjeta(String numeroTarjeta) {
+        return enmascarar(numeroTarjeta, VISIBLES_INICIO_TARJETA, VISIBLES_FINAL);
+    }
+
+    /**
+     * Enmascarar un argumento de log si tiene forma de cédula (10 dígitos) o de número de tarjeta (16 dígitos);
+     * cualquier otro valor se devuelve tal cual
+     */
+    public static Object enmascararSiEsSensible(Object valor) {
+        if (!(valor instanceof String texto) || !esSensible(texto)) {
+            return valor;
+        }
+        return texto.length() == LONGITUD_CEDULA ? enmascararCedula(texto) : enmascararNumeroTarjeta(texto);
+    }
+
+    /**
+     * Si el valor tiene forma de cédula o de número de tarjeta; no reserva memoria
+     */
+    public static boolean esSensible(String texto) {
+        int longitud = texto.length();
+        if (longitud != LONGITUD_CEDULA && longitud != LONGITUD_NUMERO_TARJETA) {
+            return false;
+        }
+        for (int i = 0; i < longitud; i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String enmascarar(String valor, int visiblesInicio, int visiblesFinal) {
+        if (valor == null) {
+            return null;
+        }
+        int longitud = valor.length();
+        if (longitud <= visiblesInicio + visiblesFinal) {
+            // Demasiado corto para dejar dígitos visibles sin revelarlo completo
+            visiblesInicio = 0;
+            visiblesFinal = 0;
+        }
+        char[] resultado = new char[longitud];
+        for (int i = 0; i < longitud; i++) {
+            resultado[i] = i < visiblesInicio || i >= longitud - visiblesFinal ? valor.charAt(i) : MASCARA;
+        }
+        return new String(resultado);
+    }
+}
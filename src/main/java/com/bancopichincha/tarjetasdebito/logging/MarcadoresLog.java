@@ -0,0 +1,18 @@
+package com.bancopichincha.tarjetasdebito.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Marcadores SLF4J de la aplicación, usados por la configuración de logback para filtrar eventos
+ */
+public final class MarcadoresLog {
+
+    /**
+     * Consultas de alto volumen (una por solicitud de lectura); en el perfil prod se registran por muestreo
+     */
+    public static final Marker LECTURA = MarkerFactory.getMarker("LECTURA");
+
+    private MarcadoresLog() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.bancopichincha.tarjetasdebito.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Reemplazo de {@code %msg} en logback-spring.xml: enmascara los argumentos del mensaje que tienen forma de
+ * cédula o de número de tarjeta. Trabaja sobre los argumentos parametrizados ({@code {}}), no sobre el texto,
+ * así que solo hay costo extra cuando el evento tiene un dato sensible; con el appender asíncrono ese costo
+ * lo paga el hilo del appender y no el de la solicitud.
+ */
+public class MensajeEnmascaradoConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        Object[] argumentos = event.getArgumentArray();
+        int primero = primerSensible(argumentos);
+        if (primero < 0) {
+            return event.getFormattedMessage();
+        }
+        Object[] enmascarados = argumentos.clone();
+        for (int i = primero; i < enmascarados.length; i++) {
+            enmascarados[i] = DatosSensibles.enmascararSiEsSensible(enmascarados[i]);
+        }
+        return MessageFormatter.arrayFormat(event.getMessage(), enmascarados).getMessage();
+    }
+
+    private static int primerSensible(Object[] argumentos) {
+        if (argumentos == null) {
+            return -1;
+        }
+        for (int i = 0; i < argumentos.length; i++) {
+            if (argumentos[i] instanceof String texto && DatosSensibles.esSensible(texto)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
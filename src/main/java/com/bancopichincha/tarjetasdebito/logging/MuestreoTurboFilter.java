@@ -0,0 +1,90 @@
+package com.bancopichincha.tarjetasdebito.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deja pasar en promedio uno de cada {@code unoDeCada} eventos de los loggers bajo {@code logger}
+ * (prefijo del nombre) con el marcador {@code marcador}, hasta el nivel {@code nivelMaximo} (INFO por defecto).
+ * Los eventos de mayor nivel siempre pasan. Se evalúa antes de crear el evento y formatear el mensaje,
+ * sin estado compartido entre hilos, de modo que un evento descartado casi no cuesta.
+ *
+ * <pre>
+ * &lt;turboFilter class="com.bancopichincha.tarjetasdebito.logging.MuestreoTurboFilter"&gt;
+ *     &lt;logger&gt;com.bancopichincha.tarjetasdebito&lt;/logger&gt;
+ *     &lt;marcador&gt;LECTURA&lt;/marcador&gt;
+ *     &lt;unoDeCada&gt;100&lt;/unoDeCada&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class MuestreoTurboFilter extends TurboFilter {
+
+    private String logger = "";
+
+    private String marcador;
+
+    private int unoDeCada = 1;
+
+    private Level nivelMaximo = Level.INFO;
+
+    @Override
+    public void start() {
+        if (unoDeCada < 1) {
+            addError("unoDeCada debe ser mayor o igual a 1: " + unoDeCada);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format null: consulta isXxxEnabled(), que no debe depender del azar
+        if (!isStarted() || unoDeCada == 1 || format == null || level.toInt() > nivelMaximo.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!logger.getName().startsWith(this.logger)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (marcador != null && (marker == null || !marker.contains(marcador))) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(unoDeCada) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public String getLogger() {
+        return logger;
+    }
+
+    public void setLogger(String logger) {
+        this.logger = logger;
+    }
+
+    public String getMarcador() {
+        return marcador;
+    }
+
+    public void setMarcador(String marcador) {
+        this.marcador = marcador;
+    }
+
+    public int getUnoDeCada() {
+        return unoDeCada;
+    }
+
+    public void setUnoDeCada(int unoDeCada) {
+        this.unoDeCada = unoDeCada;
+    }
+
+    public Level getNivelMaximo() {
+        return nivelMaximo;
+    }
+
+    public void setNivelMaximo(Level nivelMaximo) {
+        this.nivelMaximo = nivelMaximo;
+    }
+}
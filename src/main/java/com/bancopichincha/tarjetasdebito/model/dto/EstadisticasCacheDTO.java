@@ -0,0 +1,77 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+public class EstadisticasCacheDTO {
+
+    private long aciertos;
+
+    private long fallos;
+
+    private long desalojos;
+
+    private long tamanio;
+
+    private double tasaAciertos;
+
+    // Constructores
+    public EstadisticasCacheDTO() {}
+
+    public EstadisticasCacheDTO(long aciertos, long fallos, long desalojos, long tamanio) {
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+        this.tamanio = tamanio;
+        long consultas = aciertos + fallos;
+        this.tasaAciertos = consultas == 0 ? 0.0 : (double) aciertos / consultas;
+    }
+
+    // Getters y Setters
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public void setAciertos(long aciertos) {
+        this.aciertos = aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public void setFallos(long fallos) {
+        this.fallos = fallos;
+    }
+
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    public void setDesalojos(long desalojos) {
+        this.desalojos = desalojos;
+    }
+
+    public long getTamanio() {
+        return tamanio;
+    }
+
+    public void setTamanio(long tamanio) {
+        this.tamanio = tamanio;
+    }
+
+    public double getTasaAciertos() {
+        return tasaAciertos;
+    }
+
+    public void setTasaAciertos(double tasaAciertos) {
+        this.tasaAciertos = tasaAciertos;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasCacheDTO{" +
+                "aciertos=" + aciertos +
+                ", fallos=" + fallos +
+                ", desalojos=" + desalojos +
+                ", tamanio=" + tamanio +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Cantidad de tarjetas por estado y tipo, con los totales por fila, por columna y general.
+ */
+public class EstadisticasTarjetasDTO {
+
+    private Map<EstadoTarjeta, Map<TipoTarjeta, Long>> porEstadoYTipo;
+
+    private Map<EstadoTarjeta, Long> porEstado;
+
+    private Map<TipoTarjeta, Long> porTipo;
+
+    private long total;
+
+    private LocalDateTime ultimaReconciliacion;
+
+    // Constructores
+    public EstadisticasTarjetasDTO() {}
+
+    public EstadisticasTarjetasDTO(Map<EstadoTarjeta, Map<TipoTarjeta, Long>> porEstadoYTipo,
+                                   Map<EstadoTarjeta, Long> porEstado, Map<TipoTarjeta, Long> porTipo,
+                                   long total, LocalDateTime ultimaReconciliacion) {
+        this.porEstadoYTipo = porEstadoYTipo;
+        this.porEstado = porEstado;
+        this.porTipo = porTipo;
+        this.total = total;
+        this.ultimaReconciliacion = ultimaReconciliacion;
+    }
+
+    // Getters y Setters
+    public Map<EstadoTarjeta, Map<TipoTarjeta, Long>> getPorEstadoYTipo() {
+        return porEstadoYTipo;
+    }
+
+    public void setPorEstadoYTipo(Map<EstadoTarjeta, Map<TipoTarjeta, Long>> porEstadoYTipo) {
+        this.porEstadoYTipo = porEstadoYTipo;
+    }
+
+    public Map<EstadoTarjeta, Long> getPorEstado() {
+        return porEstado;
+    }
+
+    public void setPorEstado(Map<EstadoTarjeta, Long> porEstado) {
+        this.porEstado = porEstado;
+    }
+
+    public Map<TipoTarjeta, Long> getPorTipo() {
+        return porTipo;
+    }
+
+    public void setPorTipo(Map<TipoTarjeta, Long> porTipo) {
+        this.porTipo = porTipo;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public LocalDateTime getUltimaReconciliacion() {
+        return ultimaReconciliacion;
+    }
+
+    public void setUltimaReconciliacion(LocalDateTime ultimaReconciliacion) {
+        this.ultimaReconciliacion = ultimaReconciliacion;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasTarjetasDTO{" +
+                "total=" + total +
+                ", porEstado=" + porEstado +
+                ", porTipo=" + porTipo +
+                ", ultimaReconciliacion=" + ultimaReconciliacion +
+                '}';
+    }
+}
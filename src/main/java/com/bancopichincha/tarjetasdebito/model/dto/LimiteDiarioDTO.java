@@ -0,0 +1,72 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Uso del límite diario de una tarjeta en {@code fecha} (día en la zona tarjetas.zona-horaria)
+ */
+public class LimiteDiarioDTO {
+
+    private Long idTarjeta;
+
+    private LocalDate fecha;
+
+    private BigDecimal limiteDiario;
+
+    private BigDecimal consumido;
+
+    private BigDecimal disponible;
+
+    // Constructores
+    public LimiteDiarioDTO() {}
+
+    public LimiteDiarioDTO(Long idTarjeta, LocalDate fecha, BigDecimal limiteDiario, BigDecimal consumido) {
+        this.idTarjeta = idTarjeta;
+        this.fecha = fecha;
+        this.limiteDiario = limiteDiario;
+        this.consumido = consumido;
+        this.disponible = limiteDiario.subtract(consumido).max(BigDecimal.ZERO.setScale(2));
+    }
+
+    // Getters y Setters
+    public Long getIdTarjeta() {
+        return idTarjeta;
+    }
+
+    public void setIdTarjeta(Long idTarjeta) {
+        this.idTarjeta = idTarjeta;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDate fecha) {
+        this.fecha = fecha;
+    }
+
+    public BigDecimal getLimiteDiario() {
+        return limiteDiario;
+    }
+
+    public void setLimiteDiario(BigDecimal limiteDiario) {
+        this.limiteDiario = limiteDiario;
+    }
+
+    public BigDecimal getConsumido() {
+        return consumido;
+    }
+
+    public void setConsumido(BigDecimal consumido) {
+        this.consumido = consumido;
+    }
+
+    public BigDecimal getDisponible() {
+        return disponible;
+    }
+
+    public void setDisponible(BigDecimal disponible) {
+        this.disponible = disponible;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import java.util.List;
+
+/**
+ * Página de tarjetas obtenida por paginación por cursor (keyset).
+ * Para obtener la siguiente página se envía {@code siguienteCursor} en el parámetro {@code cursor}.
+ */
+public class PaginaTarjetasDTO {
+
+    private List<TarjetaDebitoDTO> contenido;
+
+    private String siguienteCursor;
+
+    private int tamanio;
+
+    private boolean hayMas;
+
+    // Constructores
+    public PaginaTarjetasDTO() {}
+
+    public PaginaTarjetasDTO(List<TarjetaDebitoDTO> contenido, String siguienteCursor) {
+        this.contenido = contenido;
+        this.siguienteCursor = siguienteCursor;
+        this.tamanio = contenido.size();
+        this.hayMas = siguienteCursor != null;
+    }
+
+    // Getters y Setters
+    public List<TarjetaDebitoDTO> getContenido() {
+        return contenido;
+    }
+
+    public void setContenido(List<TarjetaDebitoDTO> contenido) {
+        this.contenido = contenido;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(String siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    public void setTamanio(int tamanio) {
+        this.tamanio = tamanio;
+    }
+
+    public boolean isHayMas() {
+        return hayMas;
+    }
+
+    public void setHayMas(boolean hayMas) {
+        this.hayMas = hayMas;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaTarjetasDTO{" +
+                "tamanio=" + tamanio +
+                ", siguienteCursor='" + siguienteCursor + '\'' +
+                ", hayMas=" + hayMas +
+                '}';
+    }
+}
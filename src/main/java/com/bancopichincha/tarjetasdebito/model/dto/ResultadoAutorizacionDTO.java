@@ -0,0 +1,83 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import com.bancopichincha.tarjetasdebito.autorizacion.CodigoAutorizacion;
+
+import java.math.BigDecimal;
+
+/**
+ * Respuesta de una autorización. {@code saldoDisponible} y {@code disponibleDiario} reflejan el estado de la
+ * tarjeta después del débito (o el vigente si fue rechazado); son null si la tarjeta no existe.
+ */
+public class ResultadoAutorizacionDTO {
+
+    private boolean aprobada;
+
+    private CodigoAutorizacion codigo;
+
+    private String mensaje;
+
+    private BigDecimal saldoDisponible;
+
+    private BigDecimal disponibleDiario;
+
+    // Constructores
+    public ResultadoAutorizacionDTO() {}
+
+    public ResultadoAutorizacionDTO(CodigoAutorizacion codigo, BigDecimal saldoDisponible, BigDecimal disponibleDiario) {
+        this.aprobada = codigo == CodigoAutorizacion.APROBADA;
+        this.codigo = codigo;
+        this.mensaje = codigo.getDescripcion();
+        this.saldoDisponible = saldoDisponible;
+        this.disponibleDiario = disponibleDiario;
+    }
+
+    // Getters y Setters
+    public boolean isAprobada() {
+        return aprobada;
+    }
+
+    public void setAprobada(boolean aprobada) {
+        this.aprobada = aprobada;
+    }
+
+    public CodigoAutorizacion getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(CodigoAutorizacion codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public BigDecimal getSaldoDisponible() {
+        return saldoDisponible;
+    }
+
+    public void setSaldoDisponible(BigDecimal saldoDisponible) {
+        this.saldoDisponible = saldoDisponible;
+    }
+
+    public BigDecimal getDisponibleDiario() {
+        return disponibleDiario;
+    }
+
+    public void setDisponibleDiario(BigDecimal disponibleDiario) {
+        this.disponibleDiario = disponibleDiario;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoAutorizacionDTO{" +
+                "codigo=" + codigo +
+                ", saldoDisponible=" + saldoDisponible +
+                ", disponibleDiario=" + disponibleDiario +
+                '}';
+    }
+}
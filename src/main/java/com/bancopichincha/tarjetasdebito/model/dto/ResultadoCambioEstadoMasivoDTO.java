@@ -0,0 +1,83 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+
+import java.util.List;
+
+/**
+ * Resultado de un cambio de estado masivo, con el detalle de cada tarjeta en el orden recibido.
+ */
+public class ResultadoCambioEstadoMasivoDTO {
+
+    private EstadoTarjeta estado;
+
+    private int total;
+
+    private int exitosas;
+
+    private int fallidas;
+
+    private List<ResultadoCambioEstadoTarjetaDTO> resultados;
+
+    // Constructores
+    public ResultadoCambioEstadoMasivoDTO() {}
+
+    public ResultadoCambioEstadoMasivoDTO(EstadoTarjeta estado, List<ResultadoCambioEstadoTarjetaDTO> resultados) {
+        this.estado = estado;
+        this.resultados = resultados;
+        this.total = resultados.size();
+        this.exitosas = (int) resultados.stream().filter(ResultadoCambioEstadoTarjetaDTO::isExitoso).count();
+        this.fallidas = total - exitosas;
+    }
+
+    // Getters y Setters
+    public EstadoTarjeta getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoTarjeta estado) {
+        this.estado = estado;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getExitosas() {
+        return exitosas;
+    }
+
+    public void setExitosas(int exitosas) {
+        this.exitosas = exitosas;
+    }
+
+    public int getFallidas() {
+        return fallidas;
+    }
+
+    public void setFallidas(int fallidas) {
+        this.fallidas = fallidas;
+    }
+
+    public List<ResultadoCambioEstadoTarjetaDTO> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ResultadoCambioEstadoTarjetaDTO> resultados) {
+        this.resultados = resultados;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoCambioEstadoMasivoDTO{" +
+                "estado=" + estado +
+                ", total=" + total +
+                ", exitosas=" + exitosas +
+                ", fallidas=" + fallidas +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import com.bancopichincha.tarjetasdebito.logging.DatosSensibles;
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+
+/**
+ * Resultado del cambio de estado de una tarjeta dentro de un cambio de estado masivo.
+ * {@code indice} es la posición de la tarjeta en la lista recibida.
+ */
+public class ResultadoCambioEstadoTarjetaDTO {
+
+    private int indice;
+
+    private Long id;
+
+    private String numeroTarjeta;
+
+    private boolean exitoso;
+
+    private EstadoTarjeta estadoAnterior;
+
+    private String error;
+
+    // Constructores
+    public ResultadoCambioEstadoTarjetaDTO() {}
+
+    public static ResultadoCambioEstadoTarjetaDTO exitoso(int indice, Long id, String numeroTarjeta,
+                                                          EstadoTarjeta estadoAnterior) {
+        ResultadoCambioEstadoTarjetaDTO resultado = new ResultadoCambioEstadoTarjetaDTO();
+        resultado.indice = indice;
+        resultado.id = id;
+        resultado.numeroTarjeta = numeroTarjeta;
+        resultado.exitoso = true;
+        resultado.estadoAnterior = estadoAnterior;
+        return resultado;
+    }
+
+    public static ResultadoCambioEstadoTarjetaDTO fallido(int indice, Long id, String numeroTarjeta, String error) {
+        ResultadoCambioEstadoTarjetaDTO resultado = new ResultadoCambioEstadoTarjetaDTO();
+        resultado.indice = indice;
+        resultado.id = id;
+        resultado.numeroTarjeta = numeroTarjeta;
+        resultado.exitoso = false;
+        resultado.error = error;
+        return resultado;
+    }
+
+    // Getters y Setters
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNumeroTarjeta() {
+        return numeroTarjeta;
+    }
+
+    public void setNumeroTarjeta(String numeroTarjeta) {
+        this.numeroTarjeta = numeroTarjeta;
+    }
+
+    public boolean isExitoso() {
+        return exitoso;
+    }
+
+    public void setExitoso(boolean exitoso) {
+        this.exitoso = exitoso;
+    }
+
+    public EstadoTarjeta getEstadoAnterior() {
+        return estadoAnterior;
+    }
+
+    public void setEstadoAnterior(EstadoTarjeta estadoAnterior) {
+        this.estadoAnterior = estadoAnterior;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoCambioEstadoTarjetaDTO{" +
+                "indice=" + indice +
+                ", id=" + id +
+                ", numeroTarjeta='" + DatosSensibles.enmascararNumeroTarjeta(numeroTarjeta) + '\'' +
+                ", exitoso=" + exitoso +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una emisión masiva de tarjetas, con el detalle de cada solicitud en el orden recibido.
+ */
+public class ResultadoEmisionMasivaDTO {
+
+    private int total;
+
+    private int exitosas;
+
+    private int fallidas;
+
+    private List<ResultadoEmisionTarjetaDTO> resultados;
+
+    // Constructores
+    public ResultadoEmisionMasivaDTO() {}
+
+    public ResultadoEmisionMasivaDTO(List<ResultadoEmisionTarjetaDTO> resultados) {
+        this.resultados = resultados;
+        this.total = resultados.size();
+        this.exitosas = (int) resultados.stream().filter(ResultadoEmisionTarjetaDTO::isExitoso).count();
+        this.fallidas = total - exitosas;
+    }
+
+    // Getters y Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getExitosas() {
+        return exitosas;
+    }
+
+    public void setExitosas(int exitosas) {
+        this.exitosas = exitosas;
+    }
+
+    public int getFallidas() {
+        return fallidas;
+    }
+
+    public void setFallidas(int fallidas) {
+        this.fallidas = fallidas;
+    }
+
+    public List<ResultadoEmisionTarjetaDTO> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ResultadoEmisionTarjetaDTO> resultados) {
+        this.resultados = resultados;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoEmisionMasivaDTO{" +
+                "total=" + total +
+                ", exitosas=" + exitosas +
+                ", fallidas=" + fallidas +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+/**
+ * Resultado de la emisión de una tarjeta dentro de una emisión masiva.
+ * {@code indice} es la posición de la solicitud en la lista recibida.
+ */
+public class ResultadoEmisionTarjetaDTO {
+
+    private int indice;
+
+    private String cedula;
+
+    private boolean exitoso;
+
+    private TarjetaDebitoDTO tarjeta;
+
+    private String error;
+
+    // Constructores
+    public ResultadoEmisionTarjetaDTO() {}
+
+    public static ResultadoEmisionTarjetaDTO exitoso(int indice, TarjetaDebitoDTO tarjeta) {
+        ResultadoEmisionTarjetaDTO resultado = new ResultadoEmisionTarjetaDTO();
+        resultado.indice = indice;
+        resultado.cedula = tarjeta.getCedula();
+        resultado.exitoso = true;
+        resultado.tarjeta = tarjeta;
+        return resultado;
+    }
+
+    public static ResultadoEmisionTarjetaDTO fallido(int indice, String cedula, String error) {
+        ResultadoEmisionTarjetaDTO resultado = new ResultadoEmisionTarjetaDTO();
+        resultado.indice = indice;
+        resultado.cedula = cedula;
+        resultado.exitoso = false;
+        resultado.error = error;
+        return resultado;
+    }
+
+    // Getters y Setters
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public String getCedula() {
+        return cedula;
+    }
+
+    public void setCedula(String cedula) {
+        this.cedula = cedula;
+    }
+
+    public boolean isExitoso() {
+        return exitoso;
+    }
+
+    public void setExitoso(boolean exitoso) {
+        this.exitoso = exitoso;
+    }
+
+    public TarjetaDebitoDTO getTarjeta() {
+        return tarjeta;
+    }
+
+    public void setTarjeta(TarjetaDebitoDTO tarjeta) {
+        this.tarjeta = tarjeta;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoEmisionTarjetaDTO{" +
+                "indice=" + indice +
+                ", exitoso=" + exitoso +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import com.bancopichincha.tarjetasdebito.logging.DatosSensibles;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.math.BigDecimal;
+
+/**
+ * Solicitud de autorización de un débito (compra o retiro) sobre una tarjeta
+ */
+public class SolicitudAutorizacionDTO {
+
+    @NotBlank(message = "El número de tarjeta es obligatorio")
+    @Pattern(regexp = "\\d{16}", message = "El número de tarjeta debe tener exactamente 16 dígitos")
+    private String numeroTarjeta;
+
+    @NotNull(message = "El monto es obligatorio")
+    @DecimalMin(value = "0.01", message = "El monto debe ser mayor que 0")
+    @Digits(integer = 8, fraction = 2, message = "El monto admite hasta 8 enteros y 2 decimales")
+    private BigDecimal monto;
+
+    // Constructores
+    public SolicitudAutorizacionDTO() {}
+
+    public SolicitudAutorizacionDTO(String numeroTarjeta, BigDecimal monto) {
+        this.numeroTarjeta = numeroTarjeta;
+        this.monto = monto;
+    }
+
+    // Getters y Setters
+    public String getNumeroTarjeta() {
+        return numeroTarjeta;
+    }
+
+    public void setNumeroTarjeta(String numeroTarjeta) {
+        this.numeroTarjeta = numeroTarjeta;
+    }
+
+    public BigDecimal getMonto() {
+        return monto;
+    }
+
+    public void setMonto(BigDecimal monto) {
+        this.monto = monto;
+    }
+
+    @Override
+    public String toString() {
+        return "SolicitudAutorizacionDTO{" +
+                "numeroTarjeta='" + DatosSensibles.enmascararNumeroTarjeta(numeroTarjeta) + '\'' +
+                ", monto=" + monto +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Solicitud de cambio de estado de varias tarjetas, indicadas por ID o por número de tarjeta (una sola de las
+ * dos listas)
+ */
+public class SolicitudCambioEstadoMasivoDTO {
+
+    @NotNull(message = "El estado destino es obligatorio")
+    private EstadoTarjeta estado;
+
+    private List<Long> ids;
+
+    private List<String> numerosTarjeta;
+
+    // Constructores
+    public SolicitudCambioEstadoMasivoDTO() {}
+
+    public SolicitudCambioEstadoMasivoDTO(EstadoTarjeta estado, List<Long> ids, List<String> numerosTarjeta) {
+        this.estado = estado;
+        this.ids = ids;
+        this.numerosTarjeta = numerosTarjeta;
+    }
+
+    // Getters y Setters
+    public EstadoTarjeta getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoTarjeta estado) {
+        this.estado = estado;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getNumerosTarjeta() {
+        return numerosTarjeta;
+    }
+
+    public void setNumerosTarjeta(List<String> numerosTarjeta) {
+        this.numerosTarjeta = numerosTarjeta;
+    }
+
+    @Override
+    public String toString() {
+        return "SolicitudCambioEstadoMasivoDTO{" +
+                "estado=" + estado +
+                ", ids=" + (ids != null ? ids.size() : 0) +
+                ", numerosTarjeta=" + (numerosTarjeta != null ? numerosTarjeta.size() : 0) +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.bancopichincha.tarjetasdebito.model.dto;
 
+import com.bancopichincha.tarjetasdebito.logging.DatosSensibles;
 import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
 import jakarta.validation.constraints.*;
 
@@ -105,7 +106,7 @@ public class TarjetaDebitoCreateDTO {
     public String toString() {
         return "TarjetaDebitoCreateDTO{" +
                 "nombreTitular='" + nombreTitular + '\'' +
-                ", cedula='" + cedula + '\'' +
+                ", cedula='" + DatosSensibles.enmascararCedula(cedula) + '\'' +
                 ", limiteDiario=" + limiteDiario +
                 ", saldoInicial=" + saldoInicial +
                 ", tipoTarjeta=" + tipoTarjeta +
@@ -1,5 +1,6 @@
 package com.bancopichincha.tarjetasdebito.model.dto;
 
+import com.bancopichincha.tarjetasdebito.logging.DatosSensibles;
 import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
 import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -76,6 +77,16 @@ public class TarjetaDebitoDTO {
         this.tipoTarjeta = tipoTarjeta;
     }
 
+    public TarjetaDebitoDTO(TarjetaDebitoDTO otra) {
+        this(otra.numeroTarjeta, otra.nombreTitular, otra.cedula, otra.fechaExpiracion, otra.cvv,
+                otra.limiteDiario, otra.saldoDisponible, otra.estado, otra.tipoTarjeta);
+        this.id = otra.id;
+        this.fechaCreacion = otra.fechaCreacion;
+        this.fechaActualizacion = otra.fechaActualizacion;
+        this.telefono = otra.telefono;
+        this.email = otra.email;
+    }
+
     // Getters y Setters
     public Long getId() {
         return id;
@@ -193,9 +204,9 @@ public class TarjetaDebitoDTO {
     public String toString() {
         return "TarjetaDebitoDTO{" +
                 "id=" + id +
-                ", numeroTarjeta='" + numeroTarjeta + '\'' +
+                ", numeroTarjeta='" + DatosSensibles.enmascararNumeroTarjeta(numeroTarjeta) + '\'' +
                 ", nombreTitular='" + nombreTitular + '\'' +
-                ", cedula='" + cedula + '\'' +
+                ", cedula='" + DatosSensibles.enmascararCedula(cedula) + '\'' +
                 ", fechaExpiracion=" + fechaExpiracion +
                 ", limiteDiario=" + limiteDiario +
                 ", saldoDisponible=" + saldoDisponible +
@@ -0,0 +1,67 @@
+package com.bancopichincha.tarjetasdebito.model.dto;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+
+import java.time.LocalDate;
+
+/**
+ * Estado vigente de una tarjeta para decidir si puede usarse. Una tarjeta expirada se informa VENCIDA aunque
+ * la tarea diaria de vencimiento aún no la haya marcado.
+ */
+public class ValidezTarjetaDTO {
+
+    private EstadoTarjeta estado;
+
+    private TipoTarjeta tipoTarjeta;
+
+    private LocalDate fechaExpiracion;
+
+    private boolean utilizable;
+
+    // Constructores
+    public ValidezTarjetaDTO() {}
+
+    public ValidezTarjetaDTO(EstadoTarjeta estado, TipoTarjeta tipoTarjeta, LocalDate fechaExpiracion, LocalDate hoy) {
+        boolean expirada = fechaExpiracion.isBefore(hoy);
+        this.estado = expirada && EstadoTarjeta.origenesPermitidos(EstadoTarjeta.VENCIDA).contains(estado)
+                ? EstadoTarjeta.VENCIDA
+                : estado;
+        this.tipoTarjeta = tipoTarjeta;
+        this.fechaExpiracion = fechaExpiracion;
+        this.utilizable = this.estado == EstadoTarjeta.ACTIVA && !expirada;
+    }
+
+    // Getters y Setters
+    public EstadoTarjeta getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoTarjeta estado) {
+        this.estado = estado;
+    }
+
+    public TipoTarjeta getTipoTarjeta() {
+        return tipoTarjeta;
+    }
+
+    public void setTipoTarjeta(TipoTarjeta tipoTarjeta) {
+        this.tipoTarjeta = tipoTarjeta;
+    }
+
+    public LocalDate getFechaExpiracion() {
+        return fechaExpiracion;
+    }
+
+    public void setFechaExpiracion(LocalDate fechaExpiracion) {
+        this.fechaExpiracion = fechaExpiracion;
+    }
+
+    public boolean isUtilizable() {
+        return utilizable;
+    }
+
+    public void setUtilizable(boolean utilizable) {
+        this.utilizable = utilizable;
+    }
+}
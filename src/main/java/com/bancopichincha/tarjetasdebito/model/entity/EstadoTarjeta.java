@@ -1,5 +1,11 @@
 package com.bancopichincha.tarjetasdebito.model.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum EstadoTarjeta {
     ACTIVA("Activa"),
     BLOQUEADA("Bloqueada"),
@@ -7,6 +13,26 @@ public enum EstadoTarjeta {
     VENCIDA("Vencida"),
     SUSPENDIDA("Suspendida");
 
+    // Tabla de transiciones permitidas (estado actual -> estados destino) y su inversa (destino -> orígenes)
+    private static final Map<EstadoTarjeta, Set<EstadoTarjeta>> DESTINOS = new EnumMap<>(EstadoTarjeta.class);
+
+    private static final Map<EstadoTarjeta, Set<EstadoTarjeta>> ORIGENES = new EnumMap<>(EstadoTarjeta.class);
+
+    static {
+        permitir(ACTIVA, BLOQUEADA, CANCELADA, SUSPENDIDA, VENCIDA);
+        permitir(BLOQUEADA, ACTIVA, CANCELADA, VENCIDA);
+        permitir(SUSPENDIDA, ACTIVA, BLOQUEADA, CANCELADA, VENCIDA);
+        permitir(VENCIDA, CANCELADA);
+        permitir(CANCELADA);
+
+        Map<EstadoTarjeta, Set<EstadoTarjeta>> origenes = new EnumMap<>(EstadoTarjeta.class);
+        for (EstadoTarjeta estado : values()) {
+            origenes.put(estado, EnumSet.noneOf(EstadoTarjeta.class));
+        }
+        DESTINOS.forEach((origen, destinos) -> destinos.forEach(destino -> origenes.get(destino).add(origen)));
+        origenes.forEach((destino, desde) -> ORIGENES.put(destino, Collections.unmodifiableSet(desde)));
+    }
+
     private final String descripcion;
 
     EstadoTarjeta(String descripcion) {
@@ -16,4 +42,31 @@ public enum EstadoTarjeta {
     public String getDescripcion() {
         return descripcion;
     }
+
+    /**
+     * Indica si una tarjeta en este estado puede pasar a {@code destino}
+     */
+    public boolean puedeCambiarA(EstadoTarjeta destino) {
+        return DESTINOS.get(this).contains(destino);
+    }
+
+    /**
+     * Estados a los que puede pasar una tarjeta en este estado
+     */
+    public Set<EstadoTarjeta> getDestinosPermitidos() {
+        return DESTINOS.get(this);
+    }
+
+    /**
+     * Estados desde los que se permite pasar a {@code destino}
+     */
+    public static Set<EstadoTarjeta> origenesPermitidos(EstadoTarjeta destino) {
+        return ORIGENES.get(destino);
+    }
+
+    private static void permitir(EstadoTarjeta origen, EstadoTarjeta... destinos) {
+        Set<EstadoTarjeta> permitidos = EnumSet.noneOf(EstadoTarjeta.class);
+        Collections.addAll(permitidos, destinos);
+        DESTINOS.put(origen, Collections.unmodifiableSet(permitidos));
+    }
 }
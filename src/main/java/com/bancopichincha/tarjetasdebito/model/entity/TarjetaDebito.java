@@ -1,26 +1,53 @@
 package com.bancopichincha.tarjetasdebito.model.entity;
 
+import com.bancopichincha.tarjetasdebito.logging.DatosSensibles;
+import com.bancopichincha.tarjetasdebito.util.TarjetaDebitoIdGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tarjetas_debito")
+@Table(name = "tarjetas_debito", indexes = {
+        // Listados y páginas por estado o tipo (H2 agrega el ID al final del índice, lo que sirve al ORDER BY id)
+        @Index(name = "idx_tarjetas_estado", columnList = "estado"),
+        @Index(name = "idx_tarjetas_tipo_tarjeta", columnList = "tipo_tarjeta"),
+        // Tarjetas vencidas (rango de fecha sin estado fijo) y próximas a vencer (estado fijo + rango de fecha)
+        @Index(name = "idx_tarjetas_fecha_expiracion", columnList = "fecha_expiracion"),
+        @Index(name = "idx_tarjetas_estado_fecha_expiracion", columnList = "estado, fecha_expiracion"),
+        // Tarjetas activas de un titular
+        @Index(name = "idx_tarjetas_cedula_estado", columnList = "cedula, estado")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = TarjetaDebito.UK_NUMERO_TARJETA, columnNames = "numero_tarjeta"),
+        @UniqueConstraint(name = TarjetaDebito.UK_CEDULA, columnNames = "cedula")
+})
 public class TarjetaDebito {
 
+    // Nombres de las restricciones únicas, usados para traducir violaciones a errores de negocio
+    public static final String UK_NUMERO_TARJETA = "uk_tarjetas_numero_tarjeta";
+    public static final String UK_CEDULA = "uk_tarjetas_cedula";
+
+    // Secuencia con asignación por bloques (pooled-lo) en lugar de IDENTITY para permitir INSERT por lotes
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "tarjetas_debito_id")
+    @GenericGenerator(name = "tarjetas_debito_id", type = TarjetaDebitoIdGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "tarjetas_debito_seq"),
+            @Parameter(name = SequenceStyleGenerator.INITIAL_PARAM, value = "1"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
 
     @NotBlank(message = "El número de tarjeta es obligatorio")
     @Pattern(regexp = "\\d{16}", message = "El número de tarjeta debe tener exactamente 16 dígitos")
-    @Column(name = "numero_tarjeta", unique = true, nullable = false, length = 16)
+    @Column(name = "numero_tarjeta", nullable = false, length = 16)
     private String numeroTarjeta;
 
     @NotBlank(message = "El nombre del titular es obligatorio")
@@ -30,7 +57,7 @@ public class TarjetaDebito {
 
     @NotBlank(message = "La cédula es obligatoria")
     @Pattern(regexp = "\\d{10}", message = "La cédula debe tener exactamente 10 dígitos")
-    @Column(name = "cedula", unique = true, nullable = false, length = 10)
+    @Column(name = "cedula", nullable = false, length = 10)
     private String cedula;
 
     @NotNull(message = "La fecha de expiración es obligatoria")
@@ -46,8 +73,10 @@ public class TarjetaDebito {
     @Column(name = "limite_diario", nullable = false, precision = 10, scale = 2)
     private BigDecimal limiteDiario;
 
+    // Después del INSERT solo lo modifica el motor de autorizaciones (SaldosTarjetaRepository): guardar la
+    // entidad no debe sobrescribir débitos aplicados en memoria y aún no persistidos
     @NotNull(message = "El saldo disponible es obligatorio")
-    @Column(name = "saldo_disponible", nullable = false, precision = 10, scale = 2)
+    @Column(name = "saldo_disponible", nullable = false, precision = 10, scale = 2, updatable = false)
     private BigDecimal saldoDisponible;
 
     @Enumerated(EnumType.STRING)
@@ -70,6 +99,13 @@ public class TarjetaDebito {
     @Column(name = "email", length = 100)
     private String email;
 
+    // Consumo del límite diario en fechaConsumo: igual que el saldo, solo lo escribe SaldosTarjetaRepository
+    @Column(name = "consumo_diario", nullable = false, precision = 10, scale = 2, updatable = false)
+    private BigDecimal consumoDiario = BigDecimal.ZERO;
+
+    @Column(name = "fecha_consumo", updatable = false)
+    private LocalDate fechaConsumo;
+
     // Constructores
     public TarjetaDebito() {
         this.fechaCreacion = LocalDateTime.now();
@@ -204,6 +240,22 @@ public class TarjetaDebito {
         this.email = email;
     }
 
+    public BigDecimal getConsumoDiario() {
+        return consumoDiario;
+    }
+
+    public void setConsumoDiario(BigDecimal consumoDiario) {
+        this.consumoDiario = consumoDiario;
+    }
+
+    public LocalDate getFechaConsumo() {
+        return fechaConsumo;
+    }
+
+    public void setFechaConsumo(LocalDate fechaConsumo) {
+        this.fechaConsumo = fechaConsumo;
+    }
+
     @PreUpdate
     protected void onUpdate() {
         fechaActualizacion = LocalDateTime.now();
@@ -213,9 +265,9 @@ public class TarjetaDebito {
     public String toString() {
         return "TarjetaDebito{" +
                 "id=" + id +
-                ", numeroTarjeta='" + numeroTarjeta + '\'' +
+                ", numeroTarjeta='" + DatosSensibles.enmascararNumeroTarjeta(numeroTarjeta) + '\'' +
                 ", nombreTitular='" + nombreTitular + '\'' +
-                ", cedula='" + cedula + '\'' +
+                ", cedula='" + DatosSensibles.enmascararCedula(cedula) + '\'' +
                 ", fechaExpiracion=" + fechaExpiracion +
                 ", limiteDiario=" + limiteDiario +
                 ", saldoDisponible=" + saldoDisponible +
@@ -0,0 +1,91 @@
+package com.bancopichincha.tarjetasdebito.repository;
+
+import com.bancopichincha.tarjetasdebito.autorizacion.SaldoTarjeta;
+import com.bancopichincha.tarjetasdebito.journal.RegistroSaldo;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escritura de los saldos y consumos diarios calculados por el motor de autorizaciones, en un único lote JDBC
+ * de UPDATE por clave primaria. Se escriben valores absolutos (no diferencias), así que repetir un lote no
+ * altera el resultado.
+ */
+@Repository
+public class SaldosTarjetaRepository {
+
+    private static final String ACTUALIZAR_SALDO = "UPDATE tarjetas_debito SET saldo_disponible = ?, "
+            + "consumo_diario = ?, fecha_consumo = ?, fecha_actualizacion = ? WHERE id = ?";
+
+    private static final String CONSUMOS_DEL_DIA =
+            "SELECT id, consumo_diario FROM tarjetas_debito WHERE fecha_consumo = ? AND consumo_diario > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SaldosTarjetaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Escribir el saldo de cada tarjeta y su consumo en {@code dia}; {@code consumidosCentavos[i]} corresponde
+     * a {@code saldos.get(i)}
+     */
+    public void actualizarSaldos(List<SaldoTarjeta> saldos, long[] consumidosCentavos, LocalDate dia,
+                                 LocalDateTime ahora) {
+        Date fechaConsumo = Date.valueOf(dia);
+        Timestamp fechaActualizacion = Timestamp.valueOf(ahora);
+        jdbcTemplate.batchUpdate(ACTUALIZAR_SALDO, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement sentencia, int i) throws SQLException {
+                SaldoTarjeta saldo = saldos.get(i);
+                sentencia.setBigDecimal(1, SaldoTarjeta.aMonto(saldo.getSaldoCentavos()));
+                sentencia.setBigDecimal(2, SaldoTarjeta.aMonto(consumidosCentavos[i]));
+                sentencia.setDate(3, fechaConsumo);
+                sentencia.setTimestamp(4, fechaActualizacion);
+                sentencia.setLong(5, saldo.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return saldos.size();
+            }
+        });
+    }
+
+    /**
+     * Escribir el saldo y el consumo de cada registro del journal de saldos
+     */
+    public void aplicarRegistros(List<RegistroSaldo> registros, LocalDateTime ahora) {
+        Timestamp fechaActualizacion = Timestamp.valueOf(ahora);
+        jdbcTemplate.batchUpdate(ACTUALIZAR_SALDO, registros, registros.size(), (sentencia, registro) -> {
+            sentencia.setBigDecimal(1, SaldoTarjeta.aMonto(registro.getSaldoCentavos()));
+            sentencia.setBigDecimal(2, SaldoTarjeta.aMonto(registro.getConsumidoCentavos()));
+            sentencia.setDate(3, Date.valueOf(registro.getDiaConsumo()));
+            sentencia.setTimestamp(4, fechaActualizacion);
+            sentencia.setLong(5, registro.getIdTarjeta());
+        });
+    }
+
+    /**
+     * Recorrer las tarjetas con consumo en {@code dia}, fila por fila y sin cargar entidades
+     */
+    public void recorrerConsumos(LocalDate dia, ConsumidorConsumo consumidor) {
+        jdbcTemplate.query(CONSUMOS_DEL_DIA, fila -> {
+            consumidor.aceptar(fila.getLong(1), SaldoTarjeta.aCentavos(fila.getBigDecimal(2)));
+        }, Date.valueOf(dia));
+    }
+
+    @FunctionalInterface
+    public interface ConsumidorConsumo {
+
+        void aceptar(long id, long consumidoCentavos);
+    }
+}
@@ -0,0 +1,49 @@
+package com.bancopichincha.tarjetasdebito.repository;
+
+import com.bancopichincha.tarjetasdebito.util.ReservaNumerosTarjeta;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reserva de bloques de números de tarjeta sobre la secuencia {@code tarjetas_numero_seq}.
+ * La secuencia avanza de a un bloque completo por llamada, de modo que varios nodos que comparten
+ * la base de datos nunca reciben el mismo rango. La secuencia la crea el esquema (migración V1, o
+ * {@code db/secuencias.sql} cuando Hibernate genera el esquema) y el tamaño del bloque es su incremento.
+ */
+@Repository
+public class SecuenciaNumerosTarjetaRepository implements ReservaNumerosTarjeta {
+
+    private static final String SECUENCIA = "TARJETAS_NUMERO_SEQ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Se lee con la primera reserva: al crear el bean el esquema puede no estar generado todavía
+    private volatile int tamanioBloque;
+
+    public SecuenciaNumerosTarjetaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long reservarBloque() {
+        Long inicio = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + SECUENCIA, Long.class);
+        return inicio != null ? inicio : 0L;
+    }
+
+    // Se usa el incremento real de la secuencia para que los bloques no se solapen
+    @Override
+    public int tamanioBloque() {
+        if (tamanioBloque == 0) {
+            List<Long> incremento = jdbcTemplate.queryForList(
+                    "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND SEQUENCE_NAME = ?",
+                    Long.class, SECUENCIA);
+            if (incremento.isEmpty()) {
+                throw new IllegalStateException("No existe la secuencia " + SECUENCIA + "; falta aplicar el esquema");
+            }
+            tamanioBloque = incremento.get(0).intValue();
+        }
+        return tamanioBloque;
+    }
+}
@@ -3,13 +3,24 @@ package com.bancopichincha.tarjetasdebito.repository;
 import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
 import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
 import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TarjetaDebitoRepository extends JpaRepository<TarjetaDebito, Long> {
@@ -55,6 +66,12 @@ public interface TarjetaDebitoRepository extends JpaRepository<TarjetaDebito, Lo
     @Query("SELECT t FROM TarjetaDebito t WHERE t.cedula = :cedula AND t.estado = :estado")
     List<TarjetaDebito> findActiveTarjetasByCedula(@Param("cedula") String cedula, @Param("estado") EstadoTarjeta estado);
 
+    /**
+     * Obtener, de las cédulas indicadas, las que ya tienen una tarjeta registrada (emisión masiva)
+     */
+    @Query("SELECT t.cedula FROM TarjetaDebito t WHERE t.cedula IN :cedulas")
+    List<String> findCedulasExistentes(@Param("cedulas") Collection<String> cedulas);
+
     /**
      * Obtener tarjetas por estado y tipo
      */
@@ -68,14 +85,154 @@ public interface TarjetaDebitoRepository extends JpaRepository<TarjetaDebito, Lo
     Long countByEstado(@Param("estado") EstadoTarjeta estado);
 
     /**
-     * Obtener tarjetas próximas a vencer (en los próximos 30 días)
+     * Contar tarjetas agrupadas por estado y tipo (filas: estado, tipo, cantidad)
      */
-    @Query("SELECT t FROM TarjetaDebito t WHERE t.fechaExpiracion <= CURRENT_DATE + 30 AND t.estado = 'ACTIVA'")
-    List<TarjetaDebito> findTarjetasProximasAVencer();
+    @Query("SELECT t.estado, t.tipoTarjeta, COUNT(t) FROM TarjetaDebito t GROUP BY t.estado, t.tipoTarjeta")
+    List<Object[]> contarPorEstadoYTipo();
+
+    /**
+     * Obtener tarjetas activas que vencen hasta la fecha {@code limite} inclusive
+     */
+    @Query("SELECT t FROM TarjetaDebito t WHERE t.fechaExpiracion <= :limite AND t.estado = 'ACTIVA'")
+    List<TarjetaDebito> findTarjetasProximasAVencer(@Param("limite") LocalDate limite);
 
     /**
      * Obtener tarjetas vencidas
      */
     @Query("SELECT t FROM TarjetaDebito t WHERE t.fechaExpiracion < CURRENT_DATE AND t.estado != 'VENCIDA'")
     List<TarjetaDebito> findTarjetasVencidas();
+
+    /**
+     * Filas (id, numeroTarjeta, tipoTarjeta, fechaExpiracion) que {@link #marcarVencidasEnRango} marca en el
+     * mismo rango, bloqueadas hasta el fin de la transacción
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id, t.numeroTarjeta, t.tipoTarjeta, t.fechaExpiracion FROM TarjetaDebito t " +
+           "WHERE t.id > :desdeId AND t.id <= :hastaId AND t.fechaExpiracion < :hoy AND t.estado IN :origenes")
+    List<Object[]> findVencidasParaMarcarEnRango(@Param("desdeId") Long desdeId, @Param("hastaId") Long hastaId,
+                                                 @Param("hoy") LocalDate hoy,
+                                                 @Param("origenes") Collection<EstadoTarjeta> origenes);
+
+    /**
+     * Marcar como vencidas las tarjetas expiradas dentro de un rango de IDs (desdeId, hastaId]
+     * cuyo estado admite pasar a vencida ({@code origenes})
+     */
+    @Modifying
+    @Query("UPDATE TarjetaDebito t SET t.estado = :vencida, t.fechaActualizacion = :ahora " +
+           "WHERE t.id > :desdeId AND t.id <= :hastaId AND t.fechaExpiracion < :hoy AND t.estado IN :origenes")
+    int marcarVencidasEnRango(@Param("desdeId") Long desdeId, @Param("hastaId") Long hastaId,
+                              @Param("hoy") LocalDate hoy, @Param("ahora") LocalDateTime ahora,
+                              @Param("vencida") EstadoTarjeta vencida,
+                              @Param("origenes") Collection<EstadoTarjeta> origenes);
+
+    /**
+     * Cambiar el estado de una tarjeta solo si su estado actual está en {@code origenes}.
+     * Retorna 1 si se aplicó y 0 si la tarjeta no existe o su estado no admite la transición.
+     */
+    @Modifying
+    @Query("UPDATE TarjetaDebito t SET t.estado = :nuevoEstado, t.fechaActualizacion = :ahora " +
+           "WHERE t.id = :id AND t.estado IN :origenes")
+    int cambiarEstado(@Param("id") Long id, @Param("nuevoEstado") EstadoTarjeta nuevoEstado,
+                      @Param("origenes") Collection<EstadoTarjeta> origenes, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Cambiar el estado de las tarjetas indicadas cuyo estado actual está en {@code origenes}.
+     * Retorna la cantidad de tarjetas actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE TarjetaDebito t SET t.estado = :nuevoEstado, t.fechaActualizacion = :ahora " +
+           "WHERE t.id IN :ids AND t.estado IN :origenes")
+    int cambiarEstadoEnLote(@Param("ids") Collection<Long> ids, @Param("nuevoEstado") EstadoTarjeta nuevoEstado,
+                            @Param("origenes") Collection<EstadoTarjeta> origenes, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Filas (id, numeroTarjeta, estado, tipoTarjeta, fechaExpiracion) de las tarjetas con los IDs indicados,
+     * bloqueadas hasta el fin de la transacción (cambio de estado masivo)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id, t.numeroTarjeta, t.estado, t.tipoTarjeta, t.fechaExpiracion FROM TarjetaDebito t " +
+           "WHERE t.id IN :ids")
+    List<Object[]> findEstadosParaCambioPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Filas (id, numeroTarjeta, estado, tipoTarjeta, fechaExpiracion) de las tarjetas con los números indicados,
+     * bloqueadas hasta el fin de la transacción (cambio de estado masivo)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id, t.numeroTarjeta, t.estado, t.tipoTarjeta, t.fechaExpiracion FROM TarjetaDebito t " +
+           "WHERE t.numeroTarjeta IN :numeros")
+    List<Object[]> findEstadosParaCambioPorNumeros(@Param("numeros") Collection<String> numeros);
+
+    /**
+     * Obtener el menor ID registrado
+     */
+    @Query("SELECT MIN(t.id) FROM TarjetaDebito t")
+    Long findMinId();
+
+    /**
+     * Obtener el mayor ID registrado
+     */
+    @Query("SELECT MAX(t.id) FROM TarjetaDebito t")
+    Long findMaxId();
+
+    /**
+     * Página de tarjetas posteriores al ID indicado (paginación por keyset, sin OFFSET)
+     */
+    @Query("SELECT t FROM TarjetaDebito t WHERE t.id > :ultimoId ORDER BY t.id ASC")
+    List<TarjetaDebito> findPaginaDespuesDe(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Página de tarjetas por estado posteriores al ID indicado
+     */
+    @Query("SELECT t FROM TarjetaDebito t WHERE t.estado = :estado AND t.id > :ultimoId ORDER BY t.id ASC")
+    List<TarjetaDebito> findPaginaPorEstadoDespuesDe(@Param("estado") EstadoTarjeta estado,
+                                                     @Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Página de tarjetas por tipo posteriores al ID indicado
+     */
+    @Query("SELECT t FROM TarjetaDebito t WHERE t.tipoTarjeta = :tipoTarjeta AND t.id > :ultimoId ORDER BY t.id ASC")
+    List<TarjetaDebito> findPaginaPorTipoDespuesDe(@Param("tipoTarjeta") TipoTarjeta tipoTarjeta,
+                                                   @Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Bloque de pares (id, nombreTitular) posteriores al ID indicado, para cargar el índice de nombres
+     */
+    @Query("SELECT t.id, t.nombreTitular FROM TarjetaDebito t WHERE t.id > :ultimoId ORDER BY t.id ASC")
+    List<Object[]> findNombresDespuesDe(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Bloque de filas (id, numeroTarjeta, estado, tipoTarjeta, fechaExpiracion) posteriores al ID indicado,
+     * para cargar el índice de estados
+     */
+    @Query("SELECT t.id, t.numeroTarjeta, t.estado, t.tipoTarjeta, t.fechaExpiracion FROM TarjetaDebito t " +
+           "WHERE t.id > :ultimoId ORDER BY t.id ASC")
+    List<Object[]> findEstadosDespuesDe(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Bloque de filas (id, numeroTarjeta, cedula) posteriores al ID indicado, para cargar los filtros de existencia
+     */
+    @Query("SELECT t.id, t.numeroTarjeta, t.cedula FROM TarjetaDebito t WHERE t.id > :ultimoId ORDER BY t.id ASC")
+    List<Object[]> findNumerosYCedulasDespuesDe(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Página de tarjetas por nombre del titular (búsqueda parcial) posteriores al ID indicado
+     */
+    @Query("SELECT t FROM TarjetaDebito t WHERE LOWER(t.nombreTitular) LIKE LOWER(CONCAT('%', :nombreTitular, '%')) " +
+           "AND t.id > :ultimoId ORDER BY t.id ASC")
+    List<TarjetaDebito> findPaginaPorNombreDespuesDe(@Param("nombreTitular") String nombreTitular,
+                                                     @Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Recorrer tarjetas para exportación, filtrando opcionalmente por estado y tipo.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TarjetaDebito t WHERE (:estado IS NULL OR t.estado = :estado) " +
+           "AND (:tipoTarjeta IS NULL OR t.tipoTarjeta = :tipoTarjeta) ORDER BY t.id ASC")
+    Stream<TarjetaDebito> streamParaExportacion(@Param("estado") EstadoTarjeta estado,
+                                               @Param("tipoTarjeta") TipoTarjeta tipoTarjeta);
 }
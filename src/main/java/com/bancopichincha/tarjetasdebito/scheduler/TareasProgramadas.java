@@ -0,0 +1,93 @@
+package com.bancopichincha.tarjetasdebito.scheduler;
+
+import com.bancopichincha.tarjetasdebito.service.TarjetaDebitoService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TareasProgramadas {
+
+    private static final Logger logger = LoggerFactory.getLogger(TareasProgramadas.class);
+
+    @Autowired
+    private TarjetaDebitoService tarjetaDebitoService;
+
+    /**
+     * Marcar como vencidas las tarjetas expiradas (por defecto, diariamente a la 01:00)
+     */
+    @Scheduled(cron = "${tarjetas.vencimiento.cron:0 0 1 * * *}", zone = "${tarjetas.zona-horaria:America/Guayaquil}")
+    public void actualizarTarjetasVencidas() {
+        logger.info("Ejecutando tarea programada de tarjetas vencidas");
+        int actualizadas = tarjetaDebitoService.actualizarTarjetasVencidas();
+        logger.info("Tarea programada de tarjetas vencidas finalizada: {} tarjetas actualizadas", actualizadas);
+    }
+
+    /**
+     * Reconciliar los contadores de estadísticas con la base de datos (por defecto, cada 5 minutos)
+     */
+    @Scheduled(fixedDelayString = "${tarjetas.estadisticas.reconciliacion-ms:300000}",
+               initialDelayString = "${tarjetas.estadisticas.reconciliacion-ms:300000}")
+    public void reconciliarEstadisticas() {
+        tarjetaDebitoService.reconciliarEstadisticas();
+    }
+
+    /**
+     * Cargar el índice de búsqueda por nombre una vez iniciada la aplicación;
+     * mientras tanto las búsquedas por nombre se resuelven en la base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarIndiceNombres() {
+        tarjetaDebitoService.cargarIndiceNombres();
+    }
+
+    /**
+     * Cargar el índice de estados por número de tarjeta una vez iniciada la aplicación;
+     * mientras tanto las consultas de validez se resuelven con la caché y la base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarIndiceEstados() {
+        tarjetaDebitoService.cargarIndiceEstados();
+    }
+
+    /**
+     * Cargar los filtros de existencia una vez iniciada la aplicación;
+     * mientras tanto las consultas de existencia van a la base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarFiltrosExistencia() {
+        tarjetaDebitoService.cargarFiltrosExistencia();
+    }
+
+    /**
+     * Reconstruir el consumo diario de las tarjetas desde la base de datos una vez iniciada la aplicación;
+     * las tarjetas que autorizan antes de terminar cargan su consumo al cargarse en el motor
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirConsumoDiario() {
+        tarjetaDebitoService.reconstruirConsumoDiario();
+    }
+
+    /**
+     * Persistir los saldos y consumos modificados por autorizaciones (por defecto, cada 100 ms)
+     */
+    @Scheduled(fixedDelayString = "${tarjetas.autorizaciones.intervalo-persistencia-ms:100}")
+    public void persistirAutorizaciones() {
+        tarjetaDebitoService.persistirAutorizaciones();
+    }
+
+    /**
+     * Persistir los saldos pendientes al detener la aplicación: corre después de detener el servidor web
+     * (ya no llegan autorizaciones) y antes de cerrar el pool de conexiones, del que depende este bean
+     */
+    @PreDestroy
+    public void persistirAutorizacionesAlDetener() {
+        int persistidas = tarjetaDebitoService.persistirAutorizaciones();
+        logger.info("Saldos de {} tarjetas persistidos al detener la aplicación", persistidas);
+    }
+}
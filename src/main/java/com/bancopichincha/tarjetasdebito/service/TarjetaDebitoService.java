@@ -1,13 +1,24 @@
 package com.bancopichincha.tarjetasdebito.service;
 
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasCacheDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.LimiteDiarioDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.PaginaTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoAutorizacionDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoCambioEstadoMasivoDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoEmisionMasivaDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudAutorizacionDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudCambioEstadoMasivoDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoCreateDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoUpdateDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ValidezTarjetaDTO;
 import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
 import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TarjetaDebitoService {
 
@@ -17,10 +28,20 @@ public interface TarjetaDebitoService {
     TarjetaDebitoDTO crearTarjeta(TarjetaDebitoCreateDTO tarjetaCreateDTO);
 
     /**
-     * Obtener todas las tarjetas de débito
+     * Crear varias tarjetas de débito, retornando el resultado de cada solicitud
+     */
+    ResultadoEmisionMasivaDTO crearTarjetasMasivo(List<TarjetaDebitoCreateDTO> solicitudes);
+
+    /**
+     * Obtener todas las tarjetas de débito (limitado a tarjetas.paginacion.limite-listados)
      */
     List<TarjetaDebitoDTO> obtenerTodasLasTarjetas();
 
+    /**
+     * Obtener una página de tarjetas a partir del cursor indicado
+     */
+    PaginaTarjetasDTO obtenerPaginaTarjetas(String cursor, Integer tamanio);
+
     /**
      * Obtener una tarjeta por ID
      */
@@ -37,20 +58,35 @@ public interface TarjetaDebitoService {
     List<TarjetaDebitoDTO> obtenerTarjetasPorCedula(String cedula);
 
     /**
-     * Obtener tarjetas por estado
+     * Obtener tarjetas por estado (limitado a tarjetas.paginacion.limite-listados)
      */
     List<TarjetaDebitoDTO> obtenerTarjetasPorEstado(EstadoTarjeta estado);
 
     /**
-     * Obtener tarjetas por tipo
+     * Obtener una página de tarjetas por estado a partir del cursor indicado
+     */
+    PaginaTarjetasDTO obtenerPaginaTarjetasPorEstado(EstadoTarjeta estado, String cursor, Integer tamanio);
+
+    /**
+     * Obtener tarjetas por tipo (limitado a tarjetas.paginacion.limite-listados)
      */
     List<TarjetaDebitoDTO> obtenerTarjetasPorTipo(TipoTarjeta tipoTarjeta);
 
     /**
-     * Buscar tarjetas por nombre del titular
+     * Obtener una página de tarjetas por tipo a partir del cursor indicado
+     */
+    PaginaTarjetasDTO obtenerPaginaTarjetasPorTipo(TipoTarjeta tipoTarjeta, String cursor, Integer tamanio);
+
+    /**
+     * Buscar tarjetas por nombre del titular (limitado a tarjetas.paginacion.limite-listados)
      */
     List<TarjetaDebitoDTO> buscarTarjetasPorNombre(String nombreTitular);
 
+    /**
+     * Buscar una página de tarjetas por nombre del titular a partir del cursor indicado
+     */
+    PaginaTarjetasDTO buscarPaginaTarjetasPorNombre(String nombreTitular, String cursor, Integer tamanio);
+
     /**
      * Actualizar una tarjeta de débito
      */
@@ -71,6 +107,11 @@ public interface TarjetaDebitoService {
      */
     Optional<TarjetaDebitoDTO> cancelarTarjeta(Long id);
 
+    /**
+     * Cambiar el estado de varias tarjetas, retornando el resultado de cada una
+     */
+    ResultadoCambioEstadoMasivoDTO cambiarEstadoMasivo(SolicitudCambioEstadoMasivoDTO solicitud);
+
     /**
      * Eliminar una tarjeta
      */
@@ -97,12 +138,76 @@ public interface TarjetaDebitoService {
     List<TarjetaDebitoDTO> obtenerTarjetasProximasAVencer();
 
     /**
-     * Actualizar tarjetas vencidas
+     * Actualizar tarjetas vencidas, retorna la cantidad de tarjetas actualizadas
      */
-    void actualizarTarjetasVencidas();
+    int actualizarTarjetasVencidas();
 
     /**
      * Obtener estadísticas de tarjetas por estado
      */
     Long contarTarjetasPorEstado(EstadoTarjeta estado);
+
+    /**
+     * Obtener la cantidad de tarjetas por estado y tipo
+     */
+    EstadisticasTarjetasDTO obtenerEstadisticasTarjetas();
+
+    /**
+     * Reconciliar los contadores de estadísticas con la base de datos
+     */
+    void reconciliarEstadisticas();
+
+    /**
+     * Cargar desde la base de datos el índice de búsqueda por nombre
+     */
+    void cargarIndiceNombres();
+
+    /**
+     * Cargar desde la base de datos el índice de estados por número de tarjeta
+     */
+    void cargarIndiceEstados();
+
+    /**
+     * Cargar desde la base de datos los filtros de existencia de números de tarjeta y cédulas
+     */
+    void cargarFiltrosExistencia();
+
+    /**
+     * Indicar si una tarjeta puede usarse (estado y vencimiento), sin cargar la tarjeta completa
+     */
+    ValidezTarjetaDTO consultarValidez(String numeroTarjeta);
+
+    /**
+     * Obtener los contadores de la caché de tarjetas
+     */
+    EstadisticasCacheDTO obtenerEstadisticasCache();
+
+    /**
+     * Exportar tarjetas una a una, filtrando opcionalmente por estado y tipo (null = sin filtro).
+     * Retorna la cantidad de tarjetas exportadas.
+     */
+    long exportarTarjetas(EstadoTarjeta estado, TipoTarjeta tipoTarjeta, Consumer<TarjetaDebitoDTO> consumidor);
+
+    /**
+     * Autorizar un débito sobre una tarjeta (estado, vencimiento, saldo y límite diario) y aplicarlo si se aprueba.
+     * El saldo se persiste en segundo plano con {@link #persistirAutorizaciones()}; con el journal de saldos
+     * habilitado, la respuesta espera a que el débito esté registrado en disco.
+     */
+    ResultadoAutorizacionDTO autorizarDebito(SolicitudAutorizacionDTO solicitud);
+
+    /**
+     * Persistir los saldos y consumos diarios modificados por autorizaciones, retorna la cantidad de tarjetas escritas.
+     * Con el journal de saldos habilitado aplica sus registros durables y retorna la cantidad de registros aplicados.
+     */
+    int persistirAutorizaciones();
+
+    /**
+     * Obtener el límite diario de una tarjeta, lo consumido hoy y lo que queda disponible
+     */
+    LimiteDiarioDTO consultarLimiteDiario(Long id);
+
+    /**
+     * Cargar en memoria el consumo diario persistido de hoy; retorna la cantidad de tarjetas cargadas
+     */
+    int reconstruirConsumoDiario();
 }
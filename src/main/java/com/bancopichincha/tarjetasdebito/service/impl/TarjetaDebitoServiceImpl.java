@@ -1,35 +1,100 @@
 package com.bancopichincha.tarjetasdebito.service.impl;
 
+import com.bancopichincha.tarjetasdebito.autorizacion.CodigoAutorizacion;
+import com.bancopichincha.tarjetasdebito.autorizacion.ConsumoDiario;
+import com.bancopichincha.tarjetasdebito.autorizacion.MotorAutorizaciones;
+import com.bancopichincha.tarjetasdebito.autorizacion.ResultadoAutorizacion;
+import com.bancopichincha.tarjetasdebito.autorizacion.SaldoTarjeta;
+import com.bancopichincha.tarjetasdebito.cache.TarjetaDebitoCache;
+import com.bancopichincha.tarjetasdebito.estadisticas.ContadoresTarjetas;
 import com.bancopichincha.tarjetasdebito.exception.ResourceNotFoundException;
 import com.bancopichincha.tarjetasdebito.exception.BusinessException;
+import com.bancopichincha.tarjetasdebito.indice.FiltrosExistencia;
+import com.bancopichincha.tarjetasdebito.indice.IndiceEstados;
+import com.bancopichincha.tarjetasdebito.indice.IndiceNombres;
+import com.bancopichincha.tarjetasdebito.journal.JournalSaldos;
+import com.bancopichincha.tarjetasdebito.journal.RegistroSaldo;
+import com.bancopichincha.tarjetasdebito.logging.MarcadoresLog;
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasCacheDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.LimiteDiarioDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.PaginaTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoCambioEstadoMasivoDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoCambioEstadoTarjetaDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoAutorizacionDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoEmisionMasivaDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoEmisionTarjetaDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudAutorizacionDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudCambioEstadoMasivoDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoCreateDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoUpdateDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ValidezTarjetaDTO;
 import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
 import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
 import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import com.bancopichincha.tarjetasdebito.repository.SaldosTarjetaRepository;
 import com.bancopichincha.tarjetasdebito.repository.TarjetaDebitoRepository;
 import com.bancopichincha.tarjetasdebito.service.TarjetaDebitoService;
+import com.bancopichincha.tarjetasdebito.util.CursorPaginacion;
 import com.bancopichincha.tarjetasdebito.util.TarjetaDebitoMapper;
 import com.bancopichincha.tarjetasdebito.util.TarjetaNumberGenerator;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed(value = "tarjetas.servicio", description = "Duración de los métodos de TarjetaDebitoService", histogram = true)
 public class TarjetaDebitoServiceImpl implements TarjetaDebitoService {
 
     private static final Logger logger = LoggerFactory.getLogger(TarjetaDebitoServiceImpl.class);
 
+    private static final int DIAS_PROXIMAS_A_VENCER = 30;
+
+    // Bloquear, desbloquear o cancelar; el paso a vencida lo aplica la tarea diaria
+    private static final Set<EstadoTarjeta> ESTADOS_CAMBIO_MASIVO =
+            EnumSet.of(EstadoTarjeta.ACTIVA, EstadoTarjeta.BLOQUEADA, EstadoTarjeta.CANCELADA);
+
     @Autowired
     private TarjetaDebitoRepository tarjetaDebitoRepository;
 
@@ -39,104 +104,312 @@ public class TarjetaDebitoServiceImpl implements TarjetaDebitoService {
     @Autowired
     private TarjetaNumberGenerator tarjetaNumberGenerator;
 
+    @Autowired
+    private TarjetaDebitoCache tarjetaDebitoCache;
+
+    @Autowired
+    private ContadoresTarjetas contadoresTarjetas;
+
+    @Autowired
+    private IndiceNombres indiceNombres;
+
+    @Autowired
+    private IndiceEstados indiceEstados;
+
+    @Autowired
+    private FiltrosExistencia filtrosExistencia;
+
+    @Autowired
+    private MotorAutorizaciones motorAutorizaciones;
+
+    @Autowired
+    private ConsumoDiario consumoDiario;
+
+    // Solo con tarjetas.journal.habilitado=true
+    @Autowired(required = false)
+    private JournalSaldos journalSaldos;
+
+    @Autowired
+    private SaldosTarjetaRepository saldosTarjetaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tarjetas.paginacion.tamanio-por-defecto:20}")
+    private int tamanioPaginaPorDefecto;
+
+    @Value("${tarjetas.paginacion.tamanio-maximo:100}")
+    private int tamanioPaginaMaximo;
+
+    @Value("${tarjetas.paginacion.limite-listados:1000}")
+    private int limiteListados;
+
+    @Value("${tarjetas.exportacion.tamanio-bloque:500}")
+    private int tamanioBloqueExportacion;
+
+    @Value("${tarjetas.vencimiento.tamanio-bloque:10000}")
+    private int tamanioBloqueVencidas;
+
+    @Value("${tarjetas.emision-masiva.tamanio-maximo:5000}")
+    private int tamanioMaximoEmisionMasiva;
+
+    @Value("${tarjetas.emision-masiva.tamanio-bloque:500}")
+    private int tamanioBloqueEmisionMasiva;
+
+    @Value("${tarjetas.cambio-estado-masivo.tamanio-maximo:100000}")
+    private int tamanioMaximoCambioEstadoMasivo;
+
+    @Value("${tarjetas.cambio-estado-masivo.tamanio-bloque:1000}")
+    private int tamanioBloqueCambioEstadoMasivo;
+
+    @Value("${tarjetas.indice-nombres.tamanio-bloque:10000}")
+    private int tamanioBloqueIndiceNombres;
+
+    @Value("${tarjetas.indice-estados.tamanio-bloque:10000}")
+    private int tamanioBloqueIndiceEstados;
+
+    @Value("${tarjetas.filtros-existencia.tamanio-bloque:10000}")
+    private int tamanioBloqueFiltrosExistencia;
+
+    @Value("${tarjetas.zona-horaria:America/Guayaquil}")
+    private ZoneId zonaHoraria;
+
+    @Value("${tarjetas.autorizaciones.tamanio-lote:500}")
+    private int tamanioLoteAutorizaciones;
+
+    // Los saldos se persisten en valor absoluto: con dos escritores uno anterior podría quedar al final
+    private final ReentrantLock bloqueoPersistencia = new ReentrantLock();
+
     @Override
     public TarjetaDebitoDTO crearTarjeta(TarjetaDebitoCreateDTO tarjetaCreateDTO) {
         logger.info("Creando nueva tarjeta de débito para cédula: {}", tarjetaCreateDTO.getCedula());
 
-        // Validar que no exista una tarjeta activa con la misma cédula
-        if (tarjetaDebitoRepository.existsByCedula(tarjetaCreateDTO.getCedula())) {
-            List<TarjetaDebito> tarjetasExistentes = tarjetaDebitoRepository.findActiveTarjetasByCedula(
-                    tarjetaCreateDTO.getCedula(), EstadoTarjeta.ACTIVA);
-            if (!tarjetasExistentes.isEmpty()) {
-                throw new BusinessException("Ya existe una tarjeta activa para la cédula: " + tarjetaCreateDTO.getCedula());
+        // Crear la entidad tarjeta
+        TarjetaDebito tarjeta = nuevaTarjeta(tarjetaCreateDTO, tarjetaNumberGenerator.generateTarjetaNumber());
+
+        // Guardar la tarjeta; la restricción única sobre la cédula detecta los duplicados en el mismo INSERT,
+        // sin consulta previa y sin carrera entre solicitudes concurrentes
+        TarjetaDebito tarjetaGuardada;
+        filtrosExistencia.registrar(tarjeta.getNumeroTarjeta(), tarjeta.getCedula());
+        try {
+            tarjetaGuardada = tarjetaDebitoRepository.saveAndFlush(tarjeta);
+        } catch (DataIntegrityViolationException e) {
+            throw traducirViolacionUnicidad(e, tarjetaCreateDTO.getCedula());
+        }
+        logger.info("Tarjeta creada exitosamente con ID: {}", tarjetaGuardada.getId());
+
+        TarjetaDebitoDTO tarjetaCreada = tarjetaDebitoMapper.toDTO(tarjetaGuardada);
+        trasCommit(() -> {
+            tarjetaDebitoCache.guardar(tarjetaCreada);
+            contadoresTarjetas.incrementar(tarjeta.getEstado(), tarjeta.getTipoTarjeta());
+            indiceNombres.indexar(tarjetaCreada.getId(), tarjetaCreada.getNombreTitular());
+            indiceEstados.registrar(tarjeta.getNumeroTarjeta(), tarjeta.getEstado(), tarjeta.getTipoTarjeta(),
+                    tarjeta.getFechaExpiracion());
+        });
+        return tarjetaCreada;
+    }
+
+    // Cada bloque se confirma en su propia transacción: un bloque rechazado no revierte los anteriores
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoEmisionMasivaDTO crearTarjetasMasivo(List<TarjetaDebitoCreateDTO> solicitudes) {
+        if (solicitudes == null || solicitudes.isEmpty()) {
+            throw new BusinessException("La lista de tarjetas a emitir no puede estar vacía");
+        }
+        if (solicitudes.size() > tamanioMaximoEmisionMasiva) {
+            throw new BusinessException("La emisión masiva admite como máximo " + tamanioMaximoEmisionMasiva + " tarjetas");
+        }
+        logger.info("Emisión masiva de {} tarjetas de débito", solicitudes.size());
+
+        ResultadoEmisionTarjetaDTO[] resultados = new ResultadoEmisionTarjetaDTO[solicitudes.size()];
+
+        // Validar cada solicitud y las cédulas repetidas dentro del mismo lote
+        Set<String> cedulasLote = new HashSet<>();
+        List<Integer> validas = new ArrayList<>(solicitudes.size());
+        for (int i = 0; i < solicitudes.size(); i++) {
+            TarjetaDebitoCreateDTO solicitud = solicitudes.get(i);
+            String error = validarSolicitud(solicitud);
+            if (error == null && !cedulasLote.add(solicitud.getCedula())) {
+                error = "La cédula está repetida en el lote: " + solicitud.getCedula();
+            }
+            if (error != null) {
+                resultados[i] = ResultadoEmisionTarjetaDTO.fallido(i, solicitud != null ? solicitud.getCedula() : null, error);
+            } else {
+                validas.add(i);
             }
         }
 
-        // Crear la entidad tarjeta
-        TarjetaDebito tarjeta = new TarjetaDebito();
-        tarjeta.setNumeroTarjeta(tarjetaNumberGenerator.generateTarjetaNumber());
-        tarjeta.setCvv(tarjetaNumberGenerator.generateCVV());
-        tarjeta.setFechaExpiracion(LocalDate.now().plusYears(5)); // Válida por 5 años
-        tarjeta.setNombreTitular(tarjetaCreateDTO.getNombreTitular());
-        tarjeta.setCedula(tarjetaCreateDTO.getCedula());
-        tarjeta.setLimiteDiario(tarjetaCreateDTO.getLimiteDiario());
-        tarjeta.setSaldoDisponible(tarjetaCreateDTO.getSaldoInicial());
-        tarjeta.setTipoTarjeta(tarjetaCreateDTO.getTipoTarjeta());
-        tarjeta.setEstado(EstadoTarjeta.ACTIVA);
-        tarjeta.setTelefono(tarjetaCreateDTO.getTelefono());
-        tarjeta.setEmail(tarjetaCreateDTO.getEmail());
+        // Una sola consulta para las cédulas que podrían tener tarjeta; el filtro descarta las que seguro no la tienen
+        if (filtrosExistencia.isListo()) {
+            cedulasLote.removeIf(cedula -> !filtrosExistencia.puedeExistirCedula(cedula));
+        }
+        Set<String> cedulasExistentes = cedulasLote.isEmpty()
+                ? Set.of()
+                : new HashSet<>(tarjetaDebitoRepository.findCedulasExistentes(cedulasLote));
+        List<Integer> aEmitir = new ArrayList<>(validas.size());
+        for (Integer indice : validas) {
+            String cedula = solicitudes.get(indice).getCedula();
+            if (cedulasExistentes.contains(cedula)) {
+                resultados[indice] = ResultadoEmisionTarjetaDTO.fallido(indice, cedula,
+                        "Ya existe una tarjeta para la cédula: " + cedula);
+            } else {
+                aEmitir.add(indice);
+            }
+        }
 
-        // Guardar la tarjeta
-        TarjetaDebito tarjetaGuardada = tarjetaDebitoRepository.save(tarjeta);
-        logger.info("Tarjeta creada exitosamente con ID: {}", tarjetaGuardada.getId());
+        List<String> numeros = tarjetaNumberGenerator.generateTarjetaNumbers(aEmitir.size());
+        for (int desde = 0; desde < aEmitir.size(); desde += tamanioBloqueEmisionMasiva) {
+            int hasta = Math.min(desde + tamanioBloqueEmisionMasiva, aEmitir.size());
+            List<Integer> indicesBloque = aEmitir.subList(desde, hasta);
+            List<TarjetaDebito> tarjetasBloque = new ArrayList<>(indicesBloque.size());
+            for (int j = 0; j < indicesBloque.size(); j++) {
+                TarjetaDebito tarjeta = nuevaTarjeta(solicitudes.get(indicesBloque.get(j)), numeros.get(desde + j));
+                filtrosExistencia.registrar(tarjeta.getNumeroTarjeta(), tarjeta.getCedula());
+                tarjetasBloque.add(tarjeta);
+            }
+
+            try {
+                List<TarjetaDebitoDTO> creadas = transactionTemplate.execute(estado -> persistirBloque(tarjetasBloque));
+                for (int j = 0; j < indicesBloque.size(); j++) {
+                    resultados[indicesBloque.get(j)] = ResultadoEmisionTarjetaDTO.exitoso(indicesBloque.get(j), creadas.get(j));
+                    contadoresTarjetas.incrementar(EstadoTarjeta.ACTIVA, tarjetasBloque.get(j).getTipoTarjeta());
+                    indiceNombres.indexar(creadas.get(j).getId(), creadas.get(j).getNombreTitular());
+                    TarjetaDebito emitida = tarjetasBloque.get(j);
+                    indiceEstados.registrar(emitida.getNumeroTarjeta(), emitida.getEstado(), emitida.getTipoTarjeta(),
+                            emitida.getFechaExpiracion());
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Bloque de emisión masiva rechazado ({} tarjetas): {}", indicesBloque.size(), e.getMessage());
+                for (Integer indice : indicesBloque) {
+                    resultados[indice] = ResultadoEmisionTarjetaDTO.fallido(indice, solicitudes.get(indice).getCedula(),
+                            "No se pudo registrar la tarjeta, el bloque fue rechazado por la base de datos");
+                }
+            }
+        }
 
-        return tarjetaDebitoMapper.toDTO(tarjetaGuardada);
+        ResultadoEmisionMasivaDTO resultado = new ResultadoEmisionMasivaDTO(Arrays.asList(resultados));
+        logger.info("Emisión masiva finalizada: {} exitosas, {} fallidas", resultado.getExitosas(), resultado.getFallidas());
+        return resultado;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TarjetaDebitoDTO> obtenerTodasLasTarjetas() {
-        logger.info("Obteniendo todas las tarjetas de débito");
-        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findAll();
-        return tarjetas.stream()
-                .map(tarjetaDebitoMapper::toDTO)
-                .collect(Collectors.toList());
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo todas las tarjetas de débito");
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findPaginaDespuesDe(0L, limiteListados());
+        return tarjetaDebitoMapper.toDTOList(tarjetas);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public PaginaTarjetasDTO obtenerPaginaTarjetas(String cursor, Integer tamanio) {
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo página de tarjetas de débito");
+        int tamanioPagina = resolverTamanioPagina(tamanio);
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findPaginaDespuesDe(
+                CursorPaginacion.decodificar(cursor), paginaConSiguiente(tamanioPagina));
+        return construirPagina(tarjetas, tamanioPagina);
+    }
+
+    // Sin transacción propia: un acierto de caché no toma conexión; el repositorio abre la suya al cargar
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<TarjetaDebitoDTO> obtenerTarjetaPorId(Long id) {
-        logger.info("Obteniendo tarjeta con ID: {}", id);
-        return tarjetaDebitoRepository.findById(id)
-                .map(tarjetaDebitoMapper::toDTO);
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo tarjeta con ID: {}", id);
+        return tarjetaDebitoCache.obtenerPorId(id, clave -> tarjetaDebitoRepository.findById(clave)
+                .map(tarjetaDebitoMapper::toDTO));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<TarjetaDebitoDTO> obtenerTarjetaPorNumero(String numeroTarjeta) {
-        logger.info("Obteniendo tarjeta con número: {}", numeroTarjeta);
-        return tarjetaDebitoRepository.findByNumeroTarjeta(numeroTarjeta)
-                .map(tarjetaDebitoMapper::toDTO);
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo tarjeta con número: {}", numeroTarjeta);
+        return tarjetaDebitoCache.obtenerPorNumero(numeroTarjeta, clave -> tarjetaDebitoRepository.findByNumeroTarjeta(clave)
+                .map(tarjetaDebitoMapper::toDTO));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TarjetaDebitoDTO> obtenerTarjetasPorCedula(String cedula) {
-        logger.info("Obteniendo tarjetas para cédula: {}", cedula);
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo tarjetas para cédula: {}", cedula);
         List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findByCedula(cedula);
-        return tarjetas.stream()
-                .map(tarjetaDebitoMapper::toDTO)
-                .collect(Collectors.toList());
+        return tarjetaDebitoMapper.toDTOList(tarjetas);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TarjetaDebitoDTO> obtenerTarjetasPorEstado(EstadoTarjeta estado) {
-        logger.info("Obteniendo tarjetas con estado: {}", estado);
-        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findByEstado(estado);
-        return tarjetas.stream()
-                .map(tarjetaDebitoMapper::toDTO)
-                .collect(Collectors.toList());
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo tarjetas con estado: {}", estado);
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findPaginaPorEstadoDespuesDe(estado, 0L, limiteListados());
+        return tarjetaDebitoMapper.toDTOList(tarjetas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaTarjetasDTO obtenerPaginaTarjetasPorEstado(EstadoTarjeta estado, String cursor, Integer tamanio) {
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo página de tarjetas con estado: {}", estado);
+        int tamanioPagina = resolverTamanioPagina(tamanio);
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findPaginaPorEstadoDespuesDe(
+                estado, CursorPaginacion.decodificar(cursor), paginaConSiguiente(tamanioPagina));
+        return construirPagina(tarjetas, tamanioPagina);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TarjetaDebitoDTO> obtenerTarjetasPorTipo(TipoTarjeta tipoTarjeta) {
-        logger.info("Obteniendo tarjetas de tipo: {}", tipoTarjeta);
-        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findByTipoTarjeta(tipoTarjeta);
-        return tarjetas.stream()
-                .map(tarjetaDebitoMapper::toDTO)
-                .collect(Collectors.toList());
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo tarjetas de tipo: {}", tipoTarjeta);
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findPaginaPorTipoDespuesDe(tipoTarjeta, 0L, limiteListados());
+        return tarjetaDebitoMapper.toDTOList(tarjetas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaTarjetasDTO obtenerPaginaTarjetasPorTipo(TipoTarjeta tipoTarjeta, String cursor, Integer tamanio) {
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo página de tarjetas de tipo: {}", tipoTarjeta);
+        int tamanioPagina = resolverTamanioPagina(tamanio);
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findPaginaPorTipoDespuesDe(
+                tipoTarjeta, CursorPaginacion.decodificar(cursor), paginaConSiguiente(tamanioPagina));
+        return construirPagina(tarjetas, tamanioPagina);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TarjetaDebitoDTO> buscarTarjetasPorNombre(String nombreTitular) {
-        logger.info("Buscando tarjetas por nombre: {}", nombreTitular);
-        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findByNombreTitularContainingIgnoreCase(nombreTitular);
-        return tarjetas.stream()
-                .map(tarjetaDebitoMapper::toDTO)
-                .collect(Collectors.toList());
+        logger.info(MarcadoresLog.LECTURA, "Buscando tarjetas por nombre: {}", nombreTitular);
+        if (indiceNombres.isListo() && IndiceNombres.admiteConsulta(nombreTitular)) {
+            return cargarEnOrden(indiceNombres.buscar(nombreTitular, limiteListados));
+        }
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findPaginaPorNombreDespuesDe(nombreTitular, 0L, limiteListados());
+        return tarjetaDebitoMapper.toDTOList(tarjetas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaTarjetasDTO buscarPaginaTarjetasPorNombre(String nombreTitular, String cursor, Integer tamanio) {
+        logger.info(MarcadoresLog.LECTURA, "Buscando página de tarjetas por nombre: {}", nombreTitular);
+        int tamanioPagina = resolverTamanioPagina(tamanio);
+        // Con el índice cargado el resultado se ordena por relevancia y el cursor es una posición;
+        // los cursores por ID emitidos antes de la carga, y las consultas demasiado cortas para el índice,
+        // se resuelven en la base de datos
+        if (indiceNombres.isListo() && IndiceNombres.admiteConsulta(nombreTitular) && CursorPaginacion.esPosicion(cursor)) {
+            long desde = CursorPaginacion.decodificarPosicion(cursor);
+            if (desde >= limiteListados) {
+                return new PaginaTarjetasDTO(List.of(), null);
+            }
+            List<Long> ids = indiceNombres.buscar(nombreTitular, (int) desde + tamanioPagina + 1);
+            int hasta = (int) Math.min(desde + tamanioPagina, ids.size());
+            List<Long> idsPagina = desde < hasta ? ids.subList((int) desde, hasta) : List.of();
+            String siguienteCursor = ids.size() > hasta ? CursorPaginacion.codificarPosicion(hasta) : null;
+            return new PaginaTarjetasDTO(cargarEnOrden(idsPagina), siguienteCursor);
+        }
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findPaginaPorNombreDespuesDe(
+                nombreTitular, CursorPaginacion.decodificar(cursor), paginaConSiguiente(tamanioPagina));
+        return construirPagina(tarjetas, tamanioPagina);
     }
 
     @Override
@@ -150,13 +423,15 @@ public class TarjetaDebitoServiceImpl implements TarjetaDebitoService {
         }
 
         TarjetaDebito tarjeta = tarjetaOpt.get();
+        EstadoTarjeta estadoAnterior = tarjeta.getEstado();
         
         // Actualizar solo los campos que no son null
         if (tarjetaUpdateDTO.getLimiteDiario() != null) {
             tarjeta.setLimiteDiario(tarjetaUpdateDTO.getLimiteDiario());
         }
         
-        if (tarjetaUpdateDTO.getEstado() != null) {
+        if (tarjetaUpdateDTO.getEstado() != null && tarjetaUpdateDTO.getEstado() != estadoAnterior) {
+            validarTransicion(id, estadoAnterior, tarjetaUpdateDTO.getEstado());
             tarjeta.setEstado(tarjetaUpdateDTO.getEstado());
         }
         
@@ -173,7 +448,16 @@ public class TarjetaDebitoServiceImpl implements TarjetaDebitoService {
         TarjetaDebito tarjetaActualizada = tarjetaDebitoRepository.save(tarjeta);
         logger.info("Tarjeta actualizada exitosamente con ID: {}", tarjetaActualizada.getId());
         
-        return Optional.of(tarjetaDebitoMapper.toDTO(tarjetaActualizada));
+        TarjetaDebitoDTO tarjetaDTO = tarjetaDebitoMapper.toDTO(tarjetaActualizada);
+        trasCommit(() -> {
+            tarjetaDebitoCache.guardar(tarjetaDTO);
+            contadoresTarjetas.mover(tarjeta.getTipoTarjeta(), estadoAnterior, tarjeta.getEstado());
+            motorAutorizaciones.actualizarCondiciones(tarjeta.getId(), tarjeta.getEstado(),
+                    SaldoTarjeta.aCentavos(tarjeta.getLimiteDiario()));
+            indiceEstados.registrar(tarjeta.getNumeroTarjeta(), tarjeta.getEstado(), tarjeta.getTipoTarjeta(),
+                    tarjeta.getFechaExpiracion());
+        });
+        return Optional.of(tarjetaDTO);
     }
 
     @Override
@@ -194,16 +478,124 @@ public class TarjetaDebitoServiceImpl implements TarjetaDebitoService {
         return cambiarEstadoTarjeta(id, EstadoTarjeta.CANCELADA);
     }
 
+    // Cada bloque se confirma en su propia transacción: una lectura de los estados actuales y un solo UPDATE
+    // condicionado por la tabla de transiciones, sin cargar entidades. Un bloque rechazado no revierte los anteriores
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoCambioEstadoMasivoDTO cambiarEstadoMasivo(SolicitudCambioEstadoMasivoDTO solicitud) {
+        EstadoTarjeta nuevoEstado = solicitud.getEstado();
+        if (nuevoEstado == null || !ESTADOS_CAMBIO_MASIVO.contains(nuevoEstado)) {
+            throw new BusinessException("El cambio de estado masivo solo admite los estados ACTIVA, BLOQUEADA y CANCELADA");
+        }
+        boolean porId = solicitud.getIds() != null && !solicitud.getIds().isEmpty();
+        boolean porNumero = solicitud.getNumerosTarjeta() != null && !solicitud.getNumerosTarjeta().isEmpty();
+        if (porId == porNumero) {
+            throw new BusinessException("Debe indicar una lista de IDs o una lista de números de tarjeta, no ambas");
+        }
+        List<?> claves = porId ? solicitud.getIds() : solicitud.getNumerosTarjeta();
+        if (claves.size() > tamanioMaximoCambioEstadoMasivo) {
+            throw new BusinessException("El cambio de estado masivo admite como máximo " + tamanioMaximoCambioEstadoMasivo
+                    + " tarjetas");
+        }
+        logger.info("Cambio de estado masivo a {} de {} tarjetas", nuevoEstado, claves.size());
+
+        ResultadoCambioEstadoTarjetaDTO[] resultados = new ResultadoCambioEstadoTarjetaDTO[claves.size()];
+
+        // Las tarjetas no indicadas o repetidas se rechazan sin consultar la base de datos
+        Set<Object> vistas = new HashSet<>();
+        List<Integer> aCambiar = new ArrayList<>(claves.size());
+        for (int i = 0; i < claves.size(); i++) {
+            Object clave = claves.get(i);
+            if (clave == null) {
+                resultados[i] = ResultadoCambioEstadoTarjetaDTO.fallido(i, null, null, "La tarjeta no está indicada");
+            } else if (!vistas.add(clave)) {
+                resultados[i] = fallidoCambioEstado(i, clave, "La tarjeta está repetida en la solicitud");
+            } else {
+                aCambiar.add(i);
+            }
+        }
+
+        Set<EstadoTarjeta> origenes = EstadoTarjeta.origenesPermitidos(nuevoEstado);
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int desde = 0; desde < aCambiar.size(); desde += tamanioBloqueCambioEstadoMasivo) {
+            List<Integer> indicesBloque = aCambiar.subList(desde,
+                    Math.min(desde + tamanioBloqueCambioEstadoMasivo, aCambiar.size()));
+            List<Object> clavesBloque = new ArrayList<>(indicesBloque.size());
+            for (Integer indice : indicesBloque) {
+                clavesBloque.add(claves.get(indice));
+            }
+
+            List<Object[]> filas;
+            try {
+                filas = transactionTemplate.execute(estado ->
+                        cambiarEstadoBloque(clavesBloque, porId, nuevoEstado, origenes, ahora));
+            } catch (DataAccessException e) {
+                logger.warn("Bloque de cambio de estado masivo rechazado ({} tarjetas): {}", indicesBloque.size(),
+                        e.getMessage());
+                for (Integer indice : indicesBloque) {
+                    resultados[indice] = fallidoCambioEstado(indice, claves.get(indice),
+                            "No se pudo cambiar el estado, el bloque fue rechazado por la base de datos");
+                }
+                continue;
+            }
+
+            // El bloque ya se confirmó: se reflejan los cambios en memoria
+            Map<Object, Object[]> filasPorClave = new HashMap<>(filas.size() * 2);
+            for (Object[] fila : filas) {
+                filasPorClave.put(porId ? fila[0] : fila[1], fila);
+            }
+            for (Integer indice : indicesBloque) {
+                Object[] fila = filasPorClave.get(claves.get(indice));
+                if (fila == null) {
+                    resultados[indice] = fallidoCambioEstado(indice, claves.get(indice), "Tarjeta no encontrada");
+                    continue;
+                }
+                Long id = (Long) fila[0];
+                String numeroTarjeta = (String) fila[1];
+                EstadoTarjeta anterior = (EstadoTarjeta) fila[2];
+                if (!origenes.contains(anterior)) {
+                    String error = anterior == nuevoEstado
+                            ? "La tarjeta ya está en estado " + nuevoEstado
+                            : "La tarjeta no puede pasar de " + anterior + " a " + nuevoEstado;
+                    resultados[indice] = ResultadoCambioEstadoTarjetaDTO.fallido(indice, id, numeroTarjeta, error);
+                    continue;
+                }
+                TipoTarjeta tipo = (TipoTarjeta) fila[3];
+                tarjetaDebitoCache.invalidar(id);
+                contadoresTarjetas.mover(tipo, anterior, nuevoEstado);
+                motorAutorizaciones.cambiarEstado(id, nuevoEstado);
+                indiceEstados.registrar(numeroTarjeta, nuevoEstado, tipo, (LocalDate) fila[4]);
+                resultados[indice] = ResultadoCambioEstadoTarjetaDTO.exitoso(indice, id, numeroTarjeta, anterior);
+            }
+        }
+
+        ResultadoCambioEstadoMasivoDTO resultado = new ResultadoCambioEstadoMasivoDTO(nuevoEstado, Arrays.asList(resultados));
+        logger.info("Cambio de estado masivo a {} finalizado: {} exitosas, {} fallidas", nuevoEstado,
+                resultado.getExitosas(), resultado.getFallidas());
+        return resultado;
+    }
+
     @Override
     public boolean eliminarTarjeta(Long id) {
         logger.info("Eliminando tarjeta con ID: {}", id);
         
-        if (!tarjetaDebitoRepository.existsById(id)) {
+        Optional<TarjetaDebito> tarjetaOpt = tarjetaDebitoRepository.findById(id);
+        if (tarjetaOpt.isEmpty()) {
             logger.warn("Tarjeta con ID {} no encontrada para eliminación", id);
             return false;
         }
         
-        tarjetaDebitoRepository.deleteById(id);
+        TarjetaDebito tarjeta = tarjetaOpt.get();
+        long versionFiltros = filtrosExistencia.version();
+        tarjetaDebitoRepository.delete(tarjeta);
+        trasCommit(() -> {
+            tarjetaDebitoCache.invalidar(id);
+            filtrosExistencia.eliminar(tarjeta.getNumeroTarjeta(), tarjeta.getCedula(), versionFiltros);
+            contadoresTarjetas.decrementar(tarjeta.getEstado(), tarjeta.getTipoTarjeta());
+            indiceNombres.eliminar(id);
+            indiceEstados.eliminar(tarjeta.getNumeroTarjeta());
+            motorAutorizaciones.eliminar(id);
+        });
         logger.info("Tarjeta con ID {} eliminada exitosamente", id);
         return true;
     }
@@ -211,69 +603,612 @@ public class TarjetaDebitoServiceImpl implements TarjetaDebitoService {
     @Override
     @Transactional(readOnly = true)
     public boolean existeTarjetaConNumero(String numeroTarjeta) {
+        if (filtrosExistencia.isListo() && !filtrosExistencia.puedeExistirNumero(numeroTarjeta)) {
+            return false;
+        }
         return tarjetaDebitoRepository.existsByNumeroTarjeta(numeroTarjeta);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existeTarjetaConCedula(String cedula) {
+        if (filtrosExistencia.isListo() && !filtrosExistencia.puedeExistirCedula(cedula)) {
+            return false;
+        }
         return tarjetaDebitoRepository.existsByCedula(cedula);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TarjetaDebitoDTO> obtenerTarjetasActivasPorCedula(String cedula) {
-        logger.info("Obteniendo tarjetas activas para cédula: {}", cedula);
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo tarjetas activas para cédula: {}", cedula);
         List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findActiveTarjetasByCedula(cedula, EstadoTarjeta.ACTIVA);
-        return tarjetas.stream()
-                .map(tarjetaDebitoMapper::toDTO)
-                .collect(Collectors.toList());
+        return tarjetaDebitoMapper.toDTOList(tarjetas);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TarjetaDebitoDTO> obtenerTarjetasProximasAVencer() {
-        logger.info("Obteniendo tarjetas próximas a vencer");
-        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findTarjetasProximasAVencer();
-        return tarjetas.stream()
-                .map(tarjetaDebitoMapper::toDTO)
-                .collect(Collectors.toList());
+        logger.info(MarcadoresLog.LECTURA, "Obteniendo tarjetas próximas a vencer");
+        LocalDate limite = LocalDate.now(zonaHoraria).plusDays(DIAS_PROXIMAS_A_VENCER);
+        List<TarjetaDebito> tarjetas = tarjetaDebitoRepository.findTarjetasProximasAVencer(limite);
+        return tarjetaDebitoMapper.toDTOList(tarjetas);
     }
 
+    // Cada bloque se confirma en su propia transacción para no retener bloqueos sobre toda la tabla
     @Override
-    public void actualizarTarjetasVencidas() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int actualizarTarjetasVencidas() {
         logger.info("Actualizando tarjetas vencidas");
-        List<TarjetaDebito> tarjetasVencidas = tarjetaDebitoRepository.findTarjetasVencidas();
-        
-        tarjetasVencidas.forEach(tarjeta -> {
-            tarjeta.setEstado(EstadoTarjeta.VENCIDA);
-            tarjeta.setFechaActualizacion(LocalDateTime.now());
-        });
-        
-        tarjetaDebitoRepository.saveAll(tarjetasVencidas);
-        logger.info("Se actualizaron {} tarjetas vencidas", tarjetasVencidas.size());
+        Long idMinimo = tarjetaDebitoRepository.findMinId();
+        Long idMaximo = tarjetaDebitoRepository.findMaxId();
+        if (idMinimo == null || idMaximo == null) {
+            return 0;
+        }
+
+        LocalDate hoy = LocalDate.now(zonaHoraria);
+        LocalDateTime ahora = LocalDateTime.now();
+        Set<EstadoTarjeta> origenes = EstadoTarjeta.origenesPermitidos(EstadoTarjeta.VENCIDA);
+        int actualizadas = 0;
+        for (long inicio = idMinimo - 1; inicio < idMaximo; inicio += tamanioBloqueVencidas) {
+            long desdeId = inicio;
+            long hastaId = Math.min(inicio + tamanioBloqueVencidas, idMaximo);
+            // Las filas que marca el UPDATE se leen (y bloquean) antes en la misma transacción para el índice de estados
+            List<Object[]> vencidas = transactionTemplate.execute(estado -> {
+                List<Object[]> filas = tarjetaDebitoRepository.findVencidasParaMarcarEnRango(desdeId, hastaId, hoy, origenes);
+                if (!filas.isEmpty()) {
+                    tarjetaDebitoRepository.marcarVencidasEnRango(desdeId, hastaId, hoy, ahora, EstadoTarjeta.VENCIDA,
+                            origenes);
+                }
+                return filas;
+            });
+            if (vencidas == null) {
+                continue;
+            }
+            // El bloque ya se confirmó
+            for (Object[] fila : vencidas) {
+                indiceEstados.registrar((String) fila[1], EstadoTarjeta.VENCIDA, (TipoTarjeta) fila[2],
+                        (LocalDate) fila[3]);
+            }
+            actualizadas += vencidas.size();
+        }
+
+        if (actualizadas > 0) {
+            tarjetaDebitoCache.invalidarTodo();
+            // La actualización por conjuntos no informa el tipo de cada tarjeta: se recalculan los contadores
+            reconciliarEstadisticas();
+        }
+        logger.info("Se actualizaron {} tarjetas vencidas", actualizadas);
+        return actualizadas;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Long contarTarjetasPorEstado(EstadoTarjeta estado) {
-        return tarjetaDebitoRepository.countByEstado(estado);
+        asegurarContadores();
+        return contadoresTarjetas.contar(estado);
     }
 
-    private Optional<TarjetaDebitoDTO> cambiarEstadoTarjeta(Long id, EstadoTarjeta nuevoEstado) {
-        Optional<TarjetaDebito> tarjetaOpt = tarjetaDebitoRepository.findById(id);
-        if (tarjetaOpt.isEmpty()) {
-            logger.warn("Tarjeta con ID {} no encontrada", id);
-            return Optional.empty();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EstadisticasTarjetasDTO obtenerEstadisticasTarjetas() {
+        asegurarContadores();
+        return contadoresTarjetas.obtenerEstadisticas();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void reconciliarEstadisticas() {
+        logger.debug("Reconciliando contadores de tarjetas con la base de datos");
+        contadoresTarjetas.reconciliar(tarjetaDebitoRepository.contarPorEstadoYTipo());
+    }
+
+    // Se recorre la tabla por bloques de ID sin transacción abierta; los cambios que ocurren durante la carga
+    // se indexan en vivo y la carga no los sobrescribe
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void cargarIndiceNombres() {
+        logger.info("Cargando índice de búsqueda por nombre");
+        indiceNombres.iniciarCarga();
+        long ultimoId = 0L;
+        List<Object[]> filas;
+        do {
+            filas = tarjetaDebitoRepository.findNombresDespuesDe(ultimoId, PageRequest.of(0, tamanioBloqueIndiceNombres));
+            indiceNombres.cargar(filas);
+            if (!filas.isEmpty()) {
+                ultimoId = (Long) filas.get(filas.size() - 1)[0];
+            }
+        } while (filas.size() == tamanioBloqueIndiceNombres);
+        indiceNombres.finalizarCarga();
+        logger.info("Índice de búsqueda por nombre cargado con {} tarjetas", indiceNombres.tamanio());
+    }
+
+    // Mismo esquema de carga que el índice de nombres: los cambios en vivo prevalecen sobre las filas leídas
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void cargarIndiceEstados() {
+        logger.info("Cargando índice de estados por número de tarjeta");
+        indiceEstados.iniciarCarga();
+        long ultimoId = 0L;
+        List<Object[]> filas;
+        do {
+            filas = tarjetaDebitoRepository.findEstadosDespuesDe(ultimoId, PageRequest.of(0, tamanioBloqueIndiceEstados));
+            indiceEstados.cargar(filas);
+            if (!filas.isEmpty()) {
+                ultimoId = (Long) filas.get(filas.size() - 1)[0];
+            }
+        } while (filas.size() == tamanioBloqueIndiceEstados);
+        indiceEstados.finalizarCarga();
+        logger.info("Índice de estados cargado con {} tarjetas ({} bytes fuera del heap)", indiceEstados.tamanio(),
+                indiceEstados.bytesReservados());
+    }
+
+    // Las tarjetas creadas durante la carga ya se agregaron a los filtros antes del INSERT; agregarlas de nuevo
+    // solo incrementa sus contadores
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void cargarFiltrosExistencia() {
+        logger.info("Cargando filtros de existencia de números de tarjeta y cédulas");
+        filtrosExistencia.iniciarCarga();
+        long ultimoId = 0L;
+        long cargadas = 0L;
+        List<Object[]> filas;
+        do {
+            filas = tarjetaDebitoRepository.findNumerosYCedulasDespuesDe(ultimoId, PageRequest.of(0, tamanioBloqueFiltrosExistencia));
+            filtrosExistencia.cargar(filas);
+            cargadas += filas.size();
+            if (!filas.isEmpty()) {
+                ultimoId = (Long) filas.get(filas.size() - 1)[0];
+            }
+        } while (filas.size() == tamanioBloqueFiltrosExistencia);
+        filtrosExistencia.finalizarCarga();
+        logger.info("Filtros de existencia cargados con {} tarjetas ({} bytes)", cargadas,
+                filtrosExistencia.bytesReservados());
+    }
+
+    // Con el índice cargado no hay acceso a la base de datos ni entidades; el vencimiento se evalúa con la fecha
+    // de expiración, así que no depende de la tarea diaria que marca las vencidas
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ValidezTarjetaDTO consultarValidez(String numeroTarjeta) {
+        LocalDate hoy = LocalDate.now(zonaHoraria);
+        if (indiceEstados.isListo()) {
+            long valor = indiceEstados.consultar(IndiceEstados.clave(numeroTarjeta));
+            if (valor == IndiceEstados.AUSENTE) {
+                throw new ResourceNotFoundException("Tarjeta no encontrada con número: " + numeroTarjeta);
+            }
+            return new ValidezTarjetaDTO(IndiceEstados.estado(valor), IndiceEstados.tipoTarjeta(valor),
+                    LocalDate.ofEpochDay(IndiceEstados.diaExpiracion(valor)), hoy);
         }
+        TarjetaDebitoDTO tarjeta = tarjetaDebitoCache.obtenerPorNumero(numeroTarjeta, clave -> tarjetaDebitoRepository
+                        .findByNumeroTarjeta(clave).map(tarjetaDebitoMapper::toDTO))
+                .orElseThrow(() -> new ResourceNotFoundException("Tarjeta no encontrada con número: " + numeroTarjeta));
+        return new ValidezTarjetaDTO(tarjeta.getEstado(), tarjeta.getTipoTarjeta(), tarjeta.getFechaExpiracion(), hoy);
+    }
 
-        TarjetaDebito tarjeta = tarjetaOpt.get();
-        tarjeta.setEstado(nuevoEstado);
-        tarjeta.setFechaActualizacion(LocalDateTime.now());
-        
-        TarjetaDebito tarjetaActualizada = tarjetaDebitoRepository.save(tarjeta);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EstadisticasCacheDTO obtenerEstadisticasCache() {
+        return tarjetaDebitoCache.obtenerEstadisticas();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarTarjetas(EstadoTarjeta estado, TipoTarjeta tipoTarjeta, Consumer<TarjetaDebitoDTO> consumidor) {
+        logger.info("Exportando tarjetas con estado: {} y tipo: {}", estado, tipoTarjeta);
+        long exportadas = 0;
+        try (Stream<TarjetaDebito> tarjetas = tarjetaDebitoRepository.streamParaExportacion(estado, tipoTarjeta)) {
+            Iterator<TarjetaDebito> iterador = tarjetas.iterator();
+            while (iterador.hasNext()) {
+                consumidor.accept(tarjetaDebitoMapper.toDTO(iterador.next()));
+                // Liberar las entidades ya exportadas para mantener la memoria constante
+                if (++exportadas % tamanioBloqueExportacion == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        logger.info("Se exportaron {} tarjetas", exportadas);
+        return exportadas;
+    }
+
+    // Sin transacción: autorizar sobre una tarjeta ya cargada en el motor no accede a la base de datos
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoAutorizacionDTO autorizarDebito(SolicitudAutorizacionDTO solicitud) {
+        long montoCentavos = SaldoTarjeta.aCentavos(solicitud.getMonto());
+        if (montoCentavos <= 0) {
+            throw new BusinessException("El monto debe ser mayor que 0");
+        }
+        String numeroTarjeta = solicitud.getNumeroTarjeta();
+        LocalDate hoy = LocalDate.now(zonaHoraria);
+
+        ResultadoAutorizacion resultado = motorAutorizaciones.autorizar(numeroTarjeta, montoCentavos, hoy);
+        if (resultado == null && cargarEnMotor(numeroTarjeta, hoy)) {
+            resultado = motorAutorizaciones.autorizar(numeroTarjeta, montoCentavos, hoy);
+        }
+        if (resultado == null) {
+            logger.debug("Autorización rechazada, tarjeta no encontrada: {}", numeroTarjeta);
+            return new ResultadoAutorizacionDTO(CodigoAutorizacion.TARJETA_NO_ENCONTRADA, null, null);
+        }
+
+        if (journalSaldos != null && resultado.isAprobada()) {
+            try {
+                registrarEnJournal(resultado.getSaldo(), hoy);
+            } catch (RuntimeException e) {
+                // Sin registro durable el débito no se confirma: se devuelve antes de responder el error
+                motorAutorizaciones.revertir(resultado.getSaldo().getId(), montoCentavos, hoy);
+                throw e;
+            }
+        }
+        logger.debug("Autorización de {} sobre la tarjeta {}: {}", solicitud.getMonto(), numeroTarjeta,
+                resultado.getCodigo());
+        return new ResultadoAutorizacionDTO(resultado.getCodigo(),
+                SaldoTarjeta.aMonto(resultado.getSaldo().getSaldoCentavos()),
+                SaldoTarjeta.aMonto(resultado.getDisponibleDiarioCentavos()));
+    }
+
+    // Se escriben a lo sumo las tarjetas pendientes al comenzar, en lotes de una transacción cada uno;
+    // si un lote falla sus tarjetas vuelven a quedar pendientes para el siguiente intento
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int persistirAutorizaciones() {
+        bloqueoPersistencia.lock();
+        try {
+            if (journalSaldos != null) {
+                return aplicarJournal();
+            }
+            int pendientes = motorAutorizaciones.cantidadPendientes();
+            int persistidas = 0;
+            while (persistidas < pendientes) {
+                List<SaldoTarjeta> lote = motorAutorizaciones.tomarPendientes(tamanioLoteAutorizaciones);
+                if (lote.isEmpty()) {
+                    break;
+                }
+                LocalDate hoy = LocalDate.now(zonaHoraria);
+                long[] consumidos = new long[lote.size()];
+                for (int i = 0; i < consumidos.length; i++) {
+                    consumidos[i] = consumoDiario.consumido(lote.get(i).getId(), hoy);
+                }
+                try {
+                    transactionTemplate.execute(estado -> {
+                        saldosTarjetaRepository.actualizarSaldos(lote, consumidos, hoy, LocalDateTime.now());
+                        return null;
+                    });
+                } catch (DataAccessException | TransactionException e) {
+                    motorAutorizaciones.marcarPendientes(lote.stream().map(SaldoTarjeta::getId).toList());
+                    logger.error("No se pudieron persistir los saldos de {} tarjetas, se reintentará", lote.size(), e);
+                    break;
+                }
+                // Las consultas vuelven a leer la tarjeta con el saldo ya persistido
+                lote.forEach(saldo -> tarjetaDebitoCache.invalidar(saldo.getId()));
+                persistidas += lote.size();
+            }
+            return persistidas;
+        } finally {
+            bloqueoPersistencia.unlock();
+        }
+    }
+
+    /**
+     * Aplicar los registros del journal que quedaron pendientes al detenerse la aplicación. Corre antes de
+     * atender solicitudes: el motor carga los saldos desde la base de datos, que debe estar al día.
+     */
+    @PostConstruct
+    public void aplicarJournalRecuperado() {
+        if (journalSaldos == null || journalSaldos.cantidadPendientes() == 0) {
+            return;
+        }
+        int aplicados = persistirAutorizaciones();
+        if (journalSaldos.cantidadPendientes() > 0) {
+            throw new IllegalStateException("No se pudieron aplicar los registros recuperados del journal de saldos");
+        }
+        logger.info("Aplicados {} registros recuperados del journal de saldos", aplicados);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public LimiteDiarioDTO consultarLimiteDiario(Long id) {
+        logger.info(MarcadoresLog.LECTURA, "Consultando límite diario de la tarjeta con ID: {}", id);
+        TarjetaDebitoDTO tarjeta = obtenerTarjetaPorId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tarjeta no encontrada con ID: " + id));
+        LocalDate hoy = LocalDate.now(zonaHoraria);
+        return new LimiteDiarioDTO(id, hoy, tarjeta.getLimiteDiario(),
+                SaldoTarjeta.aMonto(consumoDiario.consumido(id, hoy)));
+    }
+
+    // Solo las filas con consumo de hoy; una tarjeta que ya autorizó débitos conserva su consumo en memoria
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public int reconstruirConsumoDiario() {
+        LocalDate hoy = LocalDate.now(zonaHoraria);
+        int[] cargadas = new int[1];
+        saldosTarjetaRepository.recorrerConsumos(hoy, (id, consumidoCentavos) -> {
+            consumoDiario.cargar(id, consumidoCentavos, hoy);
+            cargadas[0]++;
+        });
+        logger.info("Consumo diario del {} reconstruido para {} tarjetas", hoy, cargadas[0]);
+        return cargadas[0];
+    }
+
+    // Un solo UPDATE condicionado por la tabla de transiciones, sin cargar la entidad: las transiciones no
+    // permitidas se rechazan en la misma sentencia y dos cambios concurrentes no pueden pisarse
+    private Optional<TarjetaDebitoDTO> cambiarEstadoTarjeta(Long id, EstadoTarjeta nuevoEstado) {
+        Set<EstadoTarjeta> origenes = EstadoTarjeta.origenesPermitidos(nuevoEstado);
+        Optional<TarjetaDebitoDTO> enCache = tarjetaDebitoCache.consultar(id);
+        LocalDateTime ahora = LocalDateTime.now();
+
+        if (tarjetaDebitoRepository.cambiarEstado(id, nuevoEstado, origenes, ahora) == 0) {
+            // Solo en el rechazo se distingue una tarjeta inexistente de una transición no permitida
+            if (!tarjetaDebitoRepository.existsById(id)) {
+                logger.warn("Tarjeta con ID {} no encontrada", id);
+                return Optional.empty();
+            }
+            throw new BusinessException("La tarjeta con ID " + id + " no puede pasar a " + nuevoEstado
+                    + " desde su estado actual");
+        }
         logger.info("Estado de tarjeta con ID {} cambiado a: {}", id, nuevoEstado);
-        
-        return Optional.of(tarjetaDebitoMapper.toDTO(tarjetaActualizada));
+
+        if (enCache.isPresent() && origenes.contains(enCache.get().getEstado())) {
+            TarjetaDebitoDTO anterior = enCache.get();
+            TarjetaDebitoDTO tarjetaDTO = new TarjetaDebitoDTO(anterior);
+            tarjetaDTO.setEstado(nuevoEstado);
+            tarjetaDTO.setFechaActualizacion(ahora);
+            // La caché es local y puede estar desactualizada: el estado anterior solo se conoce con certeza
+            // cuando la transición admite un único origen; si no, los contadores se reconcilian
+            EstadoTarjeta estadoAnterior = origenes.size() == 1 ? origenes.iterator().next() : null;
+            trasCommit(() -> {
+                tarjetaDebitoCache.guardar(tarjetaDTO);
+                if (estadoAnterior != null) {
+                    contadoresTarjetas.mover(anterior.getTipoTarjeta(), estadoAnterior, nuevoEstado);
+                } else {
+                    contadoresTarjetas.marcarDesactualizados();
+                }
+                motorAutorizaciones.cambiarEstado(id, nuevoEstado);
+                registrarEstado(tarjetaDTO);
+            });
+            return Optional.of(tarjetaDTO);
+        }
+
+        // Sin copia en caché la respuesta requiere leer la fila ya actualizada; como el estado anterior
+        // no se conoce, los contadores se reconcilian en la siguiente consulta de estadísticas
+        TarjetaDebitoDTO tarjetaDTO = tarjetaDebitoRepository.findById(id)
+                .map(tarjetaDebitoMapper::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Tarjeta no encontrada con ID: " + id));
+        trasCommit(() -> {
+            tarjetaDebitoCache.guardar(tarjetaDTO);
+            contadoresTarjetas.marcarDesactualizados();
+            motorAutorizaciones.cambiarEstado(id, nuevoEstado);
+            registrarEstado(tarjetaDTO);
+        });
+        return Optional.of(tarjetaDTO);
+    }
+
+    // La lectura bloquea las filas hasta el commit, así el estado leído es el que cambia el UPDATE y el resultado
+    // de cada tarjeta se deduce de las filas sin consultarlas de nuevo
+    @SuppressWarnings("unchecked")
+    private List<Object[]> cambiarEstadoBloque(List<Object> claves, boolean porId, EstadoTarjeta nuevoEstado,
+                                               Set<EstadoTarjeta> origenes, LocalDateTime ahora) {
+        List<Object[]> filas = porId
+                ? tarjetaDebitoRepository.findEstadosParaCambioPorIds((List<Long>) (List<?>) claves)
+                : tarjetaDebitoRepository.findEstadosParaCambioPorNumeros((List<String>) (List<?>) claves);
+        List<Long> ids = new ArrayList<>(filas.size());
+        for (Object[] fila : filas) {
+            if (origenes.contains(fila[2])) {
+                ids.add((Long) fila[0]);
+            }
+        }
+        if (!ids.isEmpty()) {
+            tarjetaDebitoRepository.cambiarEstadoEnLote(ids, nuevoEstado, origenes, ahora);
+        }
+        return filas;
+    }
+
+    private static ResultadoCambioEstadoTarjetaDTO fallidoCambioEstado(int indice, Object clave, String error) {
+        return clave instanceof Long id
+                ? ResultadoCambioEstadoTarjetaDTO.fallido(indice, id, null, error)
+                : ResultadoCambioEstadoTarjetaDTO.fallido(indice, null, (String) clave, error);
+    }
+
+    private void registrarEstado(TarjetaDebitoDTO tarjeta) {
+        indiceEstados.registrar(tarjeta.getNumeroTarjeta(), tarjeta.getEstado(), tarjeta.getTipoTarjeta(),
+                tarjeta.getFechaExpiracion());
+    }
+
+    private void validarTransicion(Long id, EstadoTarjeta estadoActual, EstadoTarjeta nuevoEstado) {
+        if (!estadoActual.puedeCambiarA(nuevoEstado)) {
+            throw new BusinessException("La tarjeta con ID " + id + " no puede pasar de " + estadoActual
+                    + " a " + nuevoEstado);
+        }
+    }
+
+    // El saldo y el consumo se leen al registrar, no se toman del resultado: si otra autorización de la misma
+    // tarjeta se registra antes, el último registro del journal sigue teniendo el saldo más reciente
+    private void registrarEnJournal(SaldoTarjeta saldo, LocalDate hoy) {
+        long id = saldo.getId();
+        long secuencia = journalSaldos.registrar(id, () -> {
+            SaldoTarjeta vigente = motorAutorizaciones.consultar(id);
+            return vigente != null ? vigente.getSaldoCentavos() : saldo.getSaldoCentavos();
+        }, () -> consumoDiario.consumido(id, hoy), hoy);
+        journalSaldos.esperarDurable(secuencia);
+    }
+
+    // Los registros durables se aplican en orden, en lotes de una transacción; de cada lote se escribe solo el
+    // último registro de cada tarjeta. Si un lote falla, se reintenta completo en la siguiente ejecución
+    private int aplicarJournal() {
+        motorAutorizaciones.descartarPendientes();
+        long pendientes = journalSaldos.cantidadPendientes();
+        int aplicados = 0;
+        while (aplicados < pendientes) {
+            List<RegistroSaldo> registros = journalSaldos.leerPendientes(tamanioLoteAutorizaciones);
+            if (registros.isEmpty()) {
+                break;
+            }
+            Map<Long, RegistroSaldo> ultimos = new LinkedHashMap<>();
+            registros.forEach(registro -> ultimos.put(registro.getIdTarjeta(), registro));
+            List<RegistroSaldo> lote = new ArrayList<>(ultimos.values());
+            try {
+                transactionTemplate.execute(estado -> {
+                    saldosTarjetaRepository.aplicarRegistros(lote, LocalDateTime.now());
+                    return null;
+                });
+            } catch (DataAccessException | TransactionException e) {
+                logger.error("No se pudieron aplicar {} registros del journal de saldos, se reintentará",
+                        registros.size(), e);
+                break;
+            }
+            lote.forEach(registro -> tarjetaDebitoCache.invalidar(registro.getIdTarjeta()));
+            journalSaldos.confirmarAplicados(registros.get(registros.size() - 1).getSecuencia());
+            aplicados += registros.size();
+        }
+        return aplicados;
+    }
+
+    // El consumo persistido se registra antes de publicar la tarjeta en el motor: ningún débito puede
+    // reservar límite diario antes de que esté cargado
+    // La lectura se marca en el motor: un cambio de estado confirmado mientras tanto se aplica al cargarla
+    private boolean cargarEnMotor(String numeroTarjeta, LocalDate hoy) {
+        long lectura = motorAutorizaciones.iniciarLectura();
+        try {
+            Optional<TarjetaDebito> tarjeta = tarjetaDebitoRepository.findByNumeroTarjeta(numeroTarjeta);
+            tarjeta.ifPresent(t -> {
+                long consumido = hoy.equals(t.getFechaConsumo()) ? SaldoTarjeta.aCentavos(t.getConsumoDiario()) : 0L;
+                consumoDiario.cargar(t.getId(), consumido, hoy);
+                motorAutorizaciones.cargar(new SaldoTarjeta(t.getId(), t.getNumeroTarjeta(), t.getEstado(),
+                        t.getFechaExpiracion(), SaldoTarjeta.aCentavos(t.getSaldoDisponible()),
+                        SaldoTarjeta.aCentavos(t.getLimiteDiario())));
+            });
+            return tarjeta.isPresent();
+        } finally {
+            motorAutorizaciones.finalizarLectura(lectura);
+        }
+    }
+
+    // Los contadores se cargan con la primera consulta; luego se mantienen en memoria
+    private void asegurarContadores() {
+        if (contadoresTarjetas.requiereReconciliacion()) {
+            reconciliarEstadisticas();
+        }
+    }
+
+    private TarjetaDebito nuevaTarjeta(TarjetaDebitoCreateDTO tarjetaCreateDTO, String numeroTarjeta) {
+        TarjetaDebito tarjeta = tarjetaDebitoMapper.toEntity(tarjetaCreateDTO);
+        tarjeta.setNumeroTarjeta(numeroTarjeta);
+        tarjeta.setCvv(tarjetaNumberGenerator.generateCVV());
+        tarjeta.setFechaExpiracion(LocalDate.now().plusYears(5)); // Válida por 5 años
+        tarjeta.setEstado(EstadoTarjeta.ACTIVA);
+        return tarjeta;
+    }
+
+    private RuntimeException traducirViolacionUnicidad(DataIntegrityViolationException e, String cedula) {
+        String restriccion = e.getCause() instanceof ConstraintViolationException violacion
+                ? violacion.getConstraintName() : null;
+        if (restriccion == null) {
+            return e;
+        }
+        restriccion = restriccion.toLowerCase();
+        if (restriccion.contains(TarjetaDebito.UK_CEDULA)) {
+            return new BusinessException("Ya existe una tarjeta registrada para la cédula: " + cedula);
+        }
+        if (restriccion.contains(TarjetaDebito.UK_NUMERO_TARJETA)) {
+            logger.warn("Número de tarjeta ya registrado al crear tarjeta para cédula: {}", cedula);
+            return new BusinessException("No se pudo asignar un número de tarjeta, intente nuevamente");
+        }
+        return e;
+    }
+
+    private String validarSolicitud(TarjetaDebitoCreateDTO solicitud) {
+        if (solicitud == null) {
+            return "La solicitud de tarjeta es obligatoria";
+        }
+        Set<ConstraintViolation<TarjetaDebitoCreateDTO>> violaciones = validator.validate(solicitud);
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return violaciones.stream()
+                .map(violacion -> violacion.getPropertyPath() + ": " + violacion.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Los INSERT se envían en lotes JDBC (hibernate.jdbc.batch_size) al hacer flush del bloque
+    private List<TarjetaDebitoDTO> persistirBloque(List<TarjetaDebito> tarjetas) {
+        List<TarjetaDebito> guardadas = tarjetaDebitoRepository.saveAll(tarjetas);
+        tarjetaDebitoRepository.flush();
+        List<TarjetaDebitoDTO> creadas = tarjetaDebitoMapper.toDTOList(guardadas);
+        entityManager.clear();
+        return creadas;
+    }
+
+    // La caché solo refleja cambios confirmados; fuera de una transacción se aplica de inmediato
+    private void trasCommit(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    // Las tarjetas en caché no se consultan; el resto se carga en una sola consulta y se respeta el orden de ids
+    private List<TarjetaDebitoDTO> cargarEnOrden(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<TarjetaDebitoDTO> enCache = new ArrayList<>(ids.size());
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : ids) {
+            Optional<TarjetaDebitoDTO> tarjeta = tarjetaDebitoCache.consultar(id);
+            if (tarjeta.isPresent()) {
+                enCache.add(tarjeta.get());
+            } else {
+                faltantes.add(id);
+            }
+        }
+        Map<Long, TarjetaDebitoDTO> porId = enCache.stream()
+                .collect(Collectors.toMap(TarjetaDebitoDTO::getId, Function.identity()));
+        if (!faltantes.isEmpty()) {
+            tarjetaDebitoMapper.toDTOList(tarjetaDebitoRepository.findAllById(faltantes))
+                    .forEach(tarjeta -> porId.put(tarjeta.getId(), tarjeta));
+        }
+        List<TarjetaDebitoDTO> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TarjetaDebitoDTO tarjeta = porId.get(id);
+            if (tarjeta != null) {
+                resultado.add(tarjeta);
+            }
+        }
+        return resultado;
+    }
+
+    private int resolverTamanioPagina(Integer tamanio) {
+        if (tamanio == null) {
+            return tamanioPaginaPorDefecto;
+        }
+        if (tamanio < 1) {
+            throw new BusinessException("El tamaño de página debe ser mayor que 0");
+        }
+        return Math.min(tamanio, tamanioPaginaMaximo);
+    }
+
+    // Se pide un registro adicional para saber si existe una página siguiente sin ejecutar COUNT(*)
+    private Pageable paginaConSiguiente(int tamanioPagina) {
+        return PageRequest.of(0, tamanioPagina + 1);
+    }
+
+    private Pageable limiteListados() {
+        return PageRequest.of(0, limiteListados);
+    }
+
+    private PaginaTarjetasDTO construirPagina(List<TarjetaDebito> tarjetas, int tamanioPagina) {
+        if (tarjetas.size() <= tamanioPagina) {
+            return new PaginaTarjetasDTO(tarjetaDebitoMapper.toDTOList(tarjetas), null);
+        }
+        List<TarjetaDebito> contenido = tarjetas.subList(0, tamanioPagina);
+        String siguienteCursor = CursorPaginacion.codificar(contenido.get(tamanioPagina - 1).getId());
+        return new PaginaTarjetasDTO(tarjetaDebitoMapper.toDTOList(contenido), siguienteCursor);
     }
 }
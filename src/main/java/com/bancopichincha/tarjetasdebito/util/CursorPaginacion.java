@@ -0,0 +1,84 @@
+package com.bancopichincha.tarjetasdebito.util;
+
+import com.bancopichincha.tarjetasdebito.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica el cursor opaco de la paginación por keyset.
+ * El cursor contiene la última clave de ordenamiento entregada al cliente, o bien la posición
+ * siguiente dentro de un resultado ordenado por relevancia (búsqueda por nombre).
+ */
+public final class CursorPaginacion {
+
+    private static final String PREFIJO = "k:";
+
+    private static final String PREFIJO_POSICION = "p:";
+
+    private CursorPaginacion() {
+    }
+
+    /**
+     * Genera el cursor que apunta a la posición siguiente a {@code ultimaClave}
+     */
+    public static String codificar(long ultimaClave) {
+        byte[] contenido = (PREFIJO + ultimaClave).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(contenido);
+    }
+
+    /**
+     * Obtiene la última clave entregada; un cursor vacío corresponde al inicio (0)
+     */
+    public static long decodificar(String cursor) {
+        return decodificar(cursor, PREFIJO);
+    }
+
+    /**
+     * Genera el cursor que apunta a la posición {@code posicion} de un resultado ordenado por relevancia
+     */
+    public static String codificarPosicion(long posicion) {
+        byte[] contenido = (PREFIJO_POSICION + posicion).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(contenido);
+    }
+
+    /**
+     * Obtiene la posición indicada por el cursor; un cursor vacío corresponde al inicio (0)
+     */
+    public static long decodificarPosicion(String cursor) {
+        return decodificar(cursor, PREFIJO_POSICION);
+    }
+
+    /**
+     * Indica si el cursor es vacío o de posición (y no de clave)
+     */
+    public static boolean esPosicion(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return true;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).startsWith(PREFIJO_POSICION);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static long decodificar(String cursor, String prefijo) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String contenido = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!contenido.startsWith(prefijo)) {
+                throw new BusinessException("El cursor de paginación no es válido");
+            }
+            long clave = Long.parseLong(contenido.substring(prefijo.length()));
+            if (clave < 0) {
+                throw new BusinessException("El cursor de paginación no es válido");
+            }
+            return clave;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("El cursor de paginación no es válido", e);
+        }
+    }
+}
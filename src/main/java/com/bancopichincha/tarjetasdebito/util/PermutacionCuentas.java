@@ -0,0 +1,105 @@
+package com.bancopichincha.tarjetasdebito.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Permutación con clave de los números de cuenta de 11 dígitos (cifrado que preserva el formato).
+ * Red de Feistel de {@value #RONDAS} rondas sobre dos mitades de 5 y 6 dígitos con suma módulo 10^k, como
+ * FF1; la función de ronda es SipHash-2-4 con una clave de 128 bits derivada (SHA-256) de la clave configurada.
+ * Sin la clave, conocer algunos números emitidos no permite deducir los siguientes.
+ */
+public final class PermutacionCuentas {
+
+    public static final long RANGO = 100_000_000_000L; // 11 dígitos
+
+    private static final int RONDAS = 10;
+
+    private static final long MODULO_IZQUIERDA = 100_000L; // 5 dígitos
+
+    private static final long MODULO_DERECHA = 1_000_000L; // 6 dígitos
+
+    private final long k0;
+
+    private final long k1;
+
+    public PermutacionCuentas(String clave) {
+        if (clave == null || clave.isBlank()) {
+            throw new IllegalArgumentException("La clave de numeración de tarjetas es obligatoria");
+        }
+        ByteBuffer resumen = ByteBuffer.wrap(sha256(clave)).order(ByteOrder.LITTLE_ENDIAN);
+        this.k0 = resumen.getLong();
+        this.k1 = resumen.getLong();
+    }
+
+    // Clave SipHash explícita (vectores de prueba)
+    PermutacionCuentas(long k0, long k1) {
+        this.k0 = k0;
+        this.k1 = k1;
+    }
+
+    /**
+     * Imagen de {@code valor} en [0, 10^11); valores distintos producen imágenes distintas
+     */
+    public long permutar(long valor) {
+        if (valor < 0 || valor >= RANGO) {
+            throw new IllegalArgumentException("Valor fuera del rango de cuentas: " + valor);
+        }
+        // La mitad que se actualiza alterna entre 5 y 6 dígitos; con un número par de rondas vuelve a su forma
+        long izquierda = valor / MODULO_DERECHA;
+        long derecha = valor % MODULO_DERECHA;
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            long modulo = ronda % 2 == 0 ? MODULO_IZQUIERDA : MODULO_DERECHA;
+            long nueva = (izquierda + Long.remainderUnsigned(sipHash(((long) ronda << 56) | derecha), modulo)) % modulo;
+            izquierda = derecha;
+            derecha = nueva;
+        }
+        return izquierda * MODULO_DERECHA + derecha;
+    }
+
+    // SipHash-2-4 de un mensaje de 8 bytes (una palabra y el bloque final con la longitud)
+    long sipHash(long mensaje) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        long bloqueFinal = 8L << 56;
+        for (int paso = 0; paso < 8; paso++) {
+            if (paso == 0) {
+                v3 ^= mensaje;
+            } else if (paso == 2) {
+                v0 ^= mensaje;
+                v3 ^= bloqueFinal;
+            } else if (paso == 4) {
+                v0 ^= bloqueFinal;
+                v2 ^= 0xff;
+            }
+            v0 += v1;
+            v1 = Long.rotateLeft(v1, 13);
+            v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3;
+            v3 = Long.rotateLeft(v3, 16);
+            v3 ^= v2;
+            v0 += v3;
+            v3 = Long.rotateLeft(v3, 21);
+            v3 ^= v0;
+            v2 += v1;
+            v1 = Long.rotateLeft(v1, 17);
+            v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    private static byte[] sha256(String clave) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(clave.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
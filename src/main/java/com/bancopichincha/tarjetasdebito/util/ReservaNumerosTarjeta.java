@@ -0,0 +1,19 @@
+package com.bancopichincha.tarjetasdebito.util;
+
+/**
+ * Origen de bloques exclusivos de valores para emitir números de tarjeta.
+ * Dos llamadas a {@link #reservarBloque()} (en el mismo nodo o en nodos distintos) nunca
+ * retornan rangos que se solapen.
+ */
+public interface ReservaNumerosTarjeta {
+
+    /**
+     * Reservar un bloque [inicio, inicio + tamanioBloque()) y retornar su primer valor (mayor que 0)
+     */
+    long reservarBloque();
+
+    /**
+     * Cantidad de valores de cada bloque reservado
+     */
+    int tamanioBloque();
+}
@@ -0,0 +1,33 @@
+package com.bancopichincha.tarjetasdebito.util;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Generador de IDs de tarjetas basado en una secuencia con optimizador pooled-lo.
+ * Cada consulta a la secuencia reserva un bloque de IDs en memoria (propiedad {@value #TAMANIO_ASIGNACION},
+ * {@value #TAMANIO_ASIGNACION_POR_DEFECTO} por defecto), por lo que Hibernate no necesita ejecutar cada INSERT
+ * para conocer la clave y puede enviarlos en lotes JDBC. Se configura con
+ * {@code spring.jpa.properties.tarjetas.id.tamanio-asignacion} y debe coincidir con el INCREMENT BY de la
+ * secuencia en la base de datos.
+ */
+public class TarjetaDebitoIdGenerator extends SequenceStyleGenerator {
+
+    public static final String TAMANIO_ASIGNACION = "tarjetas.id.tamanio-asignacion";
+
+    private static final int TAMANIO_ASIGNACION_POR_DEFECTO = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int tamanioAsignacion = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(TAMANIO_ASIGNACION, StandardConverters.INTEGER, TAMANIO_ASIGNACION_POR_DEFECTO);
+        parameters.put(INCREMENT_PARAM, String.valueOf(tamanioAsignacion));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -1,28 +1,95 @@
 package com.bancopichincha.tarjetasdebito.util;
 
+import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoCreateDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
 import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
-@Component
-public class TarjetaDebitoMapper {
+import java.util.ArrayList;
+import java.util.List;
 
-    @Autowired
-    private ModelMapper modelMapper;
+/**
+ * Conversión entre la entidad TarjetaDebito y sus DTOs.
+ * Copia campo a campo, sin reflexión: se invoca por cada tarjeta de los listados.
+ */
+public class TarjetaDebitoMapper {
 
     /**
      * Convertir Entity a DTO
      */
     public TarjetaDebitoDTO toDTO(TarjetaDebito tarjeta) {
-        return modelMapper.map(tarjeta, TarjetaDebitoDTO.class);
+        if (tarjeta == null) {
+            return null;
+        }
+        TarjetaDebitoDTO dto = new TarjetaDebitoDTO();
+        dto.setId(tarjeta.getId());
+        dto.setNumeroTarjeta(tarjeta.getNumeroTarjeta());
+        dto.setNombreTitular(tarjeta.getNombreTitular());
+        dto.setCedula(tarjeta.getCedula());
+        dto.setFechaExpiracion(tarjeta.getFechaExpiracion());
+        dto.setCvv(tarjeta.getCvv());
+        dto.setLimiteDiario(tarjeta.getLimiteDiario());
+        dto.setSaldoDisponible(tarjeta.getSaldoDisponible());
+        dto.setEstado(tarjeta.getEstado());
+        dto.setTipoTarjeta(tarjeta.getTipoTarjeta());
+        dto.setFechaCreacion(tarjeta.getFechaCreacion());
+        dto.setFechaActualizacion(tarjeta.getFechaActualizacion());
+        dto.setTelefono(tarjeta.getTelefono());
+        dto.setEmail(tarjeta.getEmail());
+        return dto;
+    }
+
+    /**
+     * Convertir una lista de Entities a DTOs
+     */
+    public List<TarjetaDebitoDTO> toDTOList(List<TarjetaDebito> tarjetas) {
+        List<TarjetaDebitoDTO> dtos = new ArrayList<>(tarjetas.size());
+        for (TarjetaDebito tarjeta : tarjetas) {
+            dtos.add(toDTO(tarjeta));
+        }
+        return dtos;
     }
 
     /**
      * Convertir DTO a Entity
      */
     public TarjetaDebito toEntity(TarjetaDebitoDTO tarjetaDTO) {
-        return modelMapper.map(tarjetaDTO, TarjetaDebito.class);
+        if (tarjetaDTO == null) {
+            return null;
+        }
+        TarjetaDebito tarjeta = new TarjetaDebito();
+        tarjeta.setId(tarjetaDTO.getId());
+        tarjeta.setNumeroTarjeta(tarjetaDTO.getNumeroTarjeta());
+        tarjeta.setNombreTitular(tarjetaDTO.getNombreTitular());
+        tarjeta.setCedula(tarjetaDTO.getCedula());
+        tarjeta.setFechaExpiracion(tarjetaDTO.getFechaExpiracion());
+        tarjeta.setCvv(tarjetaDTO.getCvv());
+        tarjeta.setLimiteDiario(tarjetaDTO.getLimiteDiario());
+        tarjeta.setSaldoDisponible(tarjetaDTO.getSaldoDisponible());
+        tarjeta.setEstado(tarjetaDTO.getEstado());
+        tarjeta.setTipoTarjeta(tarjetaDTO.getTipoTarjeta());
+        tarjeta.setFechaCreacion(tarjetaDTO.getFechaCreacion());
+        tarjeta.setFechaActualizacion(tarjetaDTO.getFechaActualizacion());
+        tarjeta.setTelefono(tarjetaDTO.getTelefono());
+        tarjeta.setEmail(tarjetaDTO.getEmail());
+        return tarjeta;
+    }
+
+    /**
+     * Convertir DTO de creación a Entity.
+     * Número, CVV y fecha de expiración los asigna el servicio.
+     */
+    public TarjetaDebito toEntity(TarjetaDebitoCreateDTO tarjetaCreateDTO) {
+        if (tarjetaCreateDTO == null) {
+            return null;
+        }
+        TarjetaDebito tarjeta = new TarjetaDebito();
+        tarjeta.setNombreTitular(tarjetaCreateDTO.getNombreTitular());
+        tarjeta.setCedula(tarjetaCreateDTO.getCedula());
+        tarjeta.setLimiteDiario(tarjetaCreateDTO.getLimiteDiario());
+        tarjeta.setSaldoDisponible(tarjetaCreateDTO.getSaldoInicial());
+        tarjeta.setTipoTarjeta(tarjetaCreateDTO.getTipoTarjeta());
+        tarjeta.setTelefono(tarjetaCreateDTO.getTelefono());
+        tarjeta.setEmail(tarjetaCreateDTO.getEmail());
+        return tarjeta;
     }
 }
@@ -1,41 +1,178 @@
 package com.bancopichincha.tarjetasdebito.util;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Emisor de números de tarjeta y CVV.
+ * Cada número sale de un valor único reservado por bloques ({@link ReservaNumerosTarjeta}); dentro del bloque
+ * los valores se toman con un contador atómico, sin bloqueo. El valor se transforma con una permutación con
+ * clave de los 11 dígitos de cuenta ({@link PermutacionCuentas}, clave en {@code tarjetas.numeros.clave}) para
+ * que los números emitidos no sean consecutivos ni predecibles, y se completa con el dígito verificador de
+ * Luhn, por lo que dos valores distintos nunca producen el mismo número. La clave no debe cambiar una vez
+ * emitidas tarjetas: con otra clave los valores nuevos podrían repetir números ya emitidos.
+ */
 @Component
 public class TarjetaNumberGenerator {
 
-    private final Random random = new SecureRandom();
+    // Prefijo del Banco Pichincha (simulado)
+    private static final String BIN = "5428";
+
+    private final ReservaNumerosTarjeta reservaNumeros;
+
+    private final PermutacionCuentas permutacion;
+
+    private final AtomicReference<Bloque> bloqueActual = new AtomicReference<>(Bloque.VACIO);
+
+    // ReentrantLock y no synchronized: la reserva consulta la base de datos y un hilo virtual
+    // bloqueado dentro de synchronized retiene su hilo portador (Java 21)
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    // Varias fuentes independientes para repartir la contención del SecureRandom entre hilos
+    private final SecureRandom[] fuentesAleatorias;
+
+    public TarjetaNumberGenerator(ReservaNumerosTarjeta reservaNumeros,
+                                  @Value("${tarjetas.numeros.clave}") String clave) {
+        this.reservaNumeros = reservaNumeros;
+        this.permutacion = new PermutacionCuentas(clave);
+        this.fuentesAleatorias = new SecureRandom[Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) * 2];
+        for (int i = 0; i < fuentesAleatorias.length; i++) {
+            fuentesAleatorias[i] = new SecureRandom();
+        }
+    }
 
     /**
-     * Genera un número de tarjeta de 16 dígitos
+     * Genera un número de tarjeta de 16 dígitos válido según Luhn
      * Los primeros 4 dígitos identifican al Banco Pichincha
      */
     public String generateTarjetaNumber() {
-        StringBuilder sb = new StringBuilder();
-        
-        // Prefijo del Banco Pichincha (simulado)
-        sb.append("5428");
-        
-        // Generar los siguientes 12 dígitos
-        for (int i = 0; i < 12; i++) {
-            sb.append(random.nextInt(10));
+        return componerNumero(siguienteValor());
+    }
+
+    /**
+     * Genera {@code cantidad} números de tarjeta distintos (emisión masiva)
+     */
+    public List<String> generateTarjetaNumbers(int cantidad) {
+        List<String> numeros = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            numeros.add(generateTarjetaNumber());
         }
-        
-        return sb.toString();
+        return numeros;
     }
 
     /**
      * Genera un CVV de 3 dígitos
      */
     public String generateCVV() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 3; i++) {
-            sb.append(random.nextInt(10));
+        int valor = fuenteAleatoria().nextInt(1000);
+        char[] cvv = {
+                (char) ('0' + valor / 100),
+                (char) ('0' + valor / 10 % 10),
+                (char) ('0' + valor % 10)
+        };
+        return new String(cvv);
+    }
+
+    /**
+     * Verificar si un número cumple el algoritmo de Luhn
+     */
+    public static boolean esLuhnValido(String numero) {
+        if (numero == null || numero.length() < 2) {
+            return false;
+        }
+        int suma = 0;
+        for (int i = numero.length() - 1, posicion = 0; i >= 0; i--, posicion++) {
+            char c = numero.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            int digito = c - '0';
+            if (posicion % 2 == 1) {
+                digito *= 2;
+                if (digito > 9) {
+                    digito -= 9;
+                }
+            }
+            suma += digito;
+        }
+        return suma % 10 == 0;
+    }
+
+    private long siguienteValor() {
+        while (true) {
+            Bloque bloque = bloqueActual.get();
+            long valor = bloque.siguiente.getAndIncrement();
+            if (valor < bloque.fin) {
+                return valor;
+            }
+            // Solo se bloquea al agotar un bloque; los demás hilos reintentan con el bloque nuevo
+            recarga.lock();
+            try {
+                if (bloqueActual.get() == bloque) {
+                    long inicio = reservaNumeros.reservarBloque();
+                    if (inicio <= 0 || inicio + reservaNumeros.tamanioBloque() > PermutacionCuentas.RANGO) {
+                        throw new IllegalStateException("Se agotó el rango de números de tarjeta disponibles");
+                    }
+                    bloqueActual.set(new Bloque(inicio, inicio + reservaNumeros.tamanioBloque()));
+                }
+            } finally {
+                recarga.unlock();
+            }
+        }
+    }
+
+    private String componerNumero(long valor) {
+        long cuenta = permutacion.permutar(valor);
+
+        char[] digitos = new char[16];
+        BIN.getChars(0, BIN.length(), digitos, 0);
+        for (int i = 14; i >= 4; i--) {
+            digitos[i] = (char) ('0' + cuenta % 10);
+            cuenta /= 10;
+        }
+        digitos[15] = (char) ('0' + digitoVerificador(digitos));
+        return new String(digitos);
+    }
+
+    // Dígito de Luhn para los 15 primeros dígitos: se duplican las posiciones impares contando desde la derecha
+    private static int digitoVerificador(char[] digitos) {
+        int suma = 0;
+        for (int i = 14, posicion = 0; i >= 0; i--, posicion++) {
+            int digito = digitos[i] - '0';
+            if (posicion % 2 == 0) {
+                digito *= 2;
+                if (digito > 9) {
+                    digito -= 9;
+                }
+            }
+            suma += digito;
+        }
+        return (10 - suma % 10) % 10;
+    }
+
+    private SecureRandom fuenteAleatoria() {
+        return fuentesAleatorias[ThreadLocalRandom.current().nextInt(fuentesAleatorias.length)];
+    }
+
+    private static final class Bloque {
+
+        static final Bloque VACIO = new Bloque(0, 0);
+
+        final AtomicLong siguiente;
+
+        final long fin;
+
+        Bloque(long inicio, long fin) {
+            this.siguiente = new AtomicLong(inicio);
+            this.fin = fin;
         }
-        return sb.toString();
     }
 }
@@ -0,0 +1,11 @@
+-- Migración de tarjetas_debito.id de IDENTITY a la secuencia tarjetas_debito_seq (H2).
+-- Solo es necesaria para bases de datos creadas antes del cambio; con ddl-auto=create-drop
+-- Hibernate crea la secuencia directamente.
+-- INCREMENT BY debe coincidir con spring.jpa.properties.tarjetas.id.tamanio-asignacion.
+
+-- 1. La columna deja de generar valores por sí misma
+ALTER TABLE tarjetas_debito ALTER COLUMN id DROP IDENTITY;
+
+-- 2. La secuencia continúa después del mayor ID existente
+CREATE SEQUENCE IF NOT EXISTS tarjetas_debito_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE tarjetas_debito_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM tarjetas_debito);
@@ -0,0 +1,37 @@
+-- Esquema inicial de tarjetas_debito (perfil prod; en desarrollo lo genera Hibernate con ddl-auto=create-drop).
+-- Debe mantenerse alineado con la entidad TarjetaDebito: todo cambio de esquema va en una nueva migración V<n>__*.sql.
+
+-- IDs de tarjeta con asignación por bloques (pooled-lo): INCREMENT BY = spring.jpa.properties.tarjetas.id.tamanio-asignacion
+CREATE SEQUENCE tarjetas_debito_seq START WITH 1 INCREMENT BY 50;
+
+-- Bloques de números de tarjeta: cada reserva toma INCREMENT BY números (el tamaño del bloque es el INCREMENT de la secuencia)
+CREATE SEQUENCE tarjetas_numero_seq START WITH 1 INCREMENT BY 1000;
+
+CREATE TABLE tarjetas_debito (
+    id                  BIGINT          NOT NULL,
+    numero_tarjeta      VARCHAR(16)     NOT NULL,
+    nombre_titular      VARCHAR(100)    NOT NULL,
+    cedula              VARCHAR(10)     NOT NULL,
+    fecha_expiracion    DATE            NOT NULL,
+    cvv                 VARCHAR(3)      NOT NULL,
+    limite_diario       NUMERIC(10, 2)  NOT NULL,
+    saldo_disponible    NUMERIC(10, 2)  NOT NULL,
+    estado              VARCHAR(20)     NOT NULL,
+    tipo_tarjeta        VARCHAR(20)     NOT NULL,
+    fecha_creacion      TIMESTAMP(6)    NOT NULL,
+    fecha_actualizacion TIMESTAMP(6),
+    telefono            VARCHAR(10),
+    email               VARCHAR(100),
+    CONSTRAINT pk_tarjetas_debito PRIMARY KEY (id),
+    CONSTRAINT uk_tarjetas_numero_tarjeta UNIQUE (numero_tarjeta),
+    CONSTRAINT uk_tarjetas_cedula UNIQUE (cedula),
+    CONSTRAINT ck_tarjetas_estado CHECK (estado IN ('ACTIVA', 'BLOQUEADA', 'CANCELADA', 'SUSPENDIDA', 'VENCIDA')),
+    CONSTRAINT ck_tarjetas_tipo_tarjeta CHECK (tipo_tarjeta IN ('CLASICA', 'GOLD', 'PLATINUM', 'SIGNATURE', 'EMPRESARIAL'))
+);
+
+-- Mismos índices que declara @Table en TarjetaDebito
+CREATE INDEX idx_tarjetas_estado ON tarjetas_debito (estado);
+CREATE INDEX idx_tarjetas_tipo_tarjeta ON tarjetas_debito (tipo_tarjeta);
+CREATE INDEX idx_tarjetas_fecha_expiracion ON tarjetas_debito (fecha_expiracion);
+CREATE INDEX idx_tarjetas_estado_fecha_expiracion ON tarjetas_debito (estado, fecha_expiracion);
+CREATE INDEX idx_tarjetas_cedula_estado ON tarjetas_debito (cedula, estado);
@@ -0,0 +1,4 @@
+-- Consumo del límite diario por tarjeta (ConsumoDiario), persistido junto con el saldo por SaldosTarjetaRepository.
+-- Al iniciar se reconstruye en memoria con las filas cuya fecha_consumo es el día actual.
+ALTER TABLE tarjetas_debito ADD COLUMN consumo_diario NUMERIC(10, 2) DEFAULT 0 NOT NULL;
+ALTER TABLE tarjetas_debito ADD COLUMN fecha_consumo DATE;
@@ -0,0 +1,3 @@
+-- Secuencias sin entidad asociada, para el esquema que genera Hibernate (ddl-auto=create/create-drop).
+-- En el perfil prod las crea la migración V1; deben mantenerse iguales.
+CREATE SEQUENCE IF NOT EXISTS tarjetas_numero_seq START WITH 1 INCREMENT BY 1000;
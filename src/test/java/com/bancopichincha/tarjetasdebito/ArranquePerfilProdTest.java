@@ -0,0 +1,53 @@
+package com.bancopichincha.tarjetasdebito;
+
+import com.bancopichincha.tarjetasdebito.service.TarjetaDebitoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inicia la aplicación completa con el perfil prod sobre una base H2 en archivo nueva: Flyway crea el esquema
+ * y Hibernate lo valida contra las entidades (ddl-auto=validate).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("prod")
+public class ArranquePerfilProdTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TarjetaDebitoService tarjetaDebitoService;
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registro) throws IOException {
+        Path directorio = Files.createTempDirectory("tarjetas-prod");
+        registro.add("tarjetas.h2.archivo", () -> directorio.resolve("tarjetas").toString());
+        registro.add("logging.file.name", () -> directorio.resolve("tarjetas-debito.log").toString());
+        registro.add("tarjetas.numeros.clave", () -> "clave-de-prueba");
+    }
+
+    @Test
+    public void testArranque_MigracionesAplicadasYEsquemaValidado() {
+        // Act
+        List<String> migraciones = jdbcTemplate.queryForList("SELECT \"version\" FROM \"flyway_schema_history\" " +
+                "WHERE \"type\" = 'SQL' AND \"success\" = TRUE ORDER BY \"installed_rank\"", String.class);
+        Long tarjetas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tarjetas_debito", Long.class);
+
+        // Assert
+        assertEquals(List.of("1", "2"), migraciones);
+        assertTrue(tarjetas > 0, "DataInitializer no cargó las tarjetas de prueba");
+        assertEquals(tarjetas.longValue(), tarjetaDebitoService.obtenerEstadisticasTarjetas().getTotal());
+    }
+}
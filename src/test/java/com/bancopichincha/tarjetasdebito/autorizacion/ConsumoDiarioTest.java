@@ -0,0 +1,103 @@
+package com.bancopichincha.tarjetasdebito.autorizacion;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsumoDiarioTest {
+
+    private static final LocalDate HOY = LocalDate.of(2025, 3, 10);
+
+    private final ConsumoDiario consumoDiario = new ConsumoDiario();
+
+    @Test
+    public void testReservar_NoSuperaElLimite() {
+        // Act
+        long primera = consumoDiario.reservar(1L, 3_000, 5_000, HOY);
+        long excedida = consumoDiario.reservar(1L, 2_001, 5_000, HOY);
+        long exacta = consumoDiario.reservar(1L, 2_000, 5_000, HOY);
+
+        // Assert
+        assertEquals(3_000, primera);
+        assertEquals(-1, excedida);
+        assertEquals(5_000, exacta);
+        assertEquals(5_000, consumoDiario.consumido(1L, HOY));
+        assertEquals(0, consumoDiario.consumido(2L, HOY));
+    }
+
+    @Test
+    public void testReservar_ElConsumoSeReiniciaAMedianoche() {
+        // Arrange
+        consumoDiario.reservar(1L, 5_000, 5_000, HOY);
+
+        // Act
+        long diaSiguiente = consumoDiario.reservar(1L, 1_000, 5_000, HOY.plusDays(1));
+
+        // Assert
+        assertEquals(1_000, diaSiguiente);
+        assertEquals(1_000, consumoDiario.consumido(1L, HOY.plusDays(1)));
+        assertEquals(0, consumoDiario.consumido(1L, HOY.plusDays(2)));
+    }
+
+    @Test
+    public void testLiberar_SoloDevuelveReservasDelDiaVigente() {
+        // Arrange
+        consumoDiario.reservar(1L, 3_000, 5_000, HOY);
+
+        // Act
+        consumoDiario.liberar(1L, 1_000, HOY);
+        consumoDiario.reservar(1L, 500, 5_000, HOY.plusDays(1));
+        consumoDiario.liberar(1L, 2_000, HOY);
+
+        // Assert
+        assertEquals(500, consumoDiario.consumido(1L, HOY.plusDays(1)));
+    }
+
+    @Test
+    public void testCargar_NoReemplazaElConsumoEnMemoria() {
+        // Arrange
+        consumoDiario.reservar(1L, 700, 5_000, HOY);
+
+        // Act
+        consumoDiario.cargar(1L, 4_000, HOY);
+        consumoDiario.cargar(2L, 4_000, HOY);
+        consumoDiario.cargar(3L, 4_000, HOY.minusDays(1));
+
+        // Assert
+        assertEquals(700, consumoDiario.consumido(1L, HOY));
+        assertEquals(4_000, consumoDiario.consumido(2L, HOY));
+        assertEquals(0, consumoDiario.consumido(3L, HOY));
+    }
+
+    @Test
+    public void testReservarYEliminar_CoincidenConUnMapa() {
+        // Arrange
+        Map<Long, Long> esperado = new HashMap<>();
+        Random aleatorio = new Random(42);
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + aleatorio.nextInt(20_000);
+            if (aleatorio.nextInt(4) == 0) {
+                consumoDiario.eliminar(id);
+                esperado.remove(id);
+            } else {
+                long monto = 1 + aleatorio.nextInt(100);
+                if (consumoDiario.reservar(id, monto, 1_000, HOY) >= 0) {
+                    esperado.merge(id, monto, Long::sum);
+                }
+            }
+        }
+
+        // Assert
+        assertEquals(esperado.size(), consumoDiario.tamanio());
+        for (long id = 1; id <= 20_000; id++) {
+            assertEquals(esperado.getOrDefault(id, 0L), consumoDiario.consumido(id, HOY), "ID " + id);
+        }
+    }
+}
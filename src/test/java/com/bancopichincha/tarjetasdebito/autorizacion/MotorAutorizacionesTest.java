@@ -0,0 +1,200 @@
+package com.bancopichincha.tarjetasdebito.autorizacion;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MotorAutorizacionesTest {
+
+    private static final String NUMERO = "5428000000000001";
+
+    private static final LocalDate HOY = LocalDate.of(2025, 3, 10);
+
+    private final ConsumoDiario consumoDiario = new ConsumoDiario();
+
+    private final MotorAutorizaciones motor = new MotorAutorizaciones(consumoDiario);
+
+    @Test
+    public void testAutorizar_AplicaElDebitoYLoDejaPendiente() {
+        // Arrange
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 10_000, 5_000));
+
+        // Act
+        ResultadoAutorizacion resultado = motor.autorizar(NUMERO, 1_500, HOY);
+
+        // Assert
+        assertTrue(resultado.isAprobada());
+        assertEquals(8_500, resultado.getSaldo().getSaldoCentavos());
+        assertEquals(3_500, resultado.getDisponibleDiarioCentavos());
+        assertEquals(1_500, consumoDiario.consumido(1L, HOY));
+        List<SaldoTarjeta> pendientes = motor.tomarPendientes(10);
+        assertEquals(1, pendientes.size());
+        assertEquals(8_500, pendientes.get(0).getSaldoCentavos());
+        assertTrue(motor.tomarPendientes(10).isEmpty());
+    }
+
+    @Test
+    public void testAutorizar_RechazosNoModificanElSaldo() {
+        // Arrange
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 10_000, 5_000));
+
+        // Act & Assert
+        assertEquals(CodigoAutorizacion.SALDO_INSUFICIENTE, motor.autorizar(NUMERO, 10_001, HOY).getCodigo());
+        assertEquals(CodigoAutorizacion.LIMITE_DIARIO_EXCEDIDO, motor.autorizar(NUMERO, 5_001, HOY).getCodigo());
+        assertEquals(CodigoAutorizacion.TARJETA_VENCIDA,
+                motor.autorizar(NUMERO, 100, LocalDate.of(2031, 1, 1)).getCodigo());
+        motor.cambiarEstado(1L, EstadoTarjeta.BLOQUEADA);
+        assertEquals(CodigoAutorizacion.TARJETA_NO_ACTIVA, motor.autorizar(NUMERO, 100, HOY).getCodigo());
+        assertNull(motor.autorizar("5428999999999999", 100, HOY));
+        assertEquals(0, motor.cantidadPendientes());
+        assertEquals(0, consumoDiario.consumido(1L, HOY));
+    }
+
+    @Test
+    public void testAutorizar_RespetaElConsumoCargadoDesdeLaBaseDeDatos() {
+        // Arrange
+        consumoDiario.cargar(1L, 4_000, HOY);
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 10_000, 5_000));
+
+        // Act
+        ResultadoAutorizacion excedida = motor.autorizar(NUMERO, 1_001, HOY);
+        ResultadoAutorizacion aprobada = motor.autorizar(NUMERO, 1_000, HOY);
+
+        // Assert
+        assertEquals(CodigoAutorizacion.LIMITE_DIARIO_EXCEDIDO, excedida.getCodigo());
+        assertEquals(1_000, excedida.getDisponibleDiarioCentavos());
+        assertTrue(aprobada.isAprobada());
+        assertEquals(0, aprobada.getDisponibleDiarioCentavos());
+    }
+
+    @Test
+    public void testAutorizar_ElConsumoDiarioSeReiniciaAlDiaSiguiente() {
+        // Arrange
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 100_000, 5_000));
+        motor.autorizar(NUMERO, 5_000, HOY);
+
+        // Act
+        ResultadoAutorizacion mismoDia = motor.autorizar(NUMERO, 1, HOY);
+        ResultadoAutorizacion diaSiguiente = motor.autorizar(NUMERO, 5_000, HOY.plusDays(1));
+
+        // Assert
+        assertEquals(CodigoAutorizacion.LIMITE_DIARIO_EXCEDIDO, mismoDia.getCodigo());
+        assertTrue(diaSiguiente.isAprobada());
+        assertEquals(90_000, diaSiguiente.getSaldo().getSaldoCentavos());
+    }
+
+    @Test
+    public void testAutorizar_DebitosConcurrentesNoSuperanElSaldo() throws InterruptedException {
+        // Arrange
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 5_000, 1_000_000));
+        AtomicInteger aprobadas = new AtomicInteger();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int hilo = 0; hilo < 8; hilo++) {
+            ejecutor.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (motor.autorizar(NUMERO, 1, HOY).isAprobada()) {
+                        aprobadas.incrementAndGet();
+                    }
+                }
+            });
+        }
+        ejecutor.shutdown();
+        assertTrue(ejecutor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(5_000, aprobadas.get());
+        assertEquals(0, motor.tomarPendientes(10).get(0).getSaldoCentavos());
+        assertEquals(5_000, consumoDiario.consumido(1L, HOY));
+    }
+
+    @Test
+    public void testAutorizar_ElLimiteDiarioSeRespetaConDebitosConcurrentes() throws InterruptedException {
+        // Arrange
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 1_000_000, 3_000));
+        AtomicInteger aprobadas = new AtomicInteger();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int hilo = 0; hilo < 8; hilo++) {
+            ejecutor.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (motor.autorizar(NUMERO, 1, HOY).isAprobada()) {
+                        aprobadas.incrementAndGet();
+                    }
+                }
+            });
+        }
+        ejecutor.shutdown();
+        assertTrue(ejecutor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(3_000, aprobadas.get());
+        assertEquals(997_000, motor.tomarPendientes(10).get(0).getSaldoCentavos());
+        assertEquals(3_000, consumoDiario.consumido(1L, HOY));
+    }
+
+    @Test
+    public void testCargarYEliminar_ConservaLaTarjetaYaCargada() {
+        // Arrange
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 10_000, 5_000));
+        motor.autorizar(NUMERO, 1_000, HOY);
+
+        // Act
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 10_000, 5_000));
+        ResultadoAutorizacion resultado = motor.autorizar(NUMERO, 1_000, HOY);
+        motor.eliminar(1L);
+
+        // Assert
+        assertEquals(8_000, resultado.getSaldo().getSaldoCentavos());
+        assertFalse(motor.isCargada(NUMERO));
+        assertEquals(0, motor.cantidadPendientes());
+        assertEquals(0, motor.tamanio());
+        assertEquals(0, consumoDiario.tamanio());
+    }
+
+    @Test
+    public void testCargar_AplicaElCambioDeEstadoConfirmadoDuranteLaLectura() {
+        // Arrange
+        long lectura = motor.iniciarLectura();
+        SaldoTarjeta leido = saldo(EstadoTarjeta.ACTIVA, 10_000, 5_000);
+        motor.cambiarEstado(1L, EstadoTarjeta.BLOQUEADA);
+
+        // Act
+        motor.cargar(leido);
+        motor.finalizarLectura(lectura);
+        ResultadoAutorizacion resultado = motor.autorizar(NUMERO, 1_000, HOY);
+
+        // Assert
+        assertEquals(EstadoTarjeta.BLOQUEADA, motor.consultar(1L).getEstado());
+        assertFalse(resultado.isAprobada());
+        assertEquals(10_000, motor.consultar(1L).getSaldoCentavos());
+    }
+
+    @Test
+    public void testFinalizarLectura_DescartaLosCambiosDeTarjetasNoCargadas() {
+        // Arrange
+        long lectura = motor.iniciarLectura();
+        motor.cambiarEstado(1L, EstadoTarjeta.BLOQUEADA);
+        motor.finalizarLectura(lectura);
+
+        // Act
+        motor.cargar(saldo(EstadoTarjeta.ACTIVA, 10_000, 5_000));
+
+        // Assert
+        assertEquals(EstadoTarjeta.ACTIVA, motor.consultar(1L).getEstado());
+    }
+
+    private SaldoTarjeta saldo(EstadoTarjeta estado, long saldoCentavos, long limiteDiarioCentavos) {
+        return new SaldoTarjeta(1L, NUMERO, estado, LocalDate.of(2030, 12, 31), saldoCentavos, limiteDiarioCentavos);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bancopichincha.tarjetasdebito.cache;
+
+import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TarjetaDebitoCacheTest {
+
+    private static final String NUMERO = "5428000000000001";
+
+    private final TarjetaDebitoCache cache = new TarjetaDebitoCache(100, 300);
+
+    @Test
+    public void testObtenerPorId_GuardaLaTarjetaCargada() {
+        // Act
+        cache.obtenerPorId(1L, id -> Optional.of(tarjeta(id)));
+
+        // Assert
+        assertTrue(cache.consultar(1L).isPresent());
+        assertTrue(cache.obtenerPorNumero(NUMERO, numero -> Optional.empty()).isPresent());
+    }
+
+    @Test
+    public void testObtenerPorId_InvalidacionDuranteLaCargaNoSeSobrescribe() {
+        // Act
+        Optional<TarjetaDebitoDTO> cargada = cache.obtenerPorId(1L, id -> {
+            cache.invalidar(id);
+            return Optional.of(tarjeta(id));
+        });
+
+        // Assert
+        assertTrue(cargada.isPresent());
+        assertFalse(cache.consultar(1L).isPresent());
+    }
+
+    @Test
+    public void testObtenerPorId_EscrituraDuranteLaCargaNoSeSobrescribeConLaLecturaAnterior() {
+        // Arrange
+        TarjetaDebitoDTO leida = tarjeta(1L);
+        TarjetaDebitoDTO actualizada = tarjeta(1L);
+
+        // Act
+        cache.obtenerPorId(1L, id -> {
+            cache.guardar(actualizada);
+            return Optional.of(leida);
+        });
+
+        // Assert
+        assertNotSame(leida, cache.consultar(1L).orElse(null));
+    }
+
+    @Test
+    public void testObtenerPorNumero_InvalidacionDuranteLaCargaNoSeSobrescribe() {
+        // Act
+        cache.obtenerPorNumero(NUMERO, numero -> {
+            cache.invalidarTodo();
+            return Optional.of(tarjeta(1L));
+        });
+
+        // Assert
+        assertFalse(cache.consultar(1L).isPresent());
+    }
+
+    private TarjetaDebitoDTO tarjeta(Long id) {
+        TarjetaDebitoDTO tarjeta = new TarjetaDebitoDTO();
+        tarjeta.setId(id);
+        tarjeta.setNumeroTarjeta(NUMERO);
+        return tarjeta;
+    }
+}
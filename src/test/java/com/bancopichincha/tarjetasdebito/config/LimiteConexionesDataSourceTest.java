@@ -0,0 +1,55 @@
+package com.bancopichincha.tarjetasdebito.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LimiteConexionesDataSourceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection conexion;
+
+    @Test
+    public void testGetConnection_SinPermisosFallaYAlCerrarSeLibera() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(conexion);
+        LimiteConexionesDataSource limitado = new LimiteConexionesDataSource(dataSource, 1, 10);
+
+        // Act
+        Connection primera = limitado.getConnection();
+
+        // Assert
+        assertEquals(0, limitado.getPermisosDisponibles());
+        assertThrows(SQLTransientConnectionException.class, limitado::getConnection);
+
+        primera.close();
+        primera.close();
+        assertEquals(1, limitado.getPermisosDisponibles());
+        assertTrue(primera.isClosed());
+        verify(conexion, times(2)).close();
+    }
+
+    @Test
+    public void testGetConnection_ErrorDelPoolDevuelveElPermiso() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLException("pool agotado"));
+        LimiteConexionesDataSource limitado = new LimiteConexionesDataSource(dataSource, 1, 10);
+
+        // Act & Assert
+        assertThrows(SQLException.class, limitado::getConnection);
+        assertEquals(1, limitado.getPermisosDisponibles());
+    }
+}
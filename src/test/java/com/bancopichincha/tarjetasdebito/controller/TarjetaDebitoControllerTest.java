@@ -1,7 +1,13 @@
 package com.bancopichincha.tarjetasdebito.controller;
 
+import com.bancopichincha.tarjetasdebito.model.dto.LimiteDiarioDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.PaginaTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoCambioEstadoMasivoDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoCambioEstadoTarjetaDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudCambioEstadoMasivoDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoCreateDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ValidezTarjetaDTO;
 import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
 import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
 import com.bancopichincha.tarjetasdebito.service.TarjetaDebitoService;
@@ -12,15 +18,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -123,6 +135,48 @@ public class TarjetaDebitoControllerTest {
                 .andExpect(jsonPath("$[1].nombreTitular").value("María López"));
     }
 
+    @Test
+    public void testObtenerPaginaTarjetas_Exitoso() throws Exception {
+        // Arrange
+        PaginaTarjetasDTO pagina = new PaginaTarjetasDTO(
+                Arrays.asList(createTarjetaDTO(1L, "5428123456789012", "Juan Pérez")), "azox");
+
+        when(tarjetaDebitoService.obtenerPaginaTarjetas(null, 1)).thenReturn(pagina);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tarjetas-debito/pagina").param("tamanio", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido.length()").value(1))
+                .andExpect(jsonPath("$.contenido[0].id").value(1))
+                .andExpect(jsonPath("$.siguienteCursor").value("azox"))
+                .andExpect(jsonPath("$.hayMas").value(true));
+    }
+
+    @Test
+    public void testExportarTarjetas_Ndjson() throws Exception {
+        // Arrange
+        when(tarjetaDebitoService.exportarTarjetas(eq(EstadoTarjeta.ACTIVA), isNull(), any())).thenAnswer(invocation -> {
+            Consumer<TarjetaDebitoDTO> consumidor = invocation.getArgument(2);
+            consumidor.accept(createTarjetaDTO(1L, "5428123456789012", "Juan Pérez"));
+            consumidor.accept(createTarjetaDTO(2L, "5428234567890123", "María López"));
+            return 2L;
+        });
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/v1/tarjetas-debito/exportar").param("estado", "ACTIVA"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String[] lineas = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals(1L, objectMapper.readTree(lineas[0]).get("id").asLong());
+        assertEquals("María López", objectMapper.readTree(lineas[1]).get("nombreTitular").asText());
+    }
+
     @Test
     public void testBloquearTarjeta_Exitoso() throws Exception {
         // Arrange
@@ -140,6 +194,68 @@ public class TarjetaDebitoControllerTest {
                 .andExpect(jsonPath("$.estado").value("BLOQUEADA"));
     }
 
+    @Test
+    public void testCambiarEstadoMasivo_ResultadoPorTarjeta() throws Exception {
+        // Arrange
+        SolicitudCambioEstadoMasivoDTO solicitud = new SolicitudCambioEstadoMasivoDTO(EstadoTarjeta.BLOQUEADA,
+                List.of(1L, 2L), null);
+        ResultadoCambioEstadoMasivoDTO resultado = new ResultadoCambioEstadoMasivoDTO(EstadoTarjeta.BLOQUEADA, List.of(
+                ResultadoCambioEstadoTarjetaDTO.exitoso(0, 1L, "5428123456789012", EstadoTarjeta.ACTIVA),
+                ResultadoCambioEstadoTarjetaDTO.fallido(1, 2L, null, "Tarjeta no encontrada")));
+        when(tarjetaDebitoService.cambiarEstadoMasivo(any(SolicitudCambioEstadoMasivoDTO.class))).thenReturn(resultado);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/tarjetas-debito/masivo/estado")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(solicitud)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exitosas").value(1))
+                .andExpect(jsonPath("$.fallidas").value(1))
+                .andExpect(jsonPath("$.resultados[0].estadoAnterior").value("ACTIVA"))
+                .andExpect(jsonPath("$.resultados[1].error").value("Tarjeta no encontrada"));
+    }
+
+    @Test
+    public void testCambiarEstadoMasivo_SinEstado() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/tarjetas-debito/masivo/estado")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1, 2]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testConsultarLimiteDiario_Exitoso() throws Exception {
+        // Arrange
+        Long tarjetaId = 1L;
+        LimiteDiarioDTO limite = new LimiteDiarioDTO(tarjetaId, LocalDate.of(2025, 3, 10),
+                new BigDecimal("1000.00"), new BigDecimal("250.50"));
+        when(tarjetaDebitoService.consultarLimiteDiario(tarjetaId)).thenReturn(limite);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tarjetas-debito/{id}/limite-diario", tarjetaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.idTarjeta").value(1))
+                .andExpect(jsonPath("$.fecha").value("2025-03-10"))
+                .andExpect(jsonPath("$.consumido").value(250.50))
+                .andExpect(jsonPath("$.disponible").value(749.50));
+    }
+
+    @Test
+    public void testConsultarValidez_TarjetaVencida() throws Exception {
+        // Arrange
+        ValidezTarjetaDTO validez = new ValidezTarjetaDTO(EstadoTarjeta.ACTIVA, TipoTarjeta.GOLD,
+                LocalDate.of(2025, 3, 9), LocalDate.of(2025, 3, 10));
+        when(tarjetaDebitoService.consultarValidez("5428123456789012")).thenReturn(validez);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tarjetas-debito/numero/{numeroTarjeta}/estado", "5428123456789012"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estado").value("VENCIDA"))
+                .andExpect(jsonPath("$.tipoTarjeta").value("GOLD"))
+                .andExpect(jsonPath("$.utilizable").value(false));
+    }
+
     @Test
     public void testEliminarTarjeta_Exitoso() throws Exception {
         // Arrange
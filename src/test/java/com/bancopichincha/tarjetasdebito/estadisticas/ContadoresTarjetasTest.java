@@ -0,0 +1,52 @@
+package com.bancopichincha.tarjetasdebito.estadisticas;
+
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContadoresTarjetasTest {
+
+    private final ContadoresTarjetas contadoresTarjetas = new ContadoresTarjetas();
+
+    @Test
+    public void testMover_CambiaSoloLasCeldasAfectadas() {
+        // Arrange
+        contadoresTarjetas.incrementar(EstadoTarjeta.ACTIVA, TipoTarjeta.GOLD);
+        contadoresTarjetas.incrementar(EstadoTarjeta.ACTIVA, TipoTarjeta.GOLD);
+
+        // Act
+        contadoresTarjetas.mover(TipoTarjeta.GOLD, EstadoTarjeta.ACTIVA, EstadoTarjeta.BLOQUEADA);
+        EstadisticasTarjetasDTO estadisticas = contadoresTarjetas.obtenerEstadisticas();
+
+        // Assert
+        assertEquals(1L, estadisticas.getPorEstadoYTipo().get(EstadoTarjeta.ACTIVA).get(TipoTarjeta.GOLD));
+        assertEquals(1L, estadisticas.getPorEstadoYTipo().get(EstadoTarjeta.BLOQUEADA).get(TipoTarjeta.GOLD));
+        assertEquals(2L, estadisticas.getPorTipo().get(TipoTarjeta.GOLD));
+        assertEquals(2L, estadisticas.getTotal());
+    }
+
+    @Test
+    public void testReconciliar_AjustaAlConteoDeLaBaseDeDatos() {
+        // Arrange
+        contadoresTarjetas.incrementar(EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA);
+        contadoresTarjetas.incrementar(EstadoTarjeta.CANCELADA, TipoTarjeta.PLATINUM);
+        assertFalse(contadoresTarjetas.isInicializado());
+
+        // Act
+        contadoresTarjetas.reconciliar(List.<Object[]>of(
+                new Object[]{EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA, 10L},
+                new Object[]{EstadoTarjeta.VENCIDA, TipoTarjeta.EMPRESARIAL, 4L}));
+
+        // Assert
+        assertTrue(contadoresTarjetas.isInicializado());
+        assertEquals(10L, contadoresTarjetas.contar(EstadoTarjeta.ACTIVA));
+        assertEquals(0L, contadoresTarjetas.contar(EstadoTarjeta.CANCELADA));
+        assertEquals(4L, contadoresTarjetas.contar(EstadoTarjeta.VENCIDA));
+        assertNotNull(contadoresTarjetas.obtenerEstadisticas().getUltimaReconciliacion());
+    }
+}
@@ -0,0 +1,89 @@
+package com.bancopichincha.tarjetasdebito.indice;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FiltroBloomTest {
+
+    @Test
+    public void testPuedeContener_SinFalsosNegativosYTasaCercanaALaEsperada() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(100_000, 0.01);
+        for (long i = 0; i < 100_000; i++) {
+            filtro.agregar(Long.toString(5428000000000000L + i));
+        }
+
+        // Act
+        int falsosPositivos = 0;
+        for (long i = 0; i < 100_000; i++) {
+            if (filtro.puedeContener(Long.toString(5429000000000000L + i))) {
+                falsosPositivos++;
+            }
+        }
+
+        // Assert
+        for (long i = 0; i < 100_000; i++) {
+            assertTrue(filtro.puedeContener(Long.toString(5428000000000000L + i)));
+        }
+        assertTrue(falsosPositivos < 2_000, "Falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    public void testQuitar_SoloAfectaAlValorQuitado() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filtro.agregar("17000" + i);
+        }
+
+        // Act
+        for (int i = 0; i < 1_000; i += 2) {
+            filtro.quitar("17000" + i);
+        }
+
+        // Assert
+        int quitadosPresentes = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 2 == 1) {
+                assertTrue(filtro.puedeContener("17000" + i));
+            } else if (filtro.puedeContener("17000" + i)) {
+                quitadosPresentes++;
+            }
+        }
+        assertTrue(quitadosPresentes < 20, "Quitados que siguen presentes: " + quitadosPresentes);
+    }
+
+    @Test
+    public void testQuitar_ValorAgregadoVariasVecesSigueHastaQuitarloIgualCantidad() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(100, 0.01);
+        filtro.agregar("1700000001");
+        filtro.agregar("1700000001");
+
+        // Act
+        filtro.quitar("1700000001");
+
+        // Assert
+        assertTrue(filtro.puedeContener("1700000001"));
+        filtro.quitar("1700000001");
+        assertFalse(filtro.puedeContener("1700000001"));
+    }
+
+    @Test
+    public void testAgregar_ContadorSaturadoNoSeDecrementa() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(100, 0.01);
+        for (int i = 0; i < 20; i++) {
+            filtro.agregar("1700000001");
+        }
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            filtro.quitar("1700000001");
+        }
+
+        // Assert
+        assertTrue(filtro.puedeContener("1700000001"));
+    }
+}
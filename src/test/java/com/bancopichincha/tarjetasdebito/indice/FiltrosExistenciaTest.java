@@ -0,0 +1,44 @@
+package com.bancopichincha.tarjetasdebito.indice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FiltrosExistenciaTest {
+
+    private final FiltrosExistencia filtrosExistencia = new FiltrosExistencia(1000, 0.01);
+
+    @Test
+    public void testEliminar_ConfirmadaTrasLaCargaQuitaLaTarjeta() {
+        // Arrange
+        filtrosExistencia.iniciarCarga();
+        filtrosExistencia.cargar(List.<Object[]>of(new Object[]{1L, "5428000000000001", "1700000001"}));
+        filtrosExistencia.finalizarCarga();
+        long version = filtrosExistencia.version();
+
+        // Act
+        filtrosExistencia.eliminar("5428000000000001", "1700000001", version);
+
+        // Assert
+        assertFalse(filtrosExistencia.puedeExistirNumero("5428000000000001"));
+        assertFalse(filtrosExistencia.puedeExistirCedula("1700000001"));
+    }
+
+    @Test
+    public void testEliminar_IniciadaDuranteLaCargaNoSeAplica() {
+        // Arrange
+        filtrosExistencia.iniciarCarga();
+        long version = filtrosExistencia.version();
+        filtrosExistencia.cargar(List.<Object[]>of(new Object[]{1L, "5428000000000001", "1700000001"}));
+        filtrosExistencia.finalizarCarga();
+
+        // Act
+        filtrosExistencia.eliminar("5428000000000001", "1700000001", version);
+
+        // Assert
+        assertTrue(filtrosExistencia.puedeExistirNumero("5428000000000001"));
+        assertTrue(filtrosExistencia.puedeExistirCedula("1700000001"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.bancopichincha.tarjetasdebito.indice;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceEstadosTest {
+
+    private static final LocalDate EXPIRACION = LocalDate.of(2030, 6, 30);
+
+    private final IndiceEstados indiceEstados = new IndiceEstados(16);
+
+    @Test
+    public void testClave_SoloNumerosDeHasta18Digitos() {
+        // Act & Assert
+        assertEquals(5428123456789012L, IndiceEstados.clave("5428123456789012"));
+        assertEquals(-1L, IndiceEstados.clave("5428-1234"));
+        assertEquals(-1L, IndiceEstados.clave("1234567890123456789"));
+        assertEquals(-1L, IndiceEstados.clave("0000"));
+        assertEquals(-1L, IndiceEstados.clave(""));
+        assertEquals(-1L, IndiceEstados.clave(null));
+    }
+
+    @Test
+    public void testRegistrar_ConsultaEstadoTipoYExpiracion() {
+        // Arrange
+        indiceEstados.registrar("5428123456789012", EstadoTarjeta.BLOQUEADA, TipoTarjeta.PLATINUM, EXPIRACION);
+
+        // Act
+        long valor = indiceEstados.consultar(IndiceEstados.clave("5428123456789012"));
+
+        // Assert
+        assertEquals(EstadoTarjeta.BLOQUEADA, IndiceEstados.estado(valor));
+        assertEquals(TipoTarjeta.PLATINUM, IndiceEstados.tipoTarjeta(valor));
+        assertEquals(EXPIRACION.toEpochDay(), IndiceEstados.diaExpiracion(valor));
+        assertEquals(IndiceEstados.AUSENTE, indiceEstados.consultar(IndiceEstados.clave("5428123456789013")));
+        assertEquals(IndiceEstados.AUSENTE, indiceEstados.consultar(-1L));
+    }
+
+    @Test
+    public void testRegistrar_ReemplazaElEstadoAnterior() {
+        // Arrange
+        indiceEstados.registrar("5428123456789012", EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA, EXPIRACION);
+
+        // Act
+        indiceEstados.registrar("5428123456789012", EstadoTarjeta.CANCELADA, TipoTarjeta.CLASICA, EXPIRACION);
+
+        // Assert
+        assertEquals(1, indiceEstados.tamanio());
+        assertEquals(EstadoTarjeta.CANCELADA,
+                IndiceEstados.estado(indiceEstados.consultar(5428123456789012L)));
+    }
+
+    @Test
+    public void testCargar_NoReemplazaCambiosEnVivoNiReponeEliminadas() {
+        // Arrange
+        indiceEstados.iniciarCarga();
+        indiceEstados.registrar("5428000000000001", EstadoTarjeta.BLOQUEADA, TipoTarjeta.CLASICA, EXPIRACION);
+        indiceEstados.registrar("5428000000000002", EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA, EXPIRACION);
+        indiceEstados.eliminar("5428000000000002");
+
+        // Act
+        indiceEstados.cargar(List.of(
+                new Object[]{1L, "5428000000000001", EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA, EXPIRACION},
+                new Object[]{2L, "5428000000000002", EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA, EXPIRACION},
+                new Object[]{3L, "5428000000000003", EstadoTarjeta.SUSPENDIDA, TipoTarjeta.GOLD, EXPIRACION}));
+        indiceEstados.finalizarCarga();
+
+        // Assert
+        assertTrue(indiceEstados.isListo());
+        assertEquals(EstadoTarjeta.BLOQUEADA, IndiceEstados.estado(indiceEstados.consultar(5428000000000001L)));
+        assertEquals(IndiceEstados.AUSENTE, indiceEstados.consultar(5428000000000002L));
+        assertEquals(EstadoTarjeta.SUSPENDIDA, IndiceEstados.estado(indiceEstados.consultar(5428000000000003L)));
+    }
+
+    @Test
+    public void testRegistrarYEliminar_CoincidenConUnMapa() {
+        // Arrange
+        Map<Long, EstadoTarjeta> esperado = new HashMap<>();
+        Random aleatorio = new Random(42);
+        EstadoTarjeta[] estados = EstadoTarjeta.values();
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            long numero = 5428000000000000L + aleatorio.nextInt(20_000);
+            if (aleatorio.nextInt(4) == 0) {
+                indiceEstados.eliminar(Long.toString(numero));
+                esperado.remove(numero);
+            } else {
+                EstadoTarjeta estado = estados[aleatorio.nextInt(estados.length)];
+                indiceEstados.registrar(Long.toString(numero), estado, TipoTarjeta.CLASICA, EXPIRACION);
+                esperado.put(numero, estado);
+            }
+        }
+
+        // Assert
+        assertEquals(esperado.size(), indiceEstados.tamanio());
+        for (long numero = 5428000000000000L; numero < 5428000000020000L; numero++) {
+            long valor = indiceEstados.consultar(numero);
+            EstadoTarjeta estado = valor != IndiceEstados.AUSENTE ? IndiceEstados.estado(valor) : null;
+            assertEquals(esperado.get(numero), estado, "Número " + numero);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bancopichincha.tarjetasdebito.indice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceNombresTest {
+
+    private final IndiceNombres indiceNombres = new IndiceNombres();
+
+    @Test
+    public void testNormalizar_SinAcentosNiMayusculas() {
+        // Act & Assert
+        assertEquals("jose nunez perez", IndiceNombres.normalizar("  JOSÉ  Núñez\tPérez "));
+        assertEquals("", IndiceNombres.normalizar(null));
+    }
+
+    @Test
+    public void testBuscar_IgnoraAcentosYOrdenaPorRelevancia() {
+        // Arrange
+        indiceNombres.indexar(1L, "María Fernanda Pérez");
+        indiceNombres.indexar(2L, "Pérez Andrade Luis");
+        indiceNombres.indexar(3L, "Lopez Perezano");
+        indiceNombres.indexar(4L, "Juan Perez");
+        indiceNombres.indexar(5L, "Carlos Andrade");
+
+        // Act
+        List<Long> resultado = indiceNombres.buscar("PEREZ", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 4L, 3L, 1L), resultado);
+        assertEquals(List.of(2L), indiceNombres.buscar("perez", 1));
+        assertEquals(List.of(), indiceNombres.buscar("gonzalez", 10));
+    }
+
+    @Test
+    public void testBuscar_ConsultaCortaYSubcadenaInterna() {
+        // Arrange
+        indiceNombres.indexar(1L, "Ana Torres");
+        indiceNombres.indexar(2L, "Mariana Ortiz");
+
+        // Act & Assert
+        assertFalse(IndiceNombres.admiteConsulta(" Án "));
+        assertEquals(List.of(), indiceNombres.buscar("an", 10));
+        assertEquals(List.of(2L), indiceNombres.buscar("riana o", 10));
+    }
+
+    @Test
+    public void testBuscar_LimiteConservaLasMejoresCoincidencias() {
+        // Arrange
+        for (long id = 1; id <= 50; id++) {
+            indiceNombres.indexar(id, "Cliente " + id + " Perez");
+        }
+        indiceNombres.indexar(60L, "Perez Vera");
+        indiceNombres.indexar(61L, "Perez");
+
+        // Act
+        List<Long> resultado = indiceNombres.buscar("perez", 4);
+
+        // Assert
+        assertEquals(List.of(61L, 60L, 1L, 2L), resultado);
+    }
+
+    @Test
+    public void testIndexarYEliminar_MantienenElIndice() {
+        // Arrange
+        indiceNombres.indexar(1L, "Pedro Salazar");
+
+        // Act
+        indiceNombres.indexar(1L, "Pedro Zambrano");
+        List<Long> anterior = indiceNombres.buscar("salazar", 10);
+        List<Long> nuevo = indiceNombres.buscar("zambrano", 10);
+        indiceNombres.eliminar(1L);
+
+        // Assert
+        assertEquals(List.of(), anterior);
+        assertEquals(List.of(1L), nuevo);
+        assertEquals(List.of(), indiceNombres.buscar("pedro", 10));
+        assertEquals(0, indiceNombres.tamanio());
+    }
+
+    @Test
+    public void testCargar_NoSobrescribeCambiosEnVivo() {
+        // Arrange
+        indiceNombres.iniciarCarga();
+        indiceNombres.indexar(1L, "Rosa Vera");
+        indiceNombres.eliminar(2L);
+
+        // Act
+        indiceNombres.cargar(List.of(new Object[]{1L, "Nombre Anterior"}, new Object[]{2L, "Tarjeta Eliminada"}));
+        indiceNombres.finalizarCarga();
+
+        // Assert
+        assertTrue(indiceNombres.isListo());
+        assertEquals(List.of(1L), indiceNombres.buscar("vera", 10));
+        assertEquals(List.of(), indiceNombres.buscar("anterior", 10));
+        assertEquals(List.of(), indiceNombres.buscar("eliminada", 10));
+    }
+}
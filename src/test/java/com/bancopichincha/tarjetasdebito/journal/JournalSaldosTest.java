@@ -0,0 +1,201 @@
+package com.bancopichincha.tarjetasdebito.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalSaldosTest {
+
+    private static final LocalDate HOY = LocalDate.of(2025, 3, 10);
+
+    @TempDir
+    Path directorio;
+
+    private JournalSaldos journal;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (journal != null) {
+            journal.cerrar();
+        }
+    }
+
+    @Test
+    public void testRegistrar_QuedaDurableYPendienteDeAplicar() throws IOException {
+        // Arrange
+        journal = abrir(4096);
+
+        // Act
+        journal.registrar(10L, () -> 5_000, () -> 1_000, HOY);
+        long secuencia = journal.registrar(11L, () -> 7_500, () -> 0, HOY);
+        journal.esperarDurable(secuencia);
+        List<RegistroSaldo> pendientes = journal.leerPendientes(10);
+
+        // Assert
+        assertEquals(2, secuencia);
+        assertTrue(journal.getSecuenciaDurable() >= 2);
+        assertEquals(2, pendientes.size());
+        assertEquals(10L, pendientes.get(0).getIdTarjeta());
+        assertEquals(5_000, pendientes.get(0).getSaldoCentavos());
+        assertEquals(1_000, pendientes.get(0).getConsumidoCentavos());
+        assertEquals(HOY, pendientes.get(0).getDiaConsumo());
+        assertEquals(11L, pendientes.get(1).getIdTarjeta());
+    }
+
+    @Test
+    public void testConfirmarAplicados_NoSeVuelvenALeer() throws IOException {
+        // Arrange
+        journal = abrir(4096);
+        long ultima = registrar(journal, 5);
+
+        // Act
+        journal.confirmarAplicados(3);
+        List<RegistroSaldo> pendientes = journal.leerPendientes(10);
+
+        // Assert
+        assertEquals(2, journal.cantidadPendientes());
+        assertEquals(List.of(4L, 5L), pendientes.stream().map(RegistroSaldo::getSecuencia).toList());
+        assertEquals(5, ultima);
+    }
+
+    @Test
+    public void testRecuperar_LosRegistrosSinAplicarSiguenPendientes() throws Exception {
+        // Arrange
+        JournalSaldos anterior = abrir(4096);
+        registrar(anterior, 3);
+        anterior.cerrar();
+
+        // Act
+        journal = abrir(4096);
+        long siguiente = journal.registrar(99L, () -> 1, () -> 1, HOY);
+
+        // Assert
+        assertEquals(4, siguiente);
+        assertEquals(List.of(1L, 2L, 3L),
+                journal.leerPendientes(3).stream().map(RegistroSaldo::getSecuencia).toList());
+        assertEquals(103L, journal.leerPendientes(3).get(2).getSaldoCentavos());
+    }
+
+    @Test
+    public void testRecuperar_UnRegistroIncompletoMarcaElFinal() throws Exception {
+        // Arrange
+        JournalSaldos anterior = abrir(4096);
+        registrar(anterior, 3);
+        anterior.cerrar();
+        try (RandomAccessFile archivo = new RandomAccessFile(archivos().get(0).toFile(), "rw")) {
+            archivo.seek(2L * RegistroSaldo.TAMANIO + 20);
+            archivo.writeInt(0xBADC0DE);
+        }
+
+        // Act
+        journal = abrir(4096);
+        journal.esperarDurable(journal.registrar(99L, () -> 1, () -> 1, HOY));
+        journal.cerrar();
+        journal = abrir(4096);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L),
+                journal.leerPendientes(10).stream().map(RegistroSaldo::getSecuencia).toList());
+        assertEquals(99L, journal.leerPendientes(10).get(2).getIdTarjeta());
+    }
+
+    @Test
+    public void testRotar_BorraLosSegmentosYaAplicados() throws IOException {
+        // Arrange
+        journal = abrir(4 * RegistroSaldo.TAMANIO);
+        registrar(journal, 10);
+
+        // Act
+        int segmentosAntes = archivos().size();
+        journal.confirmarAplicados(8);
+
+        // Assert
+        assertEquals(3, segmentosAntes);
+        assertEquals(1, archivos().size());
+        assertEquals(List.of(9L, 10L),
+                journal.leerPendientes(10).stream().map(RegistroSaldo::getSecuencia).toList());
+    }
+
+    @Test
+    public void testCerrar_SinPendientesNoDejaSegmentos() throws Exception {
+        // Arrange
+        JournalSaldos anterior = abrir(4096);
+        anterior.confirmarAplicados(registrar(anterior, 3));
+
+        // Act
+        anterior.cerrar();
+
+        // Assert
+        assertTrue(archivos().isEmpty());
+    }
+
+    @Test
+    public void testRegistrar_ConcurrenteAsignaSecuenciasUnicas() throws Exception {
+        // Arrange
+        journal = abrir(64 * RegistroSaldo.TAMANIO);
+        Set<Long> secuencias = ConcurrentHashMap.newKeySet();
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+
+        // Act
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int hilo = 0; hilo < 8; hilo++) {
+                tareas.add(hilos.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        long secuencia = journal.registrar(i, () -> 1, () -> 1, HOY);
+                        journal.esperarDurable(secuencia);
+                        secuencias.add(secuencia);
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            hilos.shutdown();
+        }
+
+        // Assert
+        assertEquals(4_000, secuencias.size());
+        assertEquals(4_000, journal.getSecuenciaDurable());
+        assertEquals(4_000, journal.leerPendientes(10_000).size());
+    }
+
+    private JournalSaldos abrir(long tamanioSegmento) throws IOException {
+        return new JournalSaldos(directorio, DataSize.ofBytes(tamanioSegmento));
+    }
+
+    // Registros de las tarjetas 1..n con saldo 100 + id; retorna la última secuencia, ya durable
+    private static long registrar(JournalSaldos journal, int cantidad) {
+        long secuencia = 0;
+        for (long id = 1; id <= cantidad; id++) {
+            long saldo = 100 + id;
+            secuencia = journal.registrar(id, () -> saldo, () -> 0, HOY);
+        }
+        journal.esperarDurable(secuencia);
+        return secuencia;
+    }
+
+    private List<Path> archivos() throws IOException {
+        try (Stream<Path> contenido = Files.list(directorio)) {
+            return contenido.filter(a -> a.toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bancopichincha.tarjetasdebito.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatosSensiblesTest {
+
+    @Test
+    public void testEnmascarar_CedulaYNumeroTarjeta() {
+        // Act & Assert
+        assertEquals("******7890", DatosSensibles.enmascararCedula("1234567890"));
+        assertEquals("542812******9012", DatosSensibles.enmascararNumeroTarjeta("5428123456789012"));
+        assertEquals("****", DatosSensibles.enmascararNumeroTarjeta("1234"));
+        assertNull(DatosSensibles.enmascararCedula(null));
+    }
+
+    @Test
+    public void testEnmascararSiEsSensible_SoloValoresConFormaDeCedulaOTarjeta() {
+        // Arrange
+        String nombre = "Juan Perez";
+
+        // Act & Assert
+        assertEquals("******7890", DatosSensibles.enmascararSiEsSensible("1234567890"));
+        assertEquals("542812******9012", DatosSensibles.enmascararSiEsSensible("5428123456789012"));
+        assertSame(nombre, DatosSensibles.enmascararSiEsSensible(nombre));
+        assertEquals(1234567890L, DatosSensibles.enmascararSiEsSensible(1234567890L));
+        assertFalse(DatosSensibles.esSensible("12345678901"));
+        assertFalse(DatosSensibles.esSensible("12345A7890"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.bancopichincha.tarjetasdebito.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MensajeEnmascaradoConverterTest {
+
+    private final Logger logger = new LoggerContext().getLogger(MensajeEnmascaradoConverterTest.class);
+
+    private final MensajeEnmascaradoConverter converter = new MensajeEnmascaradoConverter();
+
+    @Test
+    public void testConvert_EnmascaraArgumentosSensibles() {
+        // Arrange
+        LoggingEvent evento = evento("Tarjeta {} de la cédula {} en estado {}", "5428123456789012", "1234567890", "ACTIVA");
+
+        // Act
+        String mensaje = converter.convert(evento);
+
+        // Assert
+        assertEquals("Tarjeta 542812******9012 de la cédula ******7890 en estado ACTIVA", mensaje);
+        assertEquals("5428123456789012", evento.getArgumentArray()[0]);
+    }
+
+    @Test
+    public void testConvert_SinDatosSensiblesDevuelveElMensajeFormateado() {
+        // Arrange
+        LoggingEvent evento = evento("Obteniendo tarjeta con ID: {}", 25L);
+
+        // Act & Assert
+        assertSame(evento.getFormattedMessage(), converter.convert(evento));
+        assertEquals("Obteniendo tarjetas próximas a vencer",
+                converter.convert(evento("Obteniendo tarjetas próximas a vencer")));
+    }
+
+    private LoggingEvent evento(String mensaje, Object... argumentos) {
+        return new LoggingEvent(Logger.class.getName(), logger, Level.INFO, mensaje, null,
+                argumentos.length == 0 ? null : argumentos);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bancopichincha.tarjetasdebito.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MuestreoTurboFilterTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+
+    private final Logger servicio = contexto.getLogger("com.bancopichincha.tarjetasdebito.service.impl.TarjetaDebitoServiceImpl");
+
+    private MuestreoTurboFilter filtro;
+
+    @BeforeEach
+    public void setUp() {
+        filtro = new MuestreoTurboFilter();
+        filtro.setContext(contexto);
+        filtro.setLogger("com.bancopichincha.tarjetasdebito");
+        filtro.setMarcador("LECTURA");
+        filtro.setUnoDeCada(100);
+        filtro.start();
+    }
+
+    @Test
+    public void testDecide_DejaPasarAproximadamenteUnoDeCadaN() {
+        // Act
+        int registrados = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (decidir(servicio, Level.INFO, true) == FilterReply.NEUTRAL) {
+                registrados++;
+            }
+        }
+
+        // Assert
+        assertTrue(registrados > 700 && registrados < 1300, "registrados: " + registrados);
+    }
+
+    @Test
+    public void testDecide_NoMuestreaAdvertenciasOtrosLoggersNiEventosSinMarcador() {
+        // Arrange
+        Logger otro = contexto.getLogger("org.hibernate.SQL");
+
+        // Act & Assert
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(FilterReply.NEUTRAL, decidir(servicio, Level.WARN, true));
+            assertEquals(FilterReply.NEUTRAL, decidir(servicio, Level.INFO, false));
+            assertEquals(FilterReply.NEUTRAL, decidir(otro, Level.INFO, true));
+            assertEquals(FilterReply.NEUTRAL,
+                    filtro.decide(MarcadoresLog.LECTURA, servicio, Level.INFO, null, null, null));
+        }
+    }
+
+    @Test
+    public void testStart_RechazaUnoDeCadaMenorQueUno() {
+        // Arrange
+        MuestreoTurboFilter invalido = new MuestreoTurboFilter();
+        invalido.setContext(contexto);
+        invalido.setUnoDeCada(0);
+
+        // Act
+        invalido.start();
+
+        // Assert
+        assertFalse(invalido.isStarted());
+    }
+
+    private FilterReply decidir(Logger logger, Level nivel, boolean conMarcador) {
+        return filtro.decide(conMarcador ? MarcadoresLog.LECTURA : null, logger, nivel, "Obteniendo tarjeta con ID: {}",
+                new Object[]{1L}, null);
+    }
+}
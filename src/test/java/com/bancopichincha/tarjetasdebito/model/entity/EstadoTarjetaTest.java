@@ -0,0 +1,36 @@
+package com.bancopichincha.tarjetasdebito.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EstadoTarjetaTest {
+
+    @Test
+    public void testPuedeCambiarA_TablaDeTransiciones() {
+        // Assert
+        assertTrue(EstadoTarjeta.ACTIVA.puedeCambiarA(EstadoTarjeta.BLOQUEADA));
+        assertTrue(EstadoTarjeta.BLOQUEADA.puedeCambiarA(EstadoTarjeta.ACTIVA));
+        assertTrue(EstadoTarjeta.VENCIDA.puedeCambiarA(EstadoTarjeta.CANCELADA));
+        assertFalse(EstadoTarjeta.CANCELADA.puedeCambiarA(EstadoTarjeta.ACTIVA));
+        assertFalse(EstadoTarjeta.VENCIDA.puedeCambiarA(EstadoTarjeta.ACTIVA));
+        assertFalse(EstadoTarjeta.BLOQUEADA.puedeCambiarA(EstadoTarjeta.BLOQUEADA));
+        assertTrue(EstadoTarjeta.CANCELADA.getDestinosPermitidos().isEmpty());
+    }
+
+    @Test
+    public void testOrigenesPermitidos_InversaDeLaTabla() {
+        // Assert
+        assertEquals(EnumSet.of(EstadoTarjeta.BLOQUEADA, EstadoTarjeta.SUSPENDIDA),
+                EstadoTarjeta.origenesPermitidos(EstadoTarjeta.ACTIVA));
+        assertEquals(EnumSet.of(EstadoTarjeta.ACTIVA, EstadoTarjeta.BLOQUEADA, EstadoTarjeta.SUSPENDIDA),
+                EstadoTarjeta.origenesPermitidos(EstadoTarjeta.VENCIDA));
+        for (EstadoTarjeta destino : EstadoTarjeta.values()) {
+            for (EstadoTarjeta origen : EstadoTarjeta.origenesPermitidos(destino)) {
+                assertTrue(origen.puedeCambiarA(destino));
+            }
+        }
+    }
+}
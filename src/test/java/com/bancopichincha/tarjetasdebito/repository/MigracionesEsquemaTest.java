@@ -0,0 +1,127 @@
+package com.bancopichincha.tarjetasdebito.repository;
+
+import com.bancopichincha.tarjetasdebito.autorizacion.SaldoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que el esquema creado por las migraciones (perfil prod) corresponde a la entidad TarjetaDebito,
+ * que en desarrollo y en el resto de las pruebas genera Hibernate.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=none"})
+public class MigracionesEsquemaTest {
+
+    @Autowired
+    private TarjetaDebitoRepository tarjetaDebitoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testMigraciones_PersistenYLeenLaEntidad() {
+        // Arrange
+        TarjetaDebito tarjeta = tarjeta("5428000000000001", "1700000001");
+        tarjeta.setEstado(EstadoTarjeta.SUSPENDIDA);
+        tarjeta.setTelefono("0987654321");
+        tarjeta.setEmail("titular@email.com");
+
+        // Act
+        tarjetaDebitoRepository.saveAndFlush(tarjeta);
+        TarjetaDebito leida = tarjetaDebitoRepository.findByNumeroTarjeta("5428000000000001").orElseThrow();
+
+        // Assert
+        assertEquals(EstadoTarjeta.SUSPENDIDA, leida.getEstado());
+        assertEquals(TipoTarjeta.PLATINUM, leida.getTipoTarjeta());
+        assertEquals(0, new BigDecimal("1500.25").compareTo(leida.getSaldoDisponible()));
+        assertEquals("titular@email.com", leida.getEmail());
+        assertEquals(0, BigDecimal.ZERO.compareTo(leida.getConsumoDiario()));
+    }
+
+    @Test
+    public void testMigraciones_CreanIndicesYRestriccionesDeLaEntidad() {
+        // Arrange
+        Table tabla = TarjetaDebito.class.getAnnotation(Table.class);
+        Set<String> indices = new HashSet<>();
+        for (Index indice : tabla.indexes()) {
+            indices.add(indice.name().toUpperCase(Locale.ROOT));
+        }
+        Set<String> restricciones = new HashSet<>();
+        for (UniqueConstraint restriccion : tabla.uniqueConstraints()) {
+            restricciones.add(restriccion.name().toUpperCase(Locale.ROOT));
+        }
+
+        // Act
+        List<String> indicesCreados = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'TARJETAS_DEBITO'", String.class);
+        List<String> restriccionesCreadas = jdbcTemplate.queryForList(
+                "SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS WHERE TABLE_NAME = 'TARJETAS_DEBITO'",
+                String.class);
+
+        // Assert
+        assertTrue(indicesCreados.containsAll(indices), "Faltan índices: " + indices + " en " + indicesCreados);
+        assertTrue(restriccionesCreadas.containsAll(restricciones),
+                "Faltan restricciones: " + restricciones + " en " + restriccionesCreadas);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME = 'TARJETAS_NUMERO_SEQ'", Integer.class));
+    }
+
+    @Test
+    public void testMigraciones_PersistenYReconstruyenElConsumoDiario() {
+        // Arrange
+        SaldosTarjetaRepository saldosTarjetaRepository = new SaldosTarjetaRepository(jdbcTemplate);
+        TarjetaDebito tarjeta = tarjetaDebitoRepository.saveAndFlush(tarjeta("5428000000000001", "1700000001"));
+        LocalDate hoy = LocalDate.of(2025, 3, 10);
+        SaldoTarjeta saldo = new SaldoTarjeta(tarjeta.getId(), tarjeta.getNumeroTarjeta(), EstadoTarjeta.ACTIVA,
+                tarjeta.getFechaExpiracion(), 120_025, 100_000);
+
+        // Act
+        saldosTarjetaRepository.actualizarSaldos(List.of(saldo), new long[]{30_000}, hoy, LocalDateTime.now());
+        Map<Long, Long> deHoy = new HashMap<>();
+        saldosTarjetaRepository.recorrerConsumos(hoy, deHoy::put);
+        Map<Long, Long> deManana = new HashMap<>();
+        saldosTarjetaRepository.recorrerConsumos(hoy.plusDays(1), deManana::put);
+
+        // Assert
+        assertEquals(Map.of(tarjeta.getId(), 30_000L), deHoy);
+        assertTrue(deManana.isEmpty());
+        assertEquals(0, new BigDecimal("1200.25").compareTo(jdbcTemplate.queryForObject(
+                "SELECT saldo_disponible FROM tarjetas_debito WHERE id = ?", BigDecimal.class, tarjeta.getId())));
+    }
+
+    @Test
+    public void testMigraciones_CedulaDuplicadaViolaLaRestriccionUnica() {
+        // Arrange
+        tarjetaDebitoRepository.saveAndFlush(tarjeta("5428000000000001", "1700000001"));
+
+        // Act & Assert
+        DataIntegrityViolationException error = assertThrows(DataIntegrityViolationException.class,
+                () -> tarjetaDebitoRepository.saveAndFlush(tarjeta("5428000000000002", "1700000001")));
+        assertTrue(error.getMessage().toLowerCase(Locale.ROOT).contains(TarjetaDebito.UK_CEDULA));
+    }
+
+    private TarjetaDebito tarjeta(String numeroTarjeta, String cedula) {
+        return new TarjetaDebito(numeroTarjeta, "Titular de Prueba", cedula, LocalDate.now().plusYears(3), "123",
+                new BigDecimal("1000.00"), new BigDecimal("1500.25"), TipoTarjeta.PLATINUM);
+    }
+}
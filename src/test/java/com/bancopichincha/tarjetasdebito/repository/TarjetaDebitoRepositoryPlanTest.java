@@ -0,0 +1,166 @@
+package com.bancopichincha.tarjetasdebito.repository;
+
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica con EXPLAIN de H2 que las consultas del repositorio usan un índice y no recorren toda la tabla.
+ * Una consulta nueva debe agregarse a {@link #consultas()} o, si no puede usar índice, a {@link #EXENTAS}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.bancopichincha.tarjetasdebito.repository.TarjetaDebitoRepositoryPlanTest$SentenciasCapturadas")
+public class TarjetaDebitoRepositoryPlanTest {
+
+    // Consultas que por diseño recorren la tabla
+    private static final Set<String> EXENTAS = Set.of(
+            "findByNombreTitularContainingIgnoreCase", // búsqueda por subcadena
+            "findPaginaPorNombreDespuesDe",            // búsqueda por subcadena
+            "streamParaExportacion",                   // exportación completa con filtros opcionales
+            "contarPorEstadoYTipo");                   // conteo agrupado de toda la tabla (reconciliación)
+
+    @Autowired
+    private TarjetaDebitoRepository tarjetaDebitoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 20; i++) {
+            TarjetaDebito tarjeta = new TarjetaDebito(
+                    "54280000000000" + String.format("%02d", i),
+                    "Titular " + i,
+                    "17000000" + String.format("%02d", i),
+                    LocalDate.now().plusDays(i * 30L - 60),
+                    "123",
+                    new BigDecimal("1000.00"),
+                    new BigDecimal("500.00"),
+                    TipoTarjeta.values()[i % TipoTarjeta.values().length]);
+            tarjeta.setEstado(EstadoTarjeta.values()[i % EstadoTarjeta.values().length]);
+            tarjetaDebitoRepository.save(tarjeta);
+        }
+        tarjetaDebitoRepository.flush();
+        SentenciasCapturadas.SENTENCIAS.clear();
+    }
+
+    static Stream<Arguments> consultas() {
+        return Stream.of(
+                consulta("findByNumeroTarjeta", r -> r.findByNumeroTarjeta("5428000000000001")),
+                consulta("findByCedula", r -> r.findByCedula("1700000001")),
+                consulta("findByEstado", r -> r.findByEstado(EstadoTarjeta.ACTIVA)),
+                consulta("findByTipoTarjeta", r -> r.findByTipoTarjeta(TipoTarjeta.GOLD)),
+                consulta("existsByNumeroTarjeta", r -> r.existsByNumeroTarjeta("5428000000000001")),
+                consulta("existsByCedula", r -> r.existsByCedula("1700000001")),
+                consulta("findActiveTarjetasByCedula", r -> r.findActiveTarjetasByCedula("1700000001", EstadoTarjeta.ACTIVA)),
+                consulta("findCedulasExistentes", r -> r.findCedulasExistentes(List.of("1700000001", "1700000002"))),
+                consulta("findByEstadoAndTipoTarjeta", r -> r.findByEstadoAndTipoTarjeta(EstadoTarjeta.ACTIVA, TipoTarjeta.GOLD)),
+                consulta("countByEstado", r -> r.countByEstado(EstadoTarjeta.ACTIVA)),
+                consulta("findTarjetasProximasAVencer", r -> r.findTarjetasProximasAVencer(LocalDate.now().plusDays(30))),
+                consulta("findTarjetasVencidas", TarjetaDebitoRepository::findTarjetasVencidas),
+                consulta("findVencidasParaMarcarEnRango", r -> r.findVencidasParaMarcarEnRango(0L, 100L,
+                        LocalDate.now(), EstadoTarjeta.origenesPermitidos(EstadoTarjeta.VENCIDA))),
+                consulta("marcarVencidasEnRango", r -> r.marcarVencidasEnRango(0L, 100L, LocalDate.now(),
+                        LocalDateTime.now(), EstadoTarjeta.VENCIDA, EstadoTarjeta.origenesPermitidos(EstadoTarjeta.VENCIDA))),
+                consulta("cambiarEstado", r -> r.cambiarEstado(1L, EstadoTarjeta.BLOQUEADA,
+                        EstadoTarjeta.origenesPermitidos(EstadoTarjeta.BLOQUEADA), LocalDateTime.now())),
+                consulta("cambiarEstadoEnLote", r -> r.cambiarEstadoEnLote(List.of(1L, 2L), EstadoTarjeta.BLOQUEADA,
+                        EstadoTarjeta.origenesPermitidos(EstadoTarjeta.BLOQUEADA), LocalDateTime.now())),
+                consulta("findEstadosParaCambioPorIds", r -> r.findEstadosParaCambioPorIds(List.of(1L, 2L))),
+                consulta("findEstadosParaCambioPorNumeros", r -> r.findEstadosParaCambioPorNumeros(
+                        List.of("5428000000000001", "5428000000000002"))),
+                consulta("findMinId", TarjetaDebitoRepository::findMinId),
+                consulta("findMaxId", TarjetaDebitoRepository::findMaxId),
+                consulta("findNombresDespuesDe", r -> r.findNombresDespuesDe(0L, PageRequest.of(0, 10))),
+                consulta("findEstadosDespuesDe", r -> r.findEstadosDespuesDe(0L, PageRequest.of(0, 10))),
+                consulta("findNumerosYCedulasDespuesDe", r -> r.findNumerosYCedulasDespuesDe(0L, PageRequest.of(0, 10))),
+                consulta("findPaginaDespuesDe", r -> r.findPaginaDespuesDe(0L, PageRequest.of(0, 10))),
+                consulta("findPaginaPorEstadoDespuesDe", r -> r.findPaginaPorEstadoDespuesDe(EstadoTarjeta.ACTIVA, 0L, PageRequest.of(0, 10))),
+                consulta("findPaginaPorTipoDespuesDe", r -> r.findPaginaPorTipoDespuesDe(TipoTarjeta.GOLD, 0L, PageRequest.of(0, 10)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    public void testConsultaUsaIndice(String metodo, Consumer<TarjetaDebitoRepository> invocacion) {
+        // Act
+        invocacion.accept(tarjetaDebitoRepository);
+        List<String> sentencias = SentenciasCapturadas.SENTENCIAS.stream()
+                .filter(sql -> sql.toLowerCase().contains("tarjetas_debito"))
+                .collect(Collectors.toList());
+
+        // Assert
+        assertFalse(sentencias.isEmpty(), "No se ejecutó ninguna sentencia para " + metodo);
+        for (String sql : sentencias) {
+            String plan = explicar(sql);
+            assertFalse(plan.contains("tableScan"), metodo + " recorre toda la tabla:\n" + plan);
+        }
+    }
+
+    @Test
+    public void testTodasLasConsultasEstanVerificadas() {
+        // Arrange
+        Set<String> verificadas = consultas()
+                .map(argumentos -> (String) argumentos.get()[0])
+                .collect(Collectors.toCollection(HashSet::new));
+        verificadas.addAll(EXENTAS);
+
+        // Act
+        List<String> sinVerificar = new ArrayList<>();
+        for (Method metodo : TarjetaDebitoRepository.class.getDeclaredMethods()) {
+            if (!verificadas.contains(metodo.getName())) {
+                sinVerificar.add(metodo.getName());
+            }
+        }
+
+        // Assert
+        assertTrue(sinVerificar.isEmpty(), "Consultas sin verificación de plan: " + sinVerificar);
+    }
+
+    private String explicar(String sql) {
+        return jdbcTemplate.query(conexion -> conexion.prepareStatement("EXPLAIN " + sql),
+                resultado -> resultado.next() ? resultado.getString(1) : "");
+    }
+
+    private static Arguments consulta(String metodo, Consumer<TarjetaDebitoRepository> invocacion) {
+        return Arguments.of(metodo, invocacion);
+    }
+
+    /**
+     * Registra el SQL que Hibernate envía a la base de datos
+     */
+    public static class SentenciasCapturadas implements StatementInspector {
+
+        static final List<String> SENTENCIAS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,28 +1,70 @@
 package com.bancopichincha.tarjetasdebito.service.impl;
 
+import com.bancopichincha.tarjetasdebito.autorizacion.CodigoAutorizacion;
+import com.bancopichincha.tarjetasdebito.autorizacion.ConsumoDiario;
+import com.bancopichincha.tarjetasdebito.autorizacion.MotorAutorizaciones;
+import com.bancopichincha.tarjetasdebito.autorizacion.SaldoTarjeta;
+import com.bancopichincha.tarjetasdebito.cache.TarjetaDebitoCache;
+import com.bancopichincha.tarjetasdebito.estadisticas.ContadoresTarjetas;
+import com.bancopichincha.tarjetasdebito.exception.BusinessException;
+import com.bancopichincha.tarjetasdebito.exception.ResourceNotFoundException;
+import com.bancopichincha.tarjetasdebito.indice.FiltrosExistencia;
+import com.bancopichincha.tarjetasdebito.indice.IndiceEstados;
+import com.bancopichincha.tarjetasdebito.indice.IndiceNombres;
+import com.bancopichincha.tarjetasdebito.journal.JournalSaldos;
+import com.bancopichincha.tarjetasdebito.journal.RegistroSaldo;
+import com.bancopichincha.tarjetasdebito.model.dto.EstadisticasTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.LimiteDiarioDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.PaginaTarjetasDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoCambioEstadoMasivoDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoAutorizacionDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ResultadoEmisionMasivaDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudAutorizacionDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.SolicitudCambioEstadoMasivoDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoCreateDTO;
 import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.ValidezTarjetaDTO;
 import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
 import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
 import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import com.bancopichincha.tarjetasdebito.repository.SaldosTarjetaRepository;
 import com.bancopichincha.tarjetasdebito.repository.TarjetaDebitoRepository;
 import com.bancopichincha.tarjetasdebito.util.TarjetaDebitoMapper;
+import com.bancopichincha.tarjetasdebito.util.CursorPaginacion;
 import com.bancopichincha.tarjetasdebito.util.TarjetaNumberGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,9 +79,59 @@ public class TarjetaDebitoServiceImplTest {
     @Mock
     private TarjetaNumberGenerator tarjetaNumberGenerator;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SaldosTarjetaRepository saldosTarjetaRepository;
+
+    @Spy
+    private TarjetaDebitoCache tarjetaDebitoCache = new TarjetaDebitoCache(100, 300);
+
+    @Spy
+    private ContadoresTarjetas contadoresTarjetas = new ContadoresTarjetas();
+
+    @Spy
+    private IndiceNombres indiceNombres = new IndiceNombres();
+
+    @Spy
+    private IndiceEstados indiceEstados = new IndiceEstados(16);
+
+    @Spy
+    private FiltrosExistencia filtrosExistencia = new FiltrosExistencia(1000, 0.01);
+
+    @Spy
+    private ConsumoDiario consumoDiario = new ConsumoDiario();
+
+    @Spy
+    private MotorAutorizaciones motorAutorizaciones = new MotorAutorizaciones(consumoDiario);
+
     @InjectMocks
     private TarjetaDebitoServiceImpl tarjetaDebitoService;
 
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioPaginaPorDefecto", 20);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioPaginaMaximo", 100);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "limiteListados", 1000);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioBloqueVencidas", 10000);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioMaximoEmisionMasiva", 5000);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioBloqueEmisionMasiva", 500);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioMaximoCambioEstadoMasivo", 100000);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioBloqueCambioEstadoMasivo", 2);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioBloqueIndiceNombres", 2);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioBloqueIndiceEstados", 2);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioBloqueFiltrosExistencia", 2);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "zonaHoraria", ZoneId.of("America/Guayaquil"));
+        ReflectionTestUtils.setField(tarjetaDebitoService, "tamanioLoteAutorizaciones", 500);
+    }
+
     @Test
     public void testCrearTarjeta_Exitoso() {
         // Arrange
@@ -61,10 +153,10 @@ public class TarjetaDebitoServiceImplTest {
         expectedDTO.setNumeroTarjeta("5428123456789012");
         expectedDTO.setNombreTitular("Juan Pérez");
 
-        when(tarjetaDebitoRepository.existsByCedula(anyString())).thenReturn(false);
+        when(tarjetaDebitoMapper.toEntity(createDTO)).thenReturn(new TarjetaDebito());
         when(tarjetaNumberGenerator.generateTarjetaNumber()).thenReturn("5428123456789012");
         when(tarjetaNumberGenerator.generateCVV()).thenReturn("123");
-        when(tarjetaDebitoRepository.save(any(TarjetaDebito.class))).thenReturn(tarjetaGuardada);
+        when(tarjetaDebitoRepository.saveAndFlush(any(TarjetaDebito.class))).thenReturn(tarjetaGuardada);
         when(tarjetaDebitoMapper.toDTO(any(TarjetaDebito.class))).thenReturn(expectedDTO);
 
         // Act
@@ -75,7 +167,29 @@ public class TarjetaDebitoServiceImplTest {
         assertEquals(1L, result.getId());
         assertEquals("5428123456789012", result.getNumeroTarjeta());
         assertEquals("Juan Pérez", result.getNombreTitular());
-        verify(tarjetaDebitoRepository, times(1)).save(any(TarjetaDebito.class));
+        verify(tarjetaDebitoRepository, times(1)).saveAndFlush(any(TarjetaDebito.class));
+        verify(tarjetaDebitoRepository, never()).existsByCedula(anyString());
+    }
+
+    @Test
+    public void testCrearTarjeta_CedulaDuplicada() {
+        // Arrange
+        TarjetaDebitoCreateDTO createDTO = new TarjetaDebitoCreateDTO("Juan Pérez", "1234567890",
+                new BigDecimal("1000.00"), new BigDecimal("500.00"), TipoTarjeta.CLASICA);
+        ConstraintViolationException violacion = new ConstraintViolationException("Unique index or primary key violation",
+                new SQLException("23505"), "PUBLIC.UK_TARJETAS_CEDULA_INDEX_8");
+
+        when(tarjetaDebitoMapper.toEntity(createDTO)).thenReturn(new TarjetaDebito());
+        when(tarjetaNumberGenerator.generateTarjetaNumber()).thenReturn("5428123456789012");
+        when(tarjetaNumberGenerator.generateCVV()).thenReturn("123");
+        when(tarjetaDebitoRepository.saveAndFlush(any(TarjetaDebito.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", violacion));
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> tarjetaDebitoService.crearTarjeta(createDTO));
+        assertEquals("Ya existe una tarjeta registrada para la cédula: 1234567890", exception.getMessage());
+        verify(tarjetaDebitoCache, never()).guardar(any());
     }
 
     @Test
@@ -102,6 +216,34 @@ public class TarjetaDebitoServiceImplTest {
         assertEquals("5428123456789012", result.get().getNumeroTarjeta());
     }
 
+    @Test
+    public void testObtenerTarjetaPorId_SegundaConsultaDesdeCache() {
+        // Arrange
+        Long tarjetaId = 1L;
+        TarjetaDebito tarjeta = new TarjetaDebito();
+        tarjeta.setId(tarjetaId);
+
+        TarjetaDebitoDTO expectedDTO = new TarjetaDebitoDTO();
+        expectedDTO.setId(tarjetaId);
+        expectedDTO.setNumeroTarjeta("5428123456789012");
+
+        when(tarjetaDebitoRepository.findById(tarjetaId)).thenReturn(Optional.of(tarjeta));
+        when(tarjetaDebitoMapper.toDTO(tarjeta)).thenReturn(expectedDTO);
+
+        // Act
+        tarjetaDebitoService.obtenerTarjetaPorId(tarjetaId);
+        Optional<TarjetaDebitoDTO> porId = tarjetaDebitoService.obtenerTarjetaPorId(tarjetaId);
+        Optional<TarjetaDebitoDTO> porNumero = tarjetaDebitoService.obtenerTarjetaPorNumero("5428123456789012");
+
+        // Assert
+        assertTrue(porId.isPresent());
+        assertTrue(porNumero.isPresent());
+        verify(tarjetaDebitoRepository, times(1)).findById(tarjetaId);
+        verify(tarjetaDebitoRepository, never()).findByNumeroTarjeta(anyString());
+        assertEquals(2, tarjetaDebitoCache.obtenerEstadisticas().getAciertos());
+        assertEquals(1, tarjetaDebitoCache.obtenerEstadisticas().getFallos());
+    }
+
     @Test
     public void testObtenerTarjetaPorId_NoEncontrada() {
         // Arrange
@@ -128,73 +270,812 @@ public class TarjetaDebitoServiceImplTest {
                 new TarjetaDebitoDTO()
         );
 
-        when(tarjetaDebitoRepository.findAll()).thenReturn(tarjetas);
-        when(tarjetaDebitoMapper.toDTO(any(TarjetaDebito.class)))
-                .thenReturn(expectedDTOs.get(0))
-                .thenReturn(expectedDTOs.get(1));
+        when(tarjetaDebitoRepository.findPaginaDespuesDe(0L, PageRequest.of(0, 1000))).thenReturn(tarjetas);
+        when(tarjetaDebitoMapper.toDTOList(tarjetas)).thenReturn(expectedDTOs);
 
         // Act
         List<TarjetaDebitoDTO> result = tarjetaDebitoService.obtenerTodasLasTarjetas();
 
         // Assert
         assertEquals(2, result.size());
-        verify(tarjetaDebitoRepository, times(1)).findAll();
+        verify(tarjetaDebitoRepository, times(1)).findPaginaDespuesDe(0L, PageRequest.of(0, 1000));
+        verify(tarjetaDebitoRepository, never()).findAll();
+    }
+
+    @Test
+    public void testObtenerPaginaTarjetas_ConPaginaSiguiente() {
+        // Arrange
+        TarjetaDebito primera = new TarjetaDebito();
+        primera.setId(11L);
+        TarjetaDebito segunda = new TarjetaDebito();
+        segunda.setId(12L);
+        TarjetaDebito tercera = new TarjetaDebito();
+        tercera.setId(13L);
+
+        when(tarjetaDebitoRepository.findPaginaDespuesDe(10L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(primera, segunda, tercera));
+        when(tarjetaDebitoMapper.toDTOList(any()))
+                .thenReturn(Arrays.asList(new TarjetaDebitoDTO(), new TarjetaDebitoDTO()));
+
+        // Act
+        PaginaTarjetasDTO result = tarjetaDebitoService.obtenerPaginaTarjetas(CursorPaginacion.codificar(10L), 2);
+
+        // Assert
+        assertEquals(2, result.getTamanio());
+        assertTrue(result.isHayMas());
+        assertEquals(12L, CursorPaginacion.decodificar(result.getSiguienteCursor()));
+    }
+
+    @Test
+    public void testObtenerPaginaTarjetas_UltimaPaginaYTamanioMaximo() {
+        // Arrange
+        when(tarjetaDebitoRepository.findPaginaDespuesDe(eq(0L), any())).thenReturn(List.of());
+        when(tarjetaDebitoMapper.toDTOList(any())).thenReturn(List.of());
+
+        // Act
+        PaginaTarjetasDTO result = tarjetaDebitoService.obtenerPaginaTarjetas(null, 5000);
+
+        // Assert
+        assertFalse(result.isHayMas());
+        assertNull(result.getSiguienteCursor());
+        verify(tarjetaDebitoRepository).findPaginaDespuesDe(0L, PageRequest.of(0, 101));
+    }
+
+    @Test
+    public void testObtenerPaginaTarjetas_CursorInvalido() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> tarjetaDebitoService.obtenerPaginaTarjetas("no-es-un-cursor", 10));
+    }
+
+    @Test
+    public void testBuscarPaginaTarjetasPorNombre_IndiceNoCargadoConsultaBaseDeDatos() {
+        // Arrange
+        when(tarjetaDebitoRepository.findPaginaPorNombreDespuesDe("perez", 0L, PageRequest.of(0, 3))).thenReturn(List.of());
+        when(tarjetaDebitoMapper.toDTOList(any())).thenReturn(List.of());
+
+        // Act
+        PaginaTarjetasDTO result = tarjetaDebitoService.buscarPaginaTarjetasPorNombre("perez", null, 2);
+
+        // Assert
+        assertEquals(0, result.getTamanio());
+        verify(tarjetaDebitoRepository).findPaginaPorNombreDespuesDe("perez", 0L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    public void testBuscarPaginaTarjetasPorNombre_DesdeIndiceOrdenadoPorRelevancia() {
+        // Arrange
+        indiceNombres.iniciarCarga();
+        indiceNombres.cargar(List.of(
+                new Object[]{1L, "Ana María Pérez"},
+                new Object[]{2L, "Pérez Luis"},
+                new Object[]{3L, "Juan Perez"},
+                new Object[]{4L, "Carlos Andrade"}));
+        indiceNombres.finalizarCarga();
+
+        TarjetaDebitoDTO enCache = new TarjetaDebitoDTO();
+        enCache.setId(2L);
+        enCache.setNumeroTarjeta("5428000000000002");
+        tarjetaDebitoCache.guardar(enCache);
+        TarjetaDebito enBase = new TarjetaDebito();
+        enBase.setId(3L);
+        TarjetaDebitoDTO enBaseDTO = new TarjetaDebitoDTO();
+        enBaseDTO.setId(3L);
+
+        when(tarjetaDebitoRepository.findAllById(List.of(3L))).thenReturn(List.of(enBase));
+        when(tarjetaDebitoMapper.toDTOList(List.of(enBase))).thenReturn(List.of(enBaseDTO));
+
+        // Act
+        PaginaTarjetasDTO primera = tarjetaDebitoService.buscarPaginaTarjetasPorNombre("PEREZ", null, 2);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), primera.getContenido().stream().map(TarjetaDebitoDTO::getId).toList());
+        assertTrue(primera.isHayMas());
+        assertEquals(2L, CursorPaginacion.decodificarPosicion(primera.getSiguienteCursor()));
+        verify(tarjetaDebitoRepository, never()).findPaginaPorNombreDespuesDe(anyString(), anyLong(), any());
+    }
+
+    @Test
+    public void testBuscarPaginaTarjetasPorNombre_ConsultaCortaConsultaBaseDeDatos() {
+        // Arrange
+        indiceNombres.iniciarCarga();
+        indiceNombres.finalizarCarga();
+        when(tarjetaDebitoRepository.findPaginaPorNombreDespuesDe("an", 0L, PageRequest.of(0, 3))).thenReturn(List.of());
+        when(tarjetaDebitoMapper.toDTOList(any())).thenReturn(List.of());
+
+        // Act
+        PaginaTarjetasDTO result = tarjetaDebitoService.buscarPaginaTarjetasPorNombre("an", null, 2);
+
+        // Assert
+        assertEquals(0, result.getTamanio());
+        verify(tarjetaDebitoRepository).findPaginaPorNombreDespuesDe("an", 0L, PageRequest.of(0, 3));
+        verify(indiceNombres, never()).buscar(anyString(), anyInt());
+    }
+
+    @Test
+    public void testCargarIndiceNombres_PorBloquesDeIds() {
+        // Arrange
+        when(tarjetaDebitoRepository.findNombresDespuesDe(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new Object[]{1L, "José Núñez"}, new Object[]{5L, "Lucía Torres"}));
+        when(tarjetaDebitoRepository.findNombresDespuesDe(5L, PageRequest.of(0, 2)))
+                .thenReturn(List.<Object[]>of(new Object[]{9L, "Pedro Núñez"}));
+
+        // Act
+        tarjetaDebitoService.cargarIndiceNombres();
+
+        // Assert
+        assertTrue(indiceNombres.isListo());
+        assertEquals(3, indiceNombres.tamanio());
+        assertEquals(List.of(1L, 9L), indiceNombres.buscar("nunez", 10));
+    }
+
+    @Test
+    public void testCargarIndiceEstados_PorBloquesDeIds() {
+        // Arrange
+        LocalDate expiracion = LocalDate.now().plusYears(3);
+        when(tarjetaDebitoRepository.findEstadosDespuesDe(0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new Object[]{1L, "5428000000000001", EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA, expiracion},
+                new Object[]{5L, "5428000000000005", EstadoTarjeta.BLOQUEADA, TipoTarjeta.GOLD, expiracion}));
+        when(tarjetaDebitoRepository.findEstadosDespuesDe(5L, PageRequest.of(0, 2))).thenReturn(List.<Object[]>of(
+                new Object[]{9L, "5428000000000009", EstadoTarjeta.CANCELADA, TipoTarjeta.CLASICA, expiracion}));
+
+        // Act
+        tarjetaDebitoService.cargarIndiceEstados();
+
+        // Assert
+        assertTrue(indiceEstados.isListo());
+        assertEquals(3, indiceEstados.tamanio());
+        assertEquals(EstadoTarjeta.BLOQUEADA, IndiceEstados.estado(indiceEstados.consultar(5428000000000005L)));
+    }
+
+    @Test
+    public void testCargarFiltrosExistencia_PorBloquesDeIds() {
+        // Arrange
+        when(tarjetaDebitoRepository.findNumerosYCedulasDespuesDe(0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new Object[]{1L, "5428000000000001", "1700000001"},
+                new Object[]{5L, "5428000000000005", "1700000005"}));
+        when(tarjetaDebitoRepository.findNumerosYCedulasDespuesDe(5L, PageRequest.of(0, 2))).thenReturn(List.<Object[]>of(
+                new Object[]{9L, "5428000000000009", "1700000009"}));
+
+        // Act
+        tarjetaDebitoService.cargarFiltrosExistencia();
+
+        // Assert
+        assertTrue(filtrosExistencia.isListo());
+        assertTrue(filtrosExistencia.puedeExistirNumero("5428000000000009"));
+        assertTrue(filtrosExistencia.puedeExistirCedula("1700000005"));
+    }
+
+    @Test
+    public void testExisteTarjeta_FiltroDescartaSinBaseDeDatos() {
+        // Arrange
+        filtrosExistencia.iniciarCarga();
+        filtrosExistencia.finalizarCarga();
+
+        // Act
+        boolean existeNumero = tarjetaDebitoService.existeTarjetaConNumero("5428123456789012");
+        boolean existeCedula = tarjetaDebitoService.existeTarjetaConCedula("1234567890");
+
+        // Assert
+        assertFalse(existeNumero);
+        assertFalse(existeCedula);
+        verifyNoInteractions(tarjetaDebitoRepository);
+    }
+
+    @Test
+    public void testExisteTarjeta_PosibleSeConfirmaEnBaseDeDatos() {
+        // Arrange
+        filtrosExistencia.registrar("5428123456789012", "1234567890");
+        filtrosExistencia.finalizarCarga();
+        when(tarjetaDebitoRepository.existsByNumeroTarjeta("5428123456789012")).thenReturn(true);
+        when(tarjetaDebitoRepository.existsByCedula("1234567890")).thenReturn(false);
+
+        // Act
+        boolean existeNumero = tarjetaDebitoService.existeTarjetaConNumero("5428123456789012");
+        boolean existeCedula = tarjetaDebitoService.existeTarjetaConCedula("1234567890");
+
+        // Assert
+        assertTrue(existeNumero);
+        assertFalse(existeCedula);
+    }
+
+    @Test
+    public void testExisteTarjeta_SinCargarConsultaLaBaseDeDatos() {
+        // Arrange
+        when(tarjetaDebitoRepository.existsByCedula("1234567890")).thenReturn(true);
+
+        // Act
+        boolean result = tarjetaDebitoService.existeTarjetaConCedula("1234567890");
+
+        // Assert
+        assertTrue(result);
+        verify(tarjetaDebitoRepository).existsByCedula("1234567890");
+    }
+
+    @Test
+    public void testConsultarValidez_DesdeElIndiceSinBaseDeDatos() {
+        // Arrange
+        indiceEstados.registrar("5428000000000001", EstadoTarjeta.ACTIVA, TipoTarjeta.GOLD, hoy().plusYears(1));
+        indiceEstados.registrar("5428000000000002", EstadoTarjeta.ACTIVA, TipoTarjeta.GOLD, hoy().minusDays(1));
+        indiceEstados.finalizarCarga();
+
+        // Act
+        ValidezTarjetaDTO vigente = tarjetaDebitoService.consultarValidez("5428000000000001");
+        ValidezTarjetaDTO expirada = tarjetaDebitoService.consultarValidez("5428000000000002");
+
+        // Assert
+        assertTrue(vigente.isUtilizable());
+        assertEquals(EstadoTarjeta.ACTIVA, vigente.getEstado());
+        assertFalse(expirada.isUtilizable());
+        assertEquals(EstadoTarjeta.VENCIDA, expirada.getEstado());
+        assertThrows(ResourceNotFoundException.class, () -> tarjetaDebitoService.consultarValidez("5428000000000003"));
+        assertThrows(ResourceNotFoundException.class, () -> tarjetaDebitoService.consultarValidez("no-es-numero"));
+        verifyNoInteractions(tarjetaDebitoRepository);
+    }
+
+    @Test
+    public void testConsultarValidez_AntesDeCargarUsaLaBaseDeDatos() {
+        // Arrange
+        TarjetaDebito tarjeta = tarjetaAutorizable();
+        tarjeta.setEstado(EstadoTarjeta.BLOQUEADA);
+        TarjetaDebitoDTO dto = new TarjetaDebitoDTO();
+        dto.setId(7L);
+        dto.setNumeroTarjeta("5428123456789012");
+        dto.setEstado(EstadoTarjeta.BLOQUEADA);
+        dto.setTipoTarjeta(TipoTarjeta.CLASICA);
+        dto.setFechaExpiracion(tarjeta.getFechaExpiracion());
+        when(tarjetaDebitoRepository.findByNumeroTarjeta("5428123456789012")).thenReturn(Optional.of(tarjeta));
+        when(tarjetaDebitoMapper.toDTO(tarjeta)).thenReturn(dto);
+
+        // Act
+        ValidezTarjetaDTO result = tarjetaDebitoService.consultarValidez("5428123456789012");
+
+        // Assert
+        assertEquals(EstadoTarjeta.BLOQUEADA, result.getEstado());
+        assertFalse(result.isUtilizable());
     }
 
     @Test
     public void testBloquearTarjeta_Exitoso() {
         // Arrange
         Long tarjetaId = 1L;
-        TarjetaDebito tarjeta = new TarjetaDebito();
-        tarjeta.setId(tarjetaId);
-        tarjeta.setEstado(EstadoTarjeta.ACTIVA);
+        TarjetaDebitoDTO enCache = new TarjetaDebitoDTO();
+        enCache.setId(tarjetaId);
+        enCache.setNumeroTarjeta("5428123456789012");
+        enCache.setEstado(EstadoTarjeta.ACTIVA);
+        enCache.setTipoTarjeta(TipoTarjeta.GOLD);
+        enCache.setFechaExpiracion(LocalDate.now().plusYears(2));
+        tarjetaDebitoCache.guardar(enCache);
+
+        when(tarjetaDebitoRepository.cambiarEstado(eq(tarjetaId), eq(EstadoTarjeta.BLOQUEADA),
+                eq(EstadoTarjeta.origenesPermitidos(EstadoTarjeta.BLOQUEADA)), any(LocalDateTime.class))).thenReturn(1);
 
+        // Act
+        Optional<TarjetaDebitoDTO> result = tarjetaDebitoService.bloquearTarjeta(tarjetaId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(EstadoTarjeta.BLOQUEADA, result.get().getEstado());
+        assertEquals(EstadoTarjeta.ACTIVA, enCache.getEstado());
+        assertEquals(EstadoTarjeta.BLOQUEADA, tarjetaDebitoCache.consultar(tarjetaId).get().getEstado());
+        verify(tarjetaDebitoRepository, never()).findById(any());
+        verify(tarjetaDebitoRepository, never()).save(any(TarjetaDebito.class));
+        // BLOQUEADA admite dos orígenes: el estado en caché no basta para mover los contadores
+        verify(contadoresTarjetas).marcarDesactualizados();
+        verify(contadoresTarjetas, never()).mover(any(), any(), any());
+        assertEquals(EstadoTarjeta.BLOQUEADA, IndiceEstados.estado(indiceEstados.consultar(5428123456789012L)));
+    }
+
+    @Test
+    public void testBloquearTarjeta_SinCacheLeeLaFilaActualizada() {
+        // Arrange
         TarjetaDebito tarjetaBloqueada = new TarjetaDebito();
-        tarjetaBloqueada.setId(tarjetaId);
+        tarjetaBloqueada.setId(2L);
         tarjetaBloqueada.setEstado(EstadoTarjeta.BLOQUEADA);
-
         TarjetaDebitoDTO expectedDTO = new TarjetaDebitoDTO();
-        expectedDTO.setId(tarjetaId);
+        expectedDTO.setId(2L);
         expectedDTO.setEstado(EstadoTarjeta.BLOQUEADA);
 
-        when(tarjetaDebitoRepository.findById(tarjetaId)).thenReturn(Optional.of(tarjeta));
-        when(tarjetaDebitoRepository.save(any(TarjetaDebito.class))).thenReturn(tarjetaBloqueada);
-        when(tarjetaDebitoMapper.toDTO(any(TarjetaDebito.class))).thenReturn(expectedDTO);
+        when(tarjetaDebitoRepository.cambiarEstado(eq(2L), eq(EstadoTarjeta.BLOQUEADA), any(), any())).thenReturn(1);
+        when(tarjetaDebitoRepository.findById(2L)).thenReturn(Optional.of(tarjetaBloqueada));
+        when(tarjetaDebitoMapper.toDTO(tarjetaBloqueada)).thenReturn(expectedDTO);
 
         // Act
-        Optional<TarjetaDebitoDTO> result = tarjetaDebitoService.bloquearTarjeta(tarjetaId);
+        Optional<TarjetaDebitoDTO> result = tarjetaDebitoService.bloquearTarjeta(2L);
 
         // Assert
-        assertTrue(result.isPresent());
         assertEquals(EstadoTarjeta.BLOQUEADA, result.get().getEstado());
-        verify(tarjetaDebitoRepository, times(1)).save(any(TarjetaDebito.class));
+        verify(contadoresTarjetas).marcarDesactualizados();
+        verify(contadoresTarjetas, never()).mover(any(), any(), any());
+    }
+
+    @Test
+    public void testDesbloquearTarjeta_TransicionNoPermitida() {
+        // Arrange
+        when(tarjetaDebitoRepository.cambiarEstado(eq(3L), eq(EstadoTarjeta.ACTIVA),
+                eq(EstadoTarjeta.origenesPermitidos(EstadoTarjeta.ACTIVA)), any())).thenReturn(0);
+        when(tarjetaDebitoRepository.existsById(3L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> tarjetaDebitoService.desbloquearTarjeta(3L));
+        verify(tarjetaDebitoRepository, never()).findById(any());
+    }
+
+    @Test
+    public void testCancelarTarjeta_NoEncontrada() {
+        // Arrange
+        when(tarjetaDebitoRepository.cambiarEstado(eq(99L), eq(EstadoTarjeta.CANCELADA), any(), any())).thenReturn(0);
+        when(tarjetaDebitoRepository.existsById(99L)).thenReturn(false);
+
+        // Act
+        Optional<TarjetaDebitoDTO> result = tarjetaDebitoService.cancelarTarjeta(99L);
+
+        // Assert
+        assertFalse(result.isPresent());
     }
 
     @Test
     public void testEliminarTarjeta_Exitoso() {
         // Arrange
         Long tarjetaId = 1L;
-        when(tarjetaDebitoRepository.existsById(tarjetaId)).thenReturn(true);
+        TarjetaDebito tarjeta = new TarjetaDebito();
+        tarjeta.setId(tarjetaId);
+        tarjeta.setTipoTarjeta(TipoTarjeta.CLASICA);
+        when(tarjetaDebitoRepository.findById(tarjetaId)).thenReturn(Optional.of(tarjeta));
 
         // Act
         boolean result = tarjetaDebitoService.eliminarTarjeta(tarjetaId);
 
         // Assert
         assertTrue(result);
-        verify(tarjetaDebitoRepository, times(1)).deleteById(tarjetaId);
+        verify(tarjetaDebitoRepository, times(1)).delete(tarjeta);
+        verify(tarjetaDebitoCache, times(1)).invalidar(tarjetaId);
+        verify(contadoresTarjetas, times(1)).decrementar(EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA);
     }
 
     @Test
     public void testEliminarTarjeta_NoEncontrada() {
         // Arrange
         Long tarjetaId = 999L;
-        when(tarjetaDebitoRepository.existsById(tarjetaId)).thenReturn(false);
+        when(tarjetaDebitoRepository.findById(tarjetaId)).thenReturn(Optional.empty());
 
         // Act
         boolean result = tarjetaDebitoService.eliminarTarjeta(tarjetaId);
 
         // Assert
         assertFalse(result);
-        verify(tarjetaDebitoRepository, never()).deleteById(tarjetaId);
+        verify(tarjetaDebitoRepository, never()).delete(any(TarjetaDebito.class));
+    }
+
+    @Test
+    public void testActualizarTarjetasVencidas_PorBloquesDeIds() {
+        // Arrange
+        when(tarjetaDebitoRepository.findMinId()).thenReturn(1L);
+        when(tarjetaDebitoRepository.findMaxId()).thenReturn(25000L);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        LocalDate expiracion = hoy().minusDays(1);
+        when(tarjetaDebitoRepository.findVencidasParaMarcarEnRango(anyLong(), anyLong(), eq(hoy()),
+                eq(EstadoTarjeta.origenesPermitidos(EstadoTarjeta.VENCIDA)))).thenReturn(List.of());
+        when(tarjetaDebitoRepository.findVencidasParaMarcarEnRango(eq(10000L), eq(20000L), eq(hoy()),
+                eq(EstadoTarjeta.origenesPermitidos(EstadoTarjeta.VENCIDA)))).thenReturn(List.<Object[]>of(
+                new Object[]{10001L, "5428000000000001", TipoTarjeta.CLASICA, expiracion},
+                new Object[]{10002L, "5428000000000002", TipoTarjeta.GOLD, expiracion}));
+
+        // Act
+        int result = tarjetaDebitoService.actualizarTarjetasVencidas();
+
+        // Assert
+        assertEquals(2, result);
+        verify(tarjetaDebitoRepository).findVencidasParaMarcarEnRango(eq(0L), eq(10000L), eq(hoy()), any());
+        verify(tarjetaDebitoRepository).findVencidasParaMarcarEnRango(eq(20000L), eq(25000L), eq(hoy()), any());
+        verify(tarjetaDebitoRepository).marcarVencidasEnRango(eq(10000L), eq(20000L), eq(hoy()), any(), eq(EstadoTarjeta.VENCIDA), any());
+        verify(tarjetaDebitoRepository, times(1)).marcarVencidasEnRango(anyLong(), anyLong(), any(), any(), any(), any());
+        verify(tarjetaDebitoRepository, never()).findTarjetasVencidas();
+        long valor = indiceEstados.consultar(IndiceEstados.clave("5428000000000002"));
+        assertEquals(EstadoTarjeta.VENCIDA, IndiceEstados.estado(valor));
+        assertEquals(TipoTarjeta.GOLD, IndiceEstados.tipoTarjeta(valor));
+        verify(tarjetaDebitoCache).invalidarTodo();
+        verify(tarjetaDebitoRepository).contarPorEstadoYTipo();
+    }
+
+    @Test
+    public void testActualizarTarjetasVencidas_SinTarjetas() {
+        // Arrange
+        when(tarjetaDebitoRepository.findMinId()).thenReturn(null);
+        when(tarjetaDebitoRepository.findMaxId()).thenReturn(null);
+
+        // Act
+        int result = tarjetaDebitoService.actualizarTarjetasVencidas();
+
+        // Assert
+        assertEquals(0, result);
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    public void testCrearTarjetasMasivo_ResultadoPorTarjeta() {
+        // Arrange
+        TarjetaDebitoCreateDTO nueva = new TarjetaDebitoCreateDTO("Empresa Uno", "1111111111",
+                new BigDecimal("1000.00"), new BigDecimal("500.00"), TipoTarjeta.EMPRESARIAL);
+        TarjetaDebitoCreateDTO existente = new TarjetaDebitoCreateDTO("Empresa Dos", "2222222222",
+                new BigDecimal("1000.00"), new BigDecimal("500.00"), TipoTarjeta.EMPRESARIAL);
+        TarjetaDebitoCreateDTO repetida = new TarjetaDebitoCreateDTO("Empresa Tres", "1111111111",
+                new BigDecimal("1000.00"), new BigDecimal("500.00"), TipoTarjeta.EMPRESARIAL);
+
+        TarjetaDebito entidad = new TarjetaDebito();
+        entidad.setCedula("1111111111");
+        TarjetaDebitoDTO creada = new TarjetaDebitoDTO();
+        creada.setId(1L);
+        creada.setCedula("1111111111");
+
+        when(tarjetaDebitoRepository.findCedulasExistentes(any())).thenReturn(List.of("2222222222"));
+        when(tarjetaNumberGenerator.generateTarjetaNumbers(1)).thenReturn(List.of("5428123456789012"));
+        when(tarjetaNumberGenerator.generateCVV()).thenReturn("123");
+        when(tarjetaDebitoMapper.toEntity(nueva)).thenReturn(entidad);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(tarjetaDebitoRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tarjetaDebitoMapper.toDTOList(any())).thenReturn(List.of(creada));
+
+        // Act
+        ResultadoEmisionMasivaDTO result = tarjetaDebitoService.crearTarjetasMasivo(Arrays.asList(nueva, existente, repetida));
+
+        // Assert
+        assertEquals(3, result.getTotal());
+        assertEquals(1, result.getExitosas());
+        assertEquals(2, result.getFallidas());
+        assertTrue(result.getResultados().get(0).isExitoso());
+        assertEquals(1L, result.getResultados().get(0).getTarjeta().getId());
+        assertFalse(result.getResultados().get(1).isExitoso());
+        assertFalse(result.getResultados().get(2).isExitoso());
+        assertEquals(2, result.getResultados().get(2).getIndice());
+        assertEquals("5428123456789012", entidad.getNumeroTarjeta());
+        assertTrue(filtrosExistencia.puedeExistirCedula("1111111111"));
+        verify(tarjetaDebitoRepository, times(1)).findCedulasExistentes(any());
+        verify(tarjetaDebitoRepository, never()).existsByCedula(anyString());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    public void testCrearTarjetasMasivo_FiltroEvitaLaConsultaDeCedulas() {
+        // Arrange
+        TarjetaDebitoCreateDTO nueva = new TarjetaDebitoCreateDTO("Empresa Uno", "1111111111",
+                new BigDecimal("1000.00"), new BigDecimal("500.00"), TipoTarjeta.EMPRESARIAL);
+        TarjetaDebito entidad = new TarjetaDebito();
+        entidad.setCedula("1111111111");
+        TarjetaDebitoDTO creada = new TarjetaDebitoDTO();
+        creada.setId(1L);
+        filtrosExistencia.finalizarCarga();
+
+        when(tarjetaNumberGenerator.generateTarjetaNumbers(1)).thenReturn(List.of("5428123456789012"));
+        when(tarjetaNumberGenerator.generateCVV()).thenReturn("123");
+        when(tarjetaDebitoMapper.toEntity(nueva)).thenReturn(entidad);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(tarjetaDebitoRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tarjetaDebitoMapper.toDTOList(any())).thenReturn(List.of(creada));
+
+        // Act
+        ResultadoEmisionMasivaDTO result = tarjetaDebitoService.crearTarjetasMasivo(List.of(nueva));
+
+        // Assert
+        assertEquals(1, result.getExitosas());
+        verify(tarjetaDebitoRepository, never()).findCedulasExistentes(any());
+    }
+
+    @Test
+    public void testCambiarEstadoMasivo_ResultadoPorTarjetaEnBloques() {
+        // Arrange
+        LocalDate expiracion = LocalDate.now().plusYears(3);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(tarjetaDebitoRepository.findEstadosParaCambioPorIds(List.of(1L, 2L))).thenReturn(List.of(
+                new Object[]{1L, "5428000000000001", EstadoTarjeta.ACTIVA, TipoTarjeta.CLASICA, expiracion},
+                new Object[]{2L, "5428000000000002", EstadoTarjeta.CANCELADA, TipoTarjeta.GOLD, expiracion}));
+        when(tarjetaDebitoRepository.findEstadosParaCambioPorIds(List.of(3L, 9L))).thenReturn(List.<Object[]>of(
+                new Object[]{3L, "5428000000000003", EstadoTarjeta.BLOQUEADA, TipoTarjeta.CLASICA, expiracion}));
+        SolicitudCambioEstadoMasivoDTO solicitud = new SolicitudCambioEstadoMasivoDTO(EstadoTarjeta.BLOQUEADA,
+                Arrays.asList(1L, 2L, 1L, 3L, null, 9L), null);
+
+        // Act
+        ResultadoCambioEstadoMasivoDTO result = tarjetaDebitoService.cambiarEstadoMasivo(solicitud);
+
+        // Assert
+        assertEquals(6, result.getTotal());
+        assertEquals(1, result.getExitosas());
+        assertTrue(result.getResultados().get(0).isExitoso());
+        assertEquals(EstadoTarjeta.ACTIVA, result.getResultados().get(0).getEstadoAnterior());
+        assertEquals("La tarjeta no puede pasar de CANCELADA a BLOQUEADA", result.getResultados().get(1).getError());
+        assertEquals("La tarjeta está repetida en la solicitud", result.getResultados().get(2).getError());
+        assertEquals("La tarjeta ya está en estado BLOQUEADA", result.getResultados().get(3).getError());
+        assertEquals("La tarjeta no está indicada", result.getResultados().get(4).getError());
+        assertEquals("Tarjeta no encontrada", result.getResultados().get(5).getError());
+        verify(tarjetaDebitoRepository).cambiarEstadoEnLote(eq(List.of(1L)), eq(EstadoTarjeta.BLOQUEADA),
+                eq(EstadoTarjeta.origenesPermitidos(EstadoTarjeta.BLOQUEADA)), any(LocalDateTime.class));
+        verify(tarjetaDebitoRepository, times(1)).cambiarEstadoEnLote(any(), any(), any(), any());
+        verify(tarjetaDebitoRepository, never()).findById(anyLong());
+        verify(contadoresTarjetas).mover(TipoTarjeta.CLASICA, EstadoTarjeta.ACTIVA, EstadoTarjeta.BLOQUEADA);
+        verify(motorAutorizaciones).cambiarEstado(1L, EstadoTarjeta.BLOQUEADA);
+        assertEquals(EstadoTarjeta.BLOQUEADA, IndiceEstados.estado(indiceEstados.consultar(5428000000000001L)));
+    }
+
+    @Test
+    public void testCambiarEstadoMasivo_PorNumeroConBloqueRechazado() {
+        // Arrange
+        LocalDate expiracion = LocalDate.now().plusYears(3);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(tarjetaDebitoRepository.findEstadosParaCambioPorNumeros(List.of("5428000000000001", "5428000000000002")))
+                .thenThrow(new DataAccessResourceFailureException("Tiempo de espera agotado"));
+        when(tarjetaDebitoRepository.findEstadosParaCambioPorNumeros(List.of("5428000000000003"))).thenReturn(List.<Object[]>of(
+                new Object[]{3L, "5428000000000003", EstadoTarjeta.BLOQUEADA, TipoTarjeta.CLASICA, expiracion}));
+        SolicitudCambioEstadoMasivoDTO solicitud = new SolicitudCambioEstadoMasivoDTO(EstadoTarjeta.ACTIVA, null,
+                List.of("5428000000000001", "5428000000000002", "5428000000000003"));
+
+        // Act
+        ResultadoCambioEstadoMasivoDTO result = tarjetaDebitoService.cambiarEstadoMasivo(solicitud);
+
+        // Assert
+        assertEquals(1, result.getExitosas());
+        assertEquals(2, result.getFallidas());
+        assertFalse(result.getResultados().get(0).isExitoso());
+        assertEquals("5428000000000002", result.getResultados().get(1).getNumeroTarjeta());
+        assertEquals(3L, result.getResultados().get(2).getId());
+        assertEquals(EstadoTarjeta.BLOQUEADA, result.getResultados().get(2).getEstadoAnterior());
+        verify(tarjetaDebitoRepository).cambiarEstadoEnLote(eq(List.of(3L)), eq(EstadoTarjeta.ACTIVA), any(), any());
+    }
+
+    @Test
+    public void testCambiarEstadoMasivo_SolicitudInvalida() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> tarjetaDebitoService.cambiarEstadoMasivo(
+                new SolicitudCambioEstadoMasivoDTO(EstadoTarjeta.VENCIDA, List.of(1L), null)));
+        assertThrows(BusinessException.class, () -> tarjetaDebitoService.cambiarEstadoMasivo(
+                new SolicitudCambioEstadoMasivoDTO(EstadoTarjeta.BLOQUEADA, List.of(1L), List.of("5428000000000001"))));
+        assertThrows(BusinessException.class, () -> tarjetaDebitoService.cambiarEstadoMasivo(
+                new SolicitudCambioEstadoMasivoDTO(EstadoTarjeta.BLOQUEADA, List.of(), null)));
+        verifyNoInteractions(tarjetaDebitoRepository);
+    }
+
+    @Test
+    public void testCrearTarjetasMasivo_ListaVacia() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> tarjetaDebitoService.crearTarjetasMasivo(List.of()));
+    }
+
+    @Test
+    public void testObtenerEstadisticasTarjetas_ConsultaAgrupadaUnaSolaVez() {
+        // Arrange
+        List<Object[]> conteos = List.of(
+                new Object[]{EstadoTarjeta.ACTIVA, TipoTarjeta.GOLD, 3L},
+                new Object[]{EstadoTarjeta.BLOQUEADA, TipoTarjeta.CLASICA, 2L});
+        when(tarjetaDebitoRepository.contarPorEstadoYTipo()).thenReturn(conteos);
+
+        // Act
+        EstadisticasTarjetasDTO result = tarjetaDebitoService.obtenerEstadisticasTarjetas();
+        Long activas = tarjetaDebitoService.contarTarjetasPorEstado(EstadoTarjeta.ACTIVA);
+
+        // Assert
+        assertEquals(5L, result.getTotal());
+        assertEquals(3L, result.getPorEstadoYTipo().get(EstadoTarjeta.ACTIVA).get(TipoTarjeta.GOLD));
+        assertEquals(2L, result.getPorTipo().get(TipoTarjeta.CLASICA));
+        assertEquals(3L, activas);
+        verify(tarjetaDebitoRepository, times(1)).contarPorEstadoYTipo();
+        verify(tarjetaDebitoRepository, never()).countByEstado(any());
+    }
+
+    @Test
+    public void testAutorizarDebito_CargaLaTarjetaUnaSolaVez() {
+        // Arrange
+        when(tarjetaDebitoRepository.findByNumeroTarjeta("5428123456789012")).thenReturn(Optional.of(tarjetaAutorizable()));
+
+        // Act
+        ResultadoAutorizacionDTO primera = tarjetaDebitoService.autorizarDebito(
+                new SolicitudAutorizacionDTO("5428123456789012", new BigDecimal("300.00")));
+        ResultadoAutorizacionDTO segunda = tarjetaDebitoService.autorizarDebito(
+                new SolicitudAutorizacionDTO("5428123456789012", new BigDecimal("800.00")));
+
+        // Assert
+        assertTrue(primera.isAprobada());
+        assertEquals(new BigDecimal("200.00"), primera.getSaldoDisponible());
+        assertEquals(new BigDecimal("700.00"), primera.getDisponibleDiario());
+        assertEquals(CodigoAutorizacion.SALDO_INSUFICIENTE, segunda.getCodigo());
+        assertEquals(new BigDecimal("200.00"), segunda.getSaldoDisponible());
+        verify(tarjetaDebitoRepository, times(1)).findByNumeroTarjeta("5428123456789012");
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    public void testAutorizarDebito_TarjetaNoEncontrada() {
+        // Arrange
+        when(tarjetaDebitoRepository.findByNumeroTarjeta("5428999999999999")).thenReturn(Optional.empty());
+
+        // Act
+        ResultadoAutorizacionDTO result = tarjetaDebitoService.autorizarDebito(
+                new SolicitudAutorizacionDTO("5428999999999999", new BigDecimal("10.00")));
+
+        // Assert
+        assertFalse(result.isAprobada());
+        assertEquals(CodigoAutorizacion.TARJETA_NO_ENCONTRADA, result.getCodigo());
+        assertNull(result.getSaldoDisponible());
+    }
+
+    @Test
+    public void testPersistirAutorizaciones_EscribeLosSaldosEInvalidaLaCache() {
+        // Arrange
+        when(tarjetaDebitoRepository.findByNumeroTarjeta("5428123456789012")).thenReturn(Optional.of(tarjetaAutorizable()));
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        tarjetaDebitoService.autorizarDebito(new SolicitudAutorizacionDTO("5428123456789012", new BigDecimal("125.50")));
+
+        // Act
+        int persistidas = tarjetaDebitoService.persistirAutorizaciones();
+
+        // Assert
+        assertEquals(1, persistidas);
+        verify(saldosTarjetaRepository).actualizarSaldos(argThat((List<SaldoTarjeta> saldos) ->
+                saldos.size() == 1 && saldos.get(0).getSaldoCentavos() == 37_450),
+                argThat((long[] consumidos) -> consumidos.length == 1 && consumidos[0] == 12_550),
+                eq(hoy()), any(LocalDateTime.class));
+        verify(tarjetaDebitoCache).invalidar(7L);
+        assertEquals(0, tarjetaDebitoService.persistirAutorizaciones());
+    }
+
+    @Test
+    public void testPersistirAutorizaciones_FalloDejaLosSaldosPendientes() {
+        // Arrange
+        when(tarjetaDebitoRepository.findByNumeroTarjeta("5428123456789012")).thenReturn(Optional.of(tarjetaAutorizable()));
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doThrow(new DataAccessResourceFailureException("Sin conexión"))
+                .when(saldosTarjetaRepository).actualizarSaldos(any(), any(), any(), any());
+        tarjetaDebitoService.autorizarDebito(new SolicitudAutorizacionDTO("5428123456789012", new BigDecimal("10.00")));
+
+        // Act
+        int persistidas = tarjetaDebitoService.persistirAutorizaciones();
+
+        // Assert
+        assertEquals(0, persistidas);
+        assertEquals(1, motorAutorizaciones.cantidadPendientes());
+        verify(tarjetaDebitoCache, never()).invalidar(anyLong());
+    }
+
+    @Test
+    public void testAutorizarDebito_ConJournalEsperaElRegistroDurable() {
+        // Arrange
+        JournalSaldos journalSaldos = mock(JournalSaldos.class);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "journalSaldos", journalSaldos);
+        when(tarjetaDebitoRepository.findByNumeroTarjeta("5428123456789012")).thenReturn(Optional.of(tarjetaAutorizable()));
+        when(journalSaldos.registrar(eq(7L), any(), any(), eq(hoy()))).thenReturn(41L);
+        ArgumentCaptor<LongSupplier> saldo = ArgumentCaptor.forClass(LongSupplier.class);
+        ArgumentCaptor<LongSupplier> consumido = ArgumentCaptor.forClass(LongSupplier.class);
+
+        // Act
+        ResultadoAutorizacionDTO result = tarjetaDebitoService.autorizarDebito(
+                new SolicitudAutorizacionDTO("5428123456789012", new BigDecimal("125.50")));
+
+        // Assert
+        assertTrue(result.isAprobada());
+        verify(journalSaldos).registrar(eq(7L), saldo.capture(), consumido.capture(), eq(hoy()));
+        assertEquals(37_450, saldo.getValue().getAsLong());
+        assertEquals(12_550, consumido.getValue().getAsLong());
+        verify(journalSaldos).esperarDurable(41L);
+    }
+
+    @Test
+    public void testAutorizarDebito_JournalNoDisponibleDevuelveElDebito() {
+        // Arrange
+        JournalSaldos journalSaldos = mock(JournalSaldos.class);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "journalSaldos", journalSaldos);
+        when(tarjetaDebitoRepository.findByNumeroTarjeta("5428123456789012")).thenReturn(Optional.of(tarjetaAutorizable()));
+        when(journalSaldos.registrar(eq(7L), any(), any(), eq(hoy())))
+                .thenThrow(new IllegalStateException("El journal de saldos está cerrado"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> tarjetaDebitoService.autorizarDebito(
+                new SolicitudAutorizacionDTO("5428123456789012", new BigDecimal("125.50"))));
+        assertEquals(50_000, motorAutorizaciones.consultar(7L).getSaldoCentavos());
+        assertEquals(0, consumoDiario.consumido(7L, hoy()));
+    }
+
+    @Test
+    public void testPersistirAutorizaciones_ConJournalAplicaElUltimoRegistroDeCadaTarjeta() {
+        // Arrange
+        JournalSaldos journalSaldos = mock(JournalSaldos.class);
+        ReflectionTestUtils.setField(tarjetaDebitoService, "journalSaldos", journalSaldos);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(journalSaldos.cantidadPendientes()).thenReturn(3L);
+        when(journalSaldos.leerPendientes(500)).thenReturn(List.of(
+                new RegistroSaldo(1, 7L, 40_000, 10_000, hoy()),
+                new RegistroSaldo(2, 8L, 9_000, 1_000, hoy()),
+                new RegistroSaldo(3, 7L, 35_000, 15_000, hoy())));
+
+        // Act
+        int aplicados = tarjetaDebitoService.persistirAutorizaciones();
+
+        // Assert
+        assertEquals(3, aplicados);
+        verify(saldosTarjetaRepository).aplicarRegistros(argThat((List<RegistroSaldo> lote) -> lote.size() == 2
+                && lote.get(0).getSecuencia() == 3 && lote.get(1).getSecuencia() == 2), any(LocalDateTime.class));
+        verify(journalSaldos).confirmarAplicados(3L);
+        verify(tarjetaDebitoCache).invalidar(7L);
+        verify(tarjetaDebitoCache).invalidar(8L);
+        verify(saldosTarjetaRepository, never()).actualizarSaldos(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testAutorizarDebito_RespetaElConsumoPersistidoDeHoy() {
+        // Arrange
+        TarjetaDebito tarjeta = tarjetaAutorizable();
+        tarjeta.setConsumoDiario(new BigDecimal("900.00"));
+        tarjeta.setFechaConsumo(hoy());
+        when(tarjetaDebitoRepository.findByNumeroTarjeta("5428123456789012")).thenReturn(Optional.of(tarjeta));
+
+        // Act
+        ResultadoAutorizacionDTO result = tarjetaDebitoService.autorizarDebito(
+                new SolicitudAutorizacionDTO("5428123456789012", new BigDecimal("200.00")));
+
+        // Assert
+        assertEquals(CodigoAutorizacion.LIMITE_DIARIO_EXCEDIDO, result.getCodigo());
+        assertEquals(new BigDecimal("100.00"), result.getDisponibleDiario());
+        assertEquals(new BigDecimal("500.00"), result.getSaldoDisponible());
+    }
+
+    @Test
+    public void testConsultarLimiteDiario_UsaElConsumoEnMemoria() {
+        // Arrange
+        TarjetaDebito tarjeta = tarjetaAutorizable();
+        TarjetaDebitoDTO dto = new TarjetaDebitoDTO();
+        dto.setId(7L);
+        dto.setLimiteDiario(new BigDecimal("1000.00"));
+        when(tarjetaDebitoRepository.findById(7L)).thenReturn(Optional.of(tarjeta));
+        when(tarjetaDebitoMapper.toDTO(tarjeta)).thenReturn(dto);
+        consumoDiario.cargar(7L, 25_000, hoy());
+
+        // Act
+        LimiteDiarioDTO result = tarjetaDebitoService.consultarLimiteDiario(7L);
+
+        // Assert
+        assertEquals(hoy(), result.getFecha());
+        assertEquals(new BigDecimal("250.00"), result.getConsumido());
+        assertEquals(new BigDecimal("750.00"), result.getDisponible());
+    }
+
+    @Test
+    public void testConsultarLimiteDiario_TarjetaNoEncontrada() {
+        // Arrange
+        when(tarjetaDebitoRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> tarjetaDebitoService.consultarLimiteDiario(99L));
+    }
+
+    @Test
+    public void testReconstruirConsumoDiario_CargaLasFilasDeHoy() {
+        // Arrange
+        doAnswer(inv -> {
+            SaldosTarjetaRepository.ConsumidorConsumo consumidor = inv.getArgument(1);
+            consumidor.aceptar(7L, 30_000);
+            consumidor.aceptar(8L, 1_250);
+            return null;
+        }).when(saldosTarjetaRepository).recorrerConsumos(eq(hoy()), any());
+
+        // Act
+        int cargadas = tarjetaDebitoService.reconstruirConsumoDiario();
+
+        // Assert
+        assertEquals(2, cargadas);
+        assertEquals(30_000, consumoDiario.consumido(7L, hoy()));
+        assertEquals(1_250, consumoDiario.consumido(8L, hoy()));
+    }
+
+    private LocalDate hoy() {
+        return LocalDate.now(ZoneId.of("America/Guayaquil"));
+    }
+
+    private TarjetaDebito tarjetaAutorizable() {
+        TarjetaDebito tarjeta = new TarjetaDebito("5428123456789012", "Juan Pérez", "1234567890",
+                LocalDate.now().plusYears(2), "123", new BigDecimal("1000.00"), new BigDecimal("500.00"),
+                TipoTarjeta.CLASICA);
+        tarjeta.setId(7L);
+        return tarjeta;
     }
 }
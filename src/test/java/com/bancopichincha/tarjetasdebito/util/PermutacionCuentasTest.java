@@ -0,0 +1,57 @@
+package com.bancopichincha.tarjetasdebito.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PermutacionCuentasTest {
+
+    private final PermutacionCuentas permutacion = new PermutacionCuentas("clave-de-prueba");
+
+    @Test
+    public void testSipHash_VectorDeReferencia() {
+        // Arrange: clave 00..0f y mensaje 00..07 de los vectores de prueba de SipHash-2-4
+        PermutacionCuentas referencia = new PermutacionCuentas(0x0706050403020100L, 0x0f0e0d0c0b0a0908L);
+
+        // Act
+        long resultado = referencia.sipHash(0x0706050403020100L);
+
+        // Assert
+        assertEquals(0x93f5f5799a932462L, resultado);
+    }
+
+    @Test
+    public void testPermutar_ValoresConsecutivosDistintosYEnRango() {
+        // Act
+        Set<Long> imagenes = new HashSet<>();
+        for (long valor = 0; valor < 200_000; valor++) {
+            long imagen = permutacion.permutar(valor);
+            assertTrue(imagen >= 0 && imagen < PermutacionCuentas.RANGO);
+            imagenes.add(imagen);
+        }
+
+        // Assert
+        assertEquals(200_000, imagenes.size());
+        assertNotEquals(permutacion.permutar(1) + 1, permutacion.permutar(2));
+    }
+
+    @Test
+    public void testPermutar_DependeDeLaClave() {
+        // Arrange
+        PermutacionCuentas otraClave = new PermutacionCuentas("otra-clave");
+
+        // Act & Assert
+        assertEquals(permutacion.permutar(12_345), new PermutacionCuentas("clave-de-prueba").permutar(12_345));
+        assertNotEquals(permutacion.permutar(12_345), otraClave.permutar(12_345));
+    }
+
+    @Test
+    public void testPermutacionCuentas_ClaveObligatoria() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new PermutacionCuentas(" "));
+        assertThrows(IllegalArgumentException.class, () -> permutacion.permutar(PermutacionCuentas.RANGO));
+    }
+}
@@ -0,0 +1,95 @@
+package com.bancopichincha.tarjetasdebito.util;
+
+import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoCreateDTO;
+import com.bancopichincha.tarjetasdebito.model.dto.TarjetaDebitoDTO;
+import com.bancopichincha.tarjetasdebito.model.entity.EstadoTarjeta;
+import com.bancopichincha.tarjetasdebito.model.entity.TarjetaDebito;
+import com.bancopichincha.tarjetasdebito.model.entity.TipoTarjeta;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TarjetaDebitoMapperTest {
+
+    private final TarjetaDebitoMapper tarjetaDebitoMapper = new TarjetaDebitoMapper();
+
+    @Test
+    public void testToDTO_CopiaTodosLosCampos() {
+        // Arrange
+        TarjetaDebito tarjeta = new TarjetaDebito(
+                "5428123456789012",
+                "Juan Pérez",
+                "1234567890",
+                LocalDate.of(2030, 1, 31),
+                "123",
+                new BigDecimal("1000.00"),
+                new BigDecimal("500.00"),
+                TipoTarjeta.GOLD);
+        tarjeta.setId(1L);
+        tarjeta.setEstado(EstadoTarjeta.BLOQUEADA);
+        tarjeta.setTelefono("0987654321");
+        tarjeta.setEmail("juan.perez@email.com");
+
+        // Act
+        TarjetaDebitoDTO dto = tarjetaDebitoMapper.toDTO(tarjeta);
+
+        // Assert
+        assertEquals(1L, dto.getId());
+        assertEquals("5428123456789012", dto.getNumeroTarjeta());
+        assertEquals("Juan Pérez", dto.getNombreTitular());
+        assertEquals("1234567890", dto.getCedula());
+        assertEquals(LocalDate.of(2030, 1, 31), dto.getFechaExpiracion());
+        assertEquals("123", dto.getCvv());
+        assertEquals(new BigDecimal("1000.00"), dto.getLimiteDiario());
+        assertEquals(new BigDecimal("500.00"), dto.getSaldoDisponible());
+        assertEquals(EstadoTarjeta.BLOQUEADA, dto.getEstado());
+        assertEquals(TipoTarjeta.GOLD, dto.getTipoTarjeta());
+        assertEquals(tarjeta.getFechaCreacion(), dto.getFechaCreacion());
+        assertEquals(tarjeta.getFechaActualizacion(), dto.getFechaActualizacion());
+        assertEquals("0987654321", dto.getTelefono());
+        assertEquals("juan.perez@email.com", dto.getEmail());
+    }
+
+    @Test
+    public void testToEntity_DesdeCreateDTO() {
+        // Arrange
+        TarjetaDebitoCreateDTO createDTO = new TarjetaDebitoCreateDTO(
+                "María López", "2345678901", new BigDecimal("2000.00"), new BigDecimal("750.00"), TipoTarjeta.CLASICA);
+        createDTO.setEmail("maria.lopez@email.com");
+
+        // Act
+        TarjetaDebito tarjeta = tarjetaDebitoMapper.toEntity(createDTO);
+
+        // Assert
+        assertNull(tarjeta.getId());
+        assertNull(tarjeta.getNumeroTarjeta());
+        assertEquals("María López", tarjeta.getNombreTitular());
+        assertEquals("2345678901", tarjeta.getCedula());
+        assertEquals(new BigDecimal("2000.00"), tarjeta.getLimiteDiario());
+        assertEquals(new BigDecimal("750.00"), tarjeta.getSaldoDisponible());
+        assertEquals(TipoTarjeta.CLASICA, tarjeta.getTipoTarjeta());
+        assertEquals(EstadoTarjeta.ACTIVA, tarjeta.getEstado());
+        assertEquals("maria.lopez@email.com", tarjeta.getEmail());
+    }
+
+    @Test
+    public void testToDTOList() {
+        // Arrange
+        TarjetaDebito primera = new TarjetaDebito();
+        primera.setId(1L);
+        TarjetaDebito segunda = new TarjetaDebito();
+        segunda.setId(2L);
+
+        // Act
+        List<TarjetaDebitoDTO> dtos = tarjetaDebitoMapper.toDTOList(List.of(primera, segunda));
+
+        // Assert
+        assertEquals(2, dtos.size());
+        assertEquals(1L, dtos.get(0).getId());
+        assertEquals(2L, dtos.get(1).getId());
+    }
+}
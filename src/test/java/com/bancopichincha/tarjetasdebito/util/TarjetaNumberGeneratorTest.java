@@ -0,0 +1,116 @@
+package com.bancopichincha.tarjetasdebito.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TarjetaNumberGeneratorTest {
+
+    private final ReservaEnMemoria reserva = new ReservaEnMemoria(100);
+
+    private final TarjetaNumberGenerator tarjetaNumberGenerator = new TarjetaNumberGenerator(reserva, "clave-de-prueba");
+
+    @Test
+    public void testGenerateTarjetaNumber_PrefijoYLuhn() {
+        // Act
+        String numero = tarjetaNumberGenerator.generateTarjetaNumber();
+
+        // Assert
+        assertEquals(16, numero.length());
+        assertTrue(numero.startsWith("5428"));
+        assertTrue(numero.chars().allMatch(Character::isDigit));
+        assertTrue(TarjetaNumberGenerator.esLuhnValido(numero));
+    }
+
+    @Test
+    public void testGenerateTarjetaNumber_SinRepetidosEntreHilos() throws Exception {
+        // Arrange
+        int hilos = 8;
+        int porHilo = 5_000;
+        Set<String> numeros = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+
+        // Act
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < hilos; i++) {
+            tareas.add(executor.submit(() -> {
+                for (int j = 0; j < porHilo; j++) {
+                    numeros.add(tarjetaNumberGenerator.generateTarjetaNumber());
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(hilos * porHilo, numeros.size());
+        assertTrue(numeros.stream().allMatch(TarjetaNumberGenerator::esLuhnValido));
+        assertEquals(hilos * porHilo / 100, reserva.bloquesReservados());
+    }
+
+    @Test
+    public void testGenerateTarjetaNumbers_Distintos() {
+        // Act
+        List<String> numeros = tarjetaNumberGenerator.generateTarjetaNumbers(250);
+
+        // Assert
+        assertEquals(250, numeros.size());
+        assertEquals(250, Set.copyOf(numeros).size());
+    }
+
+    @Test
+    public void testGenerateCVV_TresDigitos() {
+        // Act
+        String cvv = tarjetaNumberGenerator.generateCVV();
+
+        // Assert
+        assertTrue(cvv.matches("\\d{3}"));
+    }
+
+    @Test
+    public void testEsLuhnValido() {
+        // Assert
+        assertTrue(TarjetaNumberGenerator.esLuhnValido("79927398713"));
+        assertFalse(TarjetaNumberGenerator.esLuhnValido("79927398710"));
+        assertFalse(TarjetaNumberGenerator.esLuhnValido("7992739871a"));
+    }
+
+    private static class ReservaEnMemoria implements ReservaNumerosTarjeta {
+
+        private final AtomicLong siguiente = new AtomicLong(1);
+
+        private final AtomicLong bloques = new AtomicLong();
+
+        private final int tamanioBloque;
+
+        ReservaEnMemoria(int tamanioBloque) {
+            this.tamanioBloque = tamanioBloque;
+        }
+
+        @Override
+        public long reservarBloque() {
+            bloques.incrementAndGet();
+            return siguiente.getAndAdd(tamanioBloque);
+        }
+
+        @Override
+        public int tamanioBloque() {
+            return tamanioBloque;
+        }
+
+        long bloquesReservados() {
+            return bloques.get();
+        }
+    }
+}